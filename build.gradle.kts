@@ -14,11 +14,38 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks and writes build/reports/jmh/results.json. Pass -Pjmh=<regex> to select benchmarks."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+    doFirst { results.parentFile.mkdirs() }
+
+    args("-rf", "json", "-rff", results.absolutePath)
+    if (project.hasProperty("jmh")) {
+        args(project.property("jmh").toString())
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time per position of evaluating random positions in batches of 1 to 1,024 positions,
+ * including packing the boards into the batch. {@link BatchEvaluatorBenchmark} adds the hand-off
+ * between game threads and the dispatcher.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchEvaluationBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"1", "4", "16", "64", "256", "1024"})
+    public int batchSize;
+
+    private GameBoard[] boards;
+    private PositionBatch batch;
+
+    @Setup
+    public void setUp() {
+        boards = randomPositions(POSITIONS, 42);
+        batch = new PositionBatch(batchSize);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void evaluateBatches(Blackhole blackhole) {
+        for (int offset = 0; offset < POSITIONS; offset += batchSize) {
+            batch.clear();
+            for (int i = offset; i < offset + batchSize; i++) {
+                batch.add(boards[i]);
+            }
+            batch.evaluate();
+            blackhole.consume(batch.getColumn(0));
+        }
+    }
+
+    /**
+     * Creates random positions that are neither won nor full.
+     * 
+     * @param count The number of positions
+     * @param seed The seed of the random moves
+     * @return The boards
+     */
+    static GameBoard[] randomPositions(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GameBoard[] boards = new GameBoard[count];
+        for (int i = 0; i < count; i++) {
+            GameBoard board = new GameBoard();
+            int targetMoves = random.nextInt(Solver.SIZE - 2);
+            while (board.getMoveCount() < targetMoves) {
+                int column = random.nextInt(GameBoard.COLUMNS);
+                char symbol = (board.getMoveCount() & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+                int row = board.placeDisc(column, symbol);
+                if (row >= 0 && board.completesLine(row, column, symbol)) {
+                    board.reset();
+                }
+            }
+            boards[i] = board;
+        }
+        return boards;
+    }
+}
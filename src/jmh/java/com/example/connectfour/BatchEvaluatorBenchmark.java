@@ -0,0 +1,84 @@
+package com.example.connectfour;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency from submitting a position to a {@link BatchEvaluator} to getting its
+ * result, with 1, 16 and 64 game threads that each wait for their move before submitting the next
+ * position. The sampled percentiles are the latencies; the throughput is the number of threads
+ * divided by the mean latency.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchEvaluatorBenchmark {
+    private static final int POSITIONS = 1024;
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    @State(Scope.Benchmark)
+    public static class SharedEvaluator {
+        @Param({"1", "16", "64"})
+        public int maxBatchSize;
+
+        @Param({"0", "200"})
+        public long windowMicros;
+
+        BatchEvaluator evaluator;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            evaluator = new BatchEvaluator(maxBatchSize, windowMicros);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            evaluator.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GamePositions {
+        final GameBoard[] boards = BatchEvaluationBenchmark.randomPositions(POSITIONS, SEEDS.incrementAndGet());
+        int next;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Evaluation games01(SharedEvaluator shared, GamePositions local) {
+        return evaluate(shared, local);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Evaluation games16(SharedEvaluator shared, GamePositions local) {
+        return evaluate(shared, local);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Evaluation games64(SharedEvaluator shared, GamePositions local) {
+        return evaluate(shared, local);
+    }
+
+    private static Evaluation evaluate(SharedEvaluator shared, GamePositions local) {
+        return shared.evaluator.submit(local.boards[local.next++ & (POSITIONS - 1)]).join();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.connectfour;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the basic GameBoard operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    private static final int CELLS = GameBoard.ROWS * GameBoard.COLUMNS;
+    private static final int POSITIONS = 1024;
+
+    private GameBoard board;
+    private int[] fillOrder;
+    private GameBoard[] positions;
+
+    @Setup
+    public void setUp() {
+        board = new GameBoard();
+
+        // Fill the board column by column; the board itself never checks for wins
+        fillOrder = new int[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            fillOrder[i] = i / GameBoard.ROWS;
+        }
+
+        positions = new GameBoard[POSITIONS];
+        Random random = new Random(42);
+        for (int i = 0; i < POSITIONS; i++) {
+            GameBoard position = new GameBoard();
+            int targetMoves = random.nextInt(CELLS);
+            while (position.getMoveCount() < targetMoves) {
+                position.placeDisc(random.nextInt(GameBoard.COLUMNS), position.getMoveCount() % 2 == 0 ? 'X' : 'O');
+            }
+            positions[i] = position;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public GameBoard placeDisc() {
+        board.reset();
+        for (int i = 0; i < CELLS; i++) {
+            board.placeDisc(fillOrder[i], (i & 2) == 0 ? 'X' : 'O');
+        }
+        return board;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public GameBoard placeAndUndo() {
+        for (int i = 0; i < CELLS; i++) {
+            board.placeDisc(fillOrder[i], (i & 2) == 0 ? 'X' : 'O');
+        }
+        for (int i = 0; i < CELLS; i++) {
+            board.undoMove();
+        }
+        return board;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS * GameBoard.COLUMNS)
+    public void isValidMove(Blackhole blackhole) {
+        for (GameBoard position : positions) {
+            for (int col = 0; col < GameBoard.COLUMNS; col++) {
+                blackhole.consume(position.isValidMove(col));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void isFull(Blackhole blackhole) {
+        for (GameBoard position : positions) {
+            blackhole.consume(position.isFull());
+        }
+    }
+
+    @Benchmark
+    public GameBoard reset() {
+        board.reset();
+        return board;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.connectfour;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how recording into one shared statistics instance scales from 1 to 32 threads,
+ * for {@link ConcurrentGameStats} and for a {@link GameStats} guarded by a lock.
+ * The scores are total operations per microsecond over all threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStatsBenchmark {
+    private static final String[] NAMES = {"Player 1", "Player 2", "Player 3", "Player 4"};
+
+    @State(Scope.Benchmark)
+    public static class SharedStats {
+        final ConcurrentGameStats concurrent = new ConcurrentGameStats();
+        final GameStats locked = new GameStats();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void concurrent01(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void concurrent02(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void concurrent04(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void concurrent08(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void concurrent16(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void concurrent32(SharedStats shared, ThreadState local) {
+        recordConcurrent(shared, local);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void locked01(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void locked02(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void locked04(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void locked08(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void locked16(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void locked32(SharedStats shared, ThreadState local) {
+        recordLocked(shared, local);
+    }
+
+    private static void recordConcurrent(SharedStats shared, ThreadState local) {
+        int outcome = local.next++ & 7;
+        if (outcome < NAMES.length) {
+            shared.concurrent.recordWin(NAMES[outcome]);
+        } else {
+            shared.concurrent.recordDraw();
+        }
+    }
+
+    private static void recordLocked(SharedStats shared, ThreadState local) {
+        int outcome = local.next++ & 7;
+        synchronized (shared.locked) {
+            if (outcome < NAMES.length) {
+                shared.locked.recordWin(NAMES[outcome]);
+            } else {
+                shared.locked.recordDraw();
+            }
+        }
+    }
+}
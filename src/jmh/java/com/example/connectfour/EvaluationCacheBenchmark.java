@@ -0,0 +1,82 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups and evicting inserts in one shared {@link EvaluationCache} of a million entries,
+ * on 1 and 4 threads. The scores are total operations per microsecond over all threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationCacheBenchmark {
+    private static final int CAPACITY = 1 << 20;
+    private static final int KEYS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class SharedCache {
+        final EvaluationCache cache = new EvaluationCache(CAPACITY);
+
+        @Setup
+        public void setUp() {
+            for (long key = 0; key < CAPACITY; key++) {
+                cache.put(key, (int) (key & 0xFF), (int) (key % 7));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final long[] hits = new long[KEYS];
+        final long[] fresh = new long[KEYS];
+        int next;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+            for (int i = 0; i < KEYS; i++) {
+                hits[i] = random.nextLong(CAPACITY);
+                fresh[i] = CAPACITY + random.nextLong(Long.MAX_VALUE - CAPACITY);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int hit01(SharedCache shared, ThreadState local) {
+        return shared.cache.get(local.hits[local.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int hit04(SharedCache shared, ThreadState local) {
+        return shared.cache.get(local.hits[local.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void put01(SharedCache shared, ThreadState local) {
+        shared.cache.put(local.fresh[local.next++ & (KEYS - 1)] + local.next, 1, 3);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void put04(SharedCache shared, ThreadState local) {
+        shared.cache.put(local.fresh[local.next++ & (KEYS - 1)] + local.next, 1, 3);
+    }
+}
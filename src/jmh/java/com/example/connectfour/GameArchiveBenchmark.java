@@ -0,0 +1,79 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time per game of scanning a memory-mapped game archive, decoding every move,
+ * and of replaying every game on a board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameArchiveBenchmark {
+    private static final int GAMES = 100_000;
+
+    private final GameBoard board = new GameBoard();
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("game-archive-benchmark", ".c4a");
+        GameEngine engine = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            for (int i = 0; i < GAMES; i++) {
+                writer.write(engine.play());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long scan() throws IOException {
+        long sum = 0;
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            while (reader.next()) {
+                for (int i = 0, count = reader.getMoveCount(); i < count; i++) {
+                    sum += reader.getMove(i);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long replay() throws IOException {
+        long sum = 0;
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            while (reader.next()) {
+                reader.replay(board);
+                sum += board.getPositionKey();
+            }
+        }
+        return sum;
+    }
+}
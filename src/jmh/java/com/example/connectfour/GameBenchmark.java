@@ -0,0 +1,46 @@
+package com.example.connectfour;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many complete random games per second the headless engine plays,
+ * on the standard board and on variants given as columns x rows x win length.
+ * 8x7 still fits into a 64-bit bitboard, 9x7 uses the grid fallback.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    @Param({"7x6x4", "8x7x4", "9x7x4", "9x7x5"})
+    public String board;
+
+    private GameEngine engine;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = board.split("x");
+        GameBoard gameBoard = new GameBoard(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]),
+                Integer.parseInt(dimensions[2]));
+        engine = new GameEngine(gameBoard, new RandomStrategy(1), new RandomStrategy(2));
+    }
+
+    @Benchmark
+    public GameResult randomGame() {
+        return engine.play();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.connectfour;
+
+/**
+ * The win check GameLogic used before the incremental checker, kept as a benchmark baseline.
+ * It scans the whole row and column of the last disc and both diagonal directions twice,
+ * going through the bounds-checked {@link GameBoard#getSymbolAt(int, int)} for every cell.
+ */
+final class LegacyWinCheck {
+
+    private LegacyWinCheck() {
+    }
+
+    static boolean checkWin(GameBoard board, int row, int column, char symbol) {
+        if (checkHorizontal(board, row, symbol)) {
+            return true;
+        }
+
+        if (checkVertical(board, column, symbol)) {
+            return true;
+        }
+
+        return checkDiagonal(board, row, column, symbol);
+    }
+
+    private static boolean checkHorizontal(GameBoard board, int row, char symbol) {
+        int count = 0;
+
+        for (int col = 0; col < GameBoard.COLUMNS; col++) {
+            if (board.getSymbolAt(row, col) == symbol) {
+                count++;
+                if (count >= 4) {
+                    return true;
+                }
+            } else {
+                count = 0;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean checkVertical(GameBoard board, int column, char symbol) {
+        int count = 0;
+
+        for (int row = 0; row < GameBoard.ROWS; row++) {
+            if (board.getSymbolAt(row, column) == symbol) {
+                count++;
+                if (count >= 4) {
+                    return true;
+                }
+            } else {
+                count = 0;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean checkDiagonal(GameBoard board, int row, int column, char symbol) {
+        if (checkDiagonalDirection(board, row, column, -1, 1, symbol)
+                || checkDiagonalDirection(board, row, column, 1, -1, symbol)) {
+            return true;
+        }
+
+        return checkDiagonalDirection(board, row, column, -1, -1, symbol)
+                || checkDiagonalDirection(board, row, column, 1, 1, symbol);
+    }
+
+    private static boolean checkDiagonalDirection(GameBoard board, int row, int column,
+                                                  int rowDelta, int colDelta, char symbol) {
+        int count = 1;
+
+        int r = row + rowDelta;
+        int c = column + colDelta;
+
+        while (r >= 0 && r < GameBoard.ROWS && c >= 0 && c < GameBoard.COLUMNS
+                && board.getSymbolAt(r, c) == symbol) {
+            count++;
+            r += rowDelta;
+            c += colDelta;
+        }
+
+        r = row - rowDelta;
+        c = column - colDelta;
+
+        while (r >= 0 && r < GameBoard.ROWS && c >= 0 && c < GameBoard.COLUMNS
+                && board.getSymbolAt(r, c) == symbol) {
+            count++;
+            r -= rowDelta;
+            c -= colDelta;
+        }
+
+        return count >= 4;
+    }
+}
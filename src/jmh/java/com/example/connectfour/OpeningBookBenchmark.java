@@ -0,0 +1,87 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups in a memory-mapped opening book, for hits and misses.
+ * The book is filled with random canonical keys instead of real positions, which is enough
+ * for the binary search and keeps the setup fast.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpeningBookBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"1048576", "16777216"})
+    public int entries;
+
+    private Path file;
+    private OpeningBook book;
+    private long[] hits;
+    private long[] misses;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] bookEntries = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            bookEntries[i] = OpeningBook.entry(randomKey(random), random.nextInt(-18, 19));
+        }
+        Arrays.sort(bookEntries);
+
+        hits = new long[PROBES];
+        misses = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            hits[i] = bookEntries[random.nextInt(entries)] >>> 8;
+            misses[i] = randomKey(random);
+        }
+
+        file = Files.createTempFile("opening-book-benchmark", ".bin");
+        OpeningBook.write(file, Solver.SIZE, bookEntries);
+        book = OpeningBook.open(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int hit() {
+        // A canonical key passed as the side to move's discs on an empty board probes itself
+        return book.probe(hits[next++ & (PROBES - 1)], 0);
+    }
+
+    @Benchmark
+    public int miss() {
+        return book.probe(misses[next++ & (PROBES - 1)], 0);
+    }
+
+    private static long randomKey(SplittableRandom random) {
+        long key = random.nextLong(1L << (GameBoard.COLUMNS * Bitboards.COLUMN_HEIGHT));
+        return Bitboards.canonicalKey(key);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.connectfour;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time per game of counting the opening positions of seeded random games, with and
+ * without folding mirror images. The table sizes of both are printed after the measurements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpeningStatsBenchmark {
+    private static final int GAMES = 100_000;
+
+    @Param({"8", "12"})
+    public int plies;
+
+    @Param({"false", "true"})
+    public boolean foldMirrors;
+
+    private GameResult[] games;
+    private OpeningStats last;
+
+    @Setup
+    public void setUp() {
+        GameEngine engine = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+        games = new GameResult[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = engine.play();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nmirrors %s: %,d positions, %,d KiB%n", foldMirrors ? "folded" : "kept", last.size(),
+                last.getMemoryBytes() / 1024);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public OpeningStats countGames() {
+        OpeningStats stats = new OpeningStats(plies, foldMirrors);
+        for (GameResult game : games) {
+            stats.add(game);
+        }
+        last = stats;
+        return stats;
+    }
+}
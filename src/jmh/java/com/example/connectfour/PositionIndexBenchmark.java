@@ -0,0 +1,135 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a position index of seeded random games: adding games to a new index, and tallying
+ * positions taken from the games in an index compacted into one segment. The tally latencies are
+ * sampled, so the percentiles show the cost of lookups that miss the page cache.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionIndexBenchmark {
+    private static final int GAMES_PER_INVOCATION = 1024;
+    private static final int LOOKUPS = 1 << 16;
+
+    @State(Scope.Thread)
+    public static class CompactedIndex {
+        @Param({"100000", "2000000"})
+        public int games;
+
+        Path directory;
+        PositionIndex index;
+        GameBoard[] positions;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("position-index-benchmark");
+            index = PositionIndex.open(directory);
+            GameEngine engine = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+            for (int i = 0; i < games; i++) {
+                index.add(engine.play());
+            }
+            index.compact();
+
+            // Replay the games with the same seeds, so the looked-up positions are in the index
+            engine = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+            SplittableRandom random = new SplittableRandom(7);
+            positions = new GameBoard[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                positions[i] = prefix(engine.play(), random);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            index.close();
+            deleteDirectory(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class NewIndex {
+        GameResult[] games;
+        Path directory;
+        PositionIndex index;
+        int next;
+
+        @Setup(Level.Trial)
+        public void createGames() {
+            GameEngine engine = new GameEngine(new RandomStrategy(3), new RandomStrategy(4));
+            games = new GameResult[GAMES_PER_INVOCATION];
+            for (int i = 0; i < games.length; i++) {
+                games[i] = engine.play();
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("position-index-benchmark");
+            index = PositionIndex.open(directory);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            index.close();
+            deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PositionTally tally(CompactedIndex state) {
+        return state.index.tally(state.positions[state.next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long add(NewIndex state) throws IOException {
+        return state.index.add(state.games[state.next++ & (GAMES_PER_INVOCATION - 1)]);
+    }
+
+    /**
+     * Plays a random number of the moves of a game on a new board.
+     */
+    private static GameBoard prefix(GameResult game, SplittableRandom random) {
+        GameBoard position = new GameBoard();
+        int plies = random.nextInt(game.moveCount() + 1);
+        for (int ply = 0; ply < plies; ply++) {
+            position.placeDisc(game.moves()[ply], (ply & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL);
+        }
+        return position;
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
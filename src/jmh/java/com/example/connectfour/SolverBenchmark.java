@@ -0,0 +1,78 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures exact solves of random positions, starting every solve with an empty table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+    private static final int POSITIONS = 64;
+
+    @Param({"24", "20", "16"})
+    public int discs;
+
+    private Solver solver;
+    private long[] currents;
+    private long[] occupieds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        solver = new Solver(20, null);
+        SplittableRandom random = new SplittableRandom(42);
+        currents = new long[POSITIONS];
+        occupieds = new long[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            GameBoard board = randomPosition(random, discs);
+            currents[i] = Solver.sideToMove(board);
+            occupieds[i] = board.getOccupied();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        solver.clear();
+    }
+
+    @Benchmark
+    public int solve() {
+        int i = next++ & (POSITIONS - 1);
+        return solver.score(currents[i], occupieds[i], discs);
+    }
+
+    private static GameBoard randomPosition(SplittableRandom random, int discs) {
+        GameBoard board = new GameBoard();
+        while (board.getMoveCount() < discs) {
+            int column = random.nextInt(GameBoard.COLUMNS);
+            if (!board.isValidMove(column)) {
+                continue;
+            }
+            char symbol = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+            int row = board.placeDisc(column, symbol);
+            if (board.completesLine(row, column, symbol)) {
+                board.reset();
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.connectfour;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures GameStats recording from four threads, once on a shared instance
+ * and once with one instance per thread.
+ * GameStats is not thread-safe, so the shared instance has to be locked.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class StatsBenchmark {
+    private static final String[] NAMES = {"Player 1", "Player 2", "Player 3", "Player 4"};
+
+    @State(Scope.Benchmark)
+    public static class SharedStats {
+        final GameStats stats = new GameStats();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadStats {
+        final GameStats stats = new GameStats();
+        int next;
+    }
+
+    @Benchmark
+    public void recordShared(SharedStats shared, ThreadStats local) {
+        int outcome = local.next++ & 7;
+        synchronized (shared.stats) {
+            record(shared.stats, outcome);
+        }
+    }
+
+    @Benchmark
+    public void recordPerThread(ThreadStats local) {
+        record(local.stats, local.next++ & 7);
+    }
+
+    private static void record(GameStats stats, int outcome) {
+        if (outcome < NAMES.length) {
+            stats.recordWin(NAMES[outcome]);
+        } else {
+            stats.recordDraw();
+        }
+    }
+}
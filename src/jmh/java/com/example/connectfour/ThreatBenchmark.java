@@ -0,0 +1,109 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the bitboard threat analysis against trying every column with place, win check and
+ * undo on random positions. Both find the immediate wins of both players and the losing moves of
+ * the side to move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreatBenchmark {
+    private static final int POSITIONS = 1024;
+
+    private GameBoard[] boards;
+
+    @Setup
+    public void setUp() {
+        boards = new GameBoard[POSITIONS];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POSITIONS; i++) {
+            GameBoard board = new GameBoard();
+            int targetMoves = 10 + random.nextInt(20);
+            while (board.getMoveCount() < targetMoves) {
+                int column = random.nextInt(GameBoard.COLUMNS);
+                char symbol = symbolOf(board.getMoveCount() & 1);
+                int row = board.placeDisc(column, symbol);
+                if (row >= 0 && board.completesLine(row, column, symbol)) {
+                    board.reset();
+                }
+            }
+            boards[i] = board;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void tryEveryColumn(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            GameBoard board = boards[i];
+            int player = board.getMoveCount() & 1;
+            int wins = winningColumns(board, player);
+            blackhole.consume(wins);
+            blackhole.consume(winningColumns(board, 1 - player));
+            blackhole.consume(losingColumns(board, player, wins));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void threatAnalysis(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            ThreatAnalysis analysis = boards[i].analyzeThreats();
+            blackhole.consume(analysis.getWinningColumns(analysis.getSideToMove()));
+            blackhole.consume(analysis.getForcedColumns());
+            blackhole.consume(analysis.getLosingColumns());
+        }
+    }
+
+    private static char symbolOf(int player) {
+        return player == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+    }
+
+    private static int winningColumns(GameBoard board, int player) {
+        char symbol = symbolOf(player);
+        int columns = 0;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (board.isValidMove(column)) {
+                if (board.completesLine(board.placeDisc(column, symbol), column, symbol)) {
+                    columns |= 1 << column;
+                }
+                board.undoMove();
+            }
+        }
+        return columns;
+    }
+
+    private static int losingColumns(GameBoard board, int player, int wins) {
+        int columns = 0;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (board.isValidMove(column) && (wins & (1 << column)) == 0) {
+                board.placeDisc(column, symbolOf(player));
+                if (winningColumns(board, 1 - player) != 0) {
+                    columns |= 1 << column;
+                }
+                board.undoMove();
+            }
+        }
+        return columns;
+    }
+}
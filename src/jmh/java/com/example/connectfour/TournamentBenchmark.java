@@ -0,0 +1,69 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time per game of a round-robin tournament between 20 negamax players of depths 1
+ * to 5, each with 0 to 50% of its moves picked at random, on 1 and 4 threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TournamentBenchmark {
+    private static final int[] DEPTHS = {1, 2, 3, 4, 5};
+    private static final double[] NOISES = {0, 0.1, 0.25, 0.5};
+    private static final int GAMES_PER_PAIRING = 10;
+    private static final int GAMES = 20 * 19 / 2 * GAMES_PER_PAIRING;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private List<TournamentEntrant> entrants;
+
+    @Setup
+    public void setUp() {
+        entrants = new ArrayList<>();
+        for (int depth : DEPTHS) {
+            for (double noise : NOISES) {
+                entrants.add(new TournamentEntrant(String.format("Negamax d%d noise %.0f%%", depth, noise * 100),
+                        seed -> noisy(new NegamaxStrategy(60_000, 12, depth), noise, seed)));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public List<Standing> roundRobin() throws IOException {
+        return new Tournament(entrants, threads, 42).roundRobin(GAMES_PER_PAIRING, null);
+    }
+
+    /**
+     * Wraps a strategy so that it plays a random move instead with the given probability.
+     */
+    private static MoveStrategy noisy(MoveStrategy strategy, double noise, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        RandomStrategy randomStrategy = new RandomStrategy(random.nextLong());
+        return (board, symbol) -> random.nextDouble() < noise ? randomStrategy.selectColumn(board, symbol)
+                : strategy.selectColumn(board, symbol);
+    }
+}
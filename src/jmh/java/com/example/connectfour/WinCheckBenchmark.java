@@ -0,0 +1,91 @@
+package com.example.connectfour;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the incremental win check against the previous full row/column/diagonal scan
+ * on random mid-game positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinCheckBenchmark {
+    private static final int POSITIONS = 1024;
+
+    private GameBoard[] boards;
+    private int[] rows;
+    private int[] columns;
+    private char[] symbols;
+
+    @Setup
+    public void setUp() {
+        boards = new GameBoard[POSITIONS];
+        rows = new int[POSITIONS];
+        columns = new int[POSITIONS];
+        symbols = new char[POSITIONS];
+
+        Random random = new Random(42);
+        for (int i = 0; i < POSITIONS; i++) {
+            GameBoard board = new GameBoard();
+            int targetMoves = 10 + random.nextInt(20);
+            int row = -1;
+            int column = -1;
+            char symbol = 'O';
+
+            while (board.getMoveCount() < targetMoves) {
+                column = random.nextInt(GameBoard.COLUMNS);
+                symbol = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+                row = board.placeDisc(column, symbol);
+                if (row >= 0 && board.completesLine(row, column, symbol)) {
+                    board.reset();
+                }
+            }
+
+            boards[i] = board;
+            rows[i] = row;
+            columns[i] = column;
+            symbols[i] = symbol;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void fullScan(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(LegacyWinCheck.checkWin(boards[i], rows[i], columns[i], symbols[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void incremental(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(boards[i].completesLine(rows[i], columns[i], symbols[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void wholeBoardBitboard(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(boards[i].hasWinningLine(symbols[i]));
+        }
+    }
+}
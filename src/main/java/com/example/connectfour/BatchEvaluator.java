@@ -0,0 +1,193 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates positions from many games together, so that one thread runs one tight loop over a
+ * whole batch instead of every game thread evaluating its own position.
+ * <p>
+ * Game threads submit positions and get futures. A single dispatcher thread takes the oldest
+ * pending position and waits up to the coalescing window, measured from its submission, for more
+ * positions until the batch is full. It then packs them into a {@link PositionBatch}, evaluates
+ * them and completes their futures. A window of zero only collects the positions that are already
+ * waiting, so the batches grow with the load without delaying any position. Instances are
+ * thread-safe.
+ */
+public final class BatchEvaluator implements Closeable {
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder evaluated = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates an evaluator and starts its dispatcher thread.
+     * 
+     * @param maxBatchSize The largest number of positions evaluated together
+     * @param windowMicros The longest time a position waits for others to join its batch, in microseconds
+     */
+    public BatchEvaluator(int maxBatchSize, long windowMicros) {
+        if (maxBatchSize < 1 || windowMicros < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and the window must not be negative, were "
+                    + maxBatchSize + " and " + windowMicros);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        dispatcher = new Thread(this::dispatch, "batch-evaluator");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Submits the position on a board for evaluation. The position is copied, so the board may
+     * change right away.
+     * 
+     * @param board The standard board
+     * @return The future best move and its score
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is over
+     * @throws IllegalStateException if the evaluator is closed
+     */
+    public CompletableFuture<Evaluation> submit(GameBoard board) {
+        long discs = Solver.sideToMove(board);
+        if (board.getMoveCount() == Solver.SIZE) {
+            throw new IllegalArgumentException("The board is full");
+        }
+        Request request = new Request(discs, board.getOccupied(), board.getMoveCount(), System.nanoTime());
+        // Closing waits for this lock, so no request is queued after the dispatcher's last look at the queue
+        synchronized (queue) {
+            if (closed) {
+                throw new IllegalStateException("The batch evaluator is closed");
+            }
+            queue.add(request);
+        }
+        return request.result;
+    }
+
+    /**
+     * Gets a move strategy that plays the best moves found by this evaluator. Its moves block the
+     * calling game thread until the batch holding its position has been evaluated.
+     * 
+     * @return The strategy, which can be shared by many games
+     */
+    public MoveStrategy strategy() {
+        return (board, symbol) -> submit(board).join().column();
+    }
+
+    /**
+     * Gets the number of batches evaluated so far.
+     * 
+     * @return The batch count
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Gets the number of positions evaluated so far.
+     * 
+     * @return The position count
+     */
+    public long getEvaluatedCount() {
+        return evaluated.sum();
+    }
+
+    /**
+     * Stops accepting positions, evaluates those still pending and stops the dispatcher thread.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+        }
+        dispatcher.interrupt();
+        boolean interrupted = false;
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Collects and evaluates batches until the evaluator is closed and no position is pending.
+     * Closing interrupts the waits; the pending positions are then evaluated without waiting.
+     */
+    private void dispatch() {
+        PositionBatch batch = new PositionBatch(maxBatchSize);
+        List<Request> pending = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                Request first = closed ? queue.poll() : queue.take();
+                if (first == null) {
+                    return;
+                }
+                pending.add(first);
+                long deadline = first.submitNanos + windowNanos;
+                while (pending.size() < maxBatchSize) {
+                    queue.drainTo(pending, maxBatchSize - pending.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (pending.size() == maxBatchSize || remaining <= 0 || closed) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    pending.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: evaluate what has been collected, then empty the queue
+            }
+            if (!pending.isEmpty()) {
+                evaluate(batch, pending);
+                pending.clear();
+            }
+        }
+    }
+
+    private void evaluate(PositionBatch batch, List<Request> requests) {
+        batch.clear();
+        for (Request request : requests) {
+            batch.add(request.discs, request.occupied, request.moveCount);
+        }
+        batch.evaluate();
+        batches.increment();
+        evaluated.add(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            requests.get(i).result.complete(new Evaluation(batch.getColumn(i), batch.getScore(i)));
+        }
+    }
+
+    /**
+     * A position waiting for evaluation, packed when it was submitted.
+     */
+    private static final class Request {
+        final long discs;
+        final long occupied;
+        final int moveCount;
+        final long submitNanos;
+        final CompletableFuture<Evaluation> result = new CompletableFuture<>();
+
+        Request(long discs, long occupied, int moveCount, long submitNanos) {
+            this.discs = discs;
+            this.occupied = occupied;
+            this.moveCount = moveCount;
+            this.submitNanos = submitNanos;
+        }
+    }
+}
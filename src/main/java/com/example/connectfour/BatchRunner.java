@@ -0,0 +1,53 @@
+package com.example.connectfour;
+
+/**
+ * Plays many headless games between two strategies and aggregates the outcomes.
+ */
+public class BatchRunner {
+    private final String firstName;
+    private final String secondName;
+    private final GameEngine engine;
+
+    /**
+     * Creates a new batch runner.
+     * 
+     * @param firstName The name recorded for wins of the first player
+     * @param firstStrategy The strategy of the player who moves first
+     * @param secondName The name recorded for wins of the second player
+     * @param secondStrategy The strategy of the player who moves second
+     */
+    public BatchRunner(String firstName, MoveStrategy firstStrategy, String secondName, MoveStrategy secondStrategy) {
+        this.firstName = firstName;
+        this.secondName = secondName;
+        this.engine = new GameEngine(firstStrategy, secondStrategy);
+    }
+
+    /**
+     * Plays the given number of games and records each outcome.
+     * 
+     * @param games The number of games to play
+     * @param stats The statistics to record the outcomes in
+     * @return The statistics passed in, for chaining
+     */
+    public GameStats run(int games, GameStats stats) {
+        for (int i = 0; i < games; i++) {
+            GameResult result = engine.play();
+            if (result.isDraw()) {
+                stats.recordDraw();
+            } else {
+                stats.recordWin(result.winner() == 0 ? firstName : secondName);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Plays the given number of games and records the outcomes in fresh statistics.
+     * 
+     * @param games The number of games to play
+     * @return The statistics of the played games
+     */
+    public GameStats run(int games) {
+        return run(games, new GameStats());
+    }
+}
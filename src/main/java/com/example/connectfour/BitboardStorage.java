@@ -0,0 +1,146 @@
+package com.example.connectfour;
+
+/**
+ * Stores the discs as one 64-bit mask per slot.
+ * Each column occupies ROWS + 1 consecutive bits, starting with the bottom row. The extra bit
+ * on top of every column stays empty, so shifts never wrap a line from one column into the next.
+ * Used for every non-standard board that fits into 64 bits; the standard board has its own
+ * {@link StandardBoardStorage} with the layout fixed at compile time.
+ */
+final class BitboardStorage implements BoardStorage {
+    private final int columnHeight;
+    private final int winLength;
+    private long first;
+    private long second;
+
+    /**
+     * Creates an empty bitboard storage.
+     * 
+     * @param columns The number of columns
+     * @param rows The number of rows
+     * @param winLength The number of connected discs needed to win
+     */
+    BitboardStorage(int columns, int rows, int winLength) {
+        if (!fits(columns, rows)) {
+            throw new IllegalArgumentException("A " + columns + "x" + rows + " board does not fit into 64 bits");
+        }
+        this.columnHeight = rows + 1;
+        this.winLength = winLength;
+    }
+
+    /**
+     * Checks if a board of the given dimensions fits into a 64-bit bitboard.
+     * 
+     * @param columns The number of columns
+     * @param rows The number of rows
+     * @return true if every column plus its guard bit fits into 64 bits
+     */
+    static boolean fits(int columns, int rows) {
+        return columns * (rows + 1) <= Long.SIZE;
+    }
+
+    @Override
+    public void set(int slot, int row, int column) {
+        long bit = 1L << (column * columnHeight + row);
+        if (slot == 0) {
+            first |= bit;
+        } else {
+            second |= bit;
+        }
+    }
+
+    @Override
+    public void clear(int slot, int row, int column) {
+        long bit = 1L << (column * columnHeight + row);
+        if (slot == 0) {
+            first &= ~bit;
+        } else {
+            second &= ~bit;
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        first = 0;
+        second = 0;
+    }
+
+    @Override
+    public int slotAt(int row, int column) {
+        long bit = 1L << (column * columnHeight + row);
+        if ((first & bit) != 0) {
+            return 0;
+        }
+        if ((second & bit) != 0) {
+            return 1;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean connects(int slot, int row, int column) {
+        long discs = slot == 0 ? first : second;
+        long cell = 1L << (column * columnHeight + row);
+        if ((discs & cell) == 0) {
+            return false;
+        }
+        return lineLength(discs, cell, 1) >= winLength
+                || lineLength(discs, cell, columnHeight) >= winLength
+                || lineLength(discs, cell, columnHeight - 1) >= winLength
+                || lineLength(discs, cell, columnHeight + 1) >= winLength;
+    }
+
+    @Override
+    public boolean hasLine(int slot) {
+        long discs = slot == 0 ? first : second;
+        return lineStarts(discs, 1) != 0
+                || lineStarts(discs, columnHeight) != 0
+                || lineStarts(discs, columnHeight - 1) != 0
+                || lineStarts(discs, columnHeight + 1) != 0;
+    }
+
+    @Override
+    public long discs(int slot) {
+        return slot == 0 ? first : second;
+    }
+
+    /**
+     * Finds the start of every winning line along one direction by repeatedly combining shifted copies of the mask.
+     * 
+     * @param discs The discs of a single player
+     * @param shift The bit distance between neighbouring cells of the direction
+     * @return A mask with the lowest cell of every line of at least the win length set
+     */
+    private long lineStarts(long discs, int shift) {
+        long runs = discs;
+        int length = 1;
+        while (length * 2 <= winLength) {
+            runs &= runs >>> (length * shift);
+            length *= 2;
+        }
+        if (length < winLength) {
+            runs &= runs >>> ((winLength - length) * shift);
+        }
+        return runs;
+    }
+
+    /**
+     * Counts the connected discs on the line through a cell along one axis, in both directions.
+     * The empty guard bits end every line, so no bounds checks are needed.
+     * 
+     * @param discs The discs of the player owning the cell
+     * @param cell A mask with only the cell set
+     * @param shift The bit distance between neighbouring cells of the axis
+     * @return The length of the line, including the cell itself
+     */
+    private static int lineLength(long discs, long cell, int shift) {
+        int count = 1;
+        for (long next = cell << shift; (discs & next) != 0; next <<= shift) {
+            count++;
+        }
+        for (long next = cell >>> shift; (discs & next) != 0; next >>>= shift) {
+            count++;
+        }
+        return count;
+    }
+}
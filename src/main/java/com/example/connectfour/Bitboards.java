@@ -0,0 +1,233 @@
+package com.example.connectfour;
+
+/**
+ * Bit layout helpers for the standard 7x6 Connect Four board.
+ * Each column occupies ROWS + 1 consecutive bits, starting with the bottom row.
+ * The extra bit on top of every column stays empty, so shifts never wrap a line
+ * from one column into the next.
+ */
+final class Bitboards {
+    static final int COLUMN_HEIGHT = GameBoard.ROWS + 1;
+    static final long BOTTOM_MASK = repeatPerColumn(1L);
+    static final long BOARD_MASK = BOTTOM_MASK * ((1L << GameBoard.ROWS) - 1);
+
+    private static final long COLUMN_BITS = (1L << COLUMN_HEIGHT) - 1;
+
+    private Bitboards() {
+    }
+
+    /**
+     * Returns a mask covering every playable cell of a column.
+     * 
+     * @param column The column (0-based index)
+     * @return The column mask
+     */
+    static long columnMask(int column) {
+        return ((1L << GameBoard.ROWS) - 1) << (column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Returns a mask with only the bottom cell of a column set.
+     * 
+     * @param column The column (0-based index)
+     * @return The bottom cell mask
+     */
+    static long bottomMask(int column) {
+        return 1L << (column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Returns a mask with only the top playable cell of a column set.
+     * 
+     * @param column The column (0-based index)
+     * @return The top cell mask
+     */
+    static long topMask(int column) {
+        return 1L << (GameBoard.ROWS - 1 + column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Checks whether a disc mask contains four connected discs in any direction.
+     * 
+     * @param discs The discs of a single player
+     * @return true if the mask contains a connect-four line
+     */
+    static boolean hasFourInARow(long discs) {
+        return hasFourInARow(discs, 1)
+                || hasFourInARow(discs, COLUMN_HEIGHT)
+                || hasFourInARow(discs, COLUMN_HEIGHT - 1)
+                || hasFourInARow(discs, COLUMN_HEIGHT + 1);
+    }
+
+    /**
+     * Returns the bit index of a cell.
+     * 
+     * @param row The row (0-based index)
+     * @param column The column (0-based index)
+     * @return The position of the cell's bit
+     */
+    static int bitIndex(int row, int column) {
+        return column * COLUMN_HEIGHT + row;
+    }
+
+    /**
+     * Checks whether a disc is part of four connected discs, looking only at the lines through it.
+     * For each of the four axes, the starts of all lines of four are intersected with the
+     * four cells from which a line through the disc could start. The empty guard bits above
+     * the columns and beyond the last column end every line, so no bounds checks are needed.
+     * 
+     * @param discs The discs of the player owning the disc
+     * @param cell A mask with only the disc's cell set
+     * @return true if a line of four or more passes through the disc
+     */
+    static boolean connectsFour(long discs, long cell) {
+        return (lineStarts(discs, cell, 1)
+                | lineStarts(discs, cell, COLUMN_HEIGHT)
+                | lineStarts(discs, cell, COLUMN_HEIGHT - 1)
+                | lineStarts(discs, cell, COLUMN_HEIGHT + 1)) != 0;
+    }
+
+    /**
+     * Finds the lines of four along one axis that pass through a cell.
+     * 
+     * @param discs The discs of the player owning the cell
+     * @param cell A mask with only the cell set
+     * @param shift The bit distance between neighbouring cells of the axis
+     * @return A mask with the lowest cell of every line of four through the cell set
+     */
+    private static long lineStarts(long discs, long cell, int shift) {
+        long runs = discs & (discs >>> shift);
+        runs &= runs >>> (2 * shift);
+        long starts = cell | (cell >>> shift);
+        starts |= starts >>> (2 * shift);
+        return runs & starts;
+    }
+
+    /**
+     * Checks for four connected discs along one direction.
+     * 
+     * @param discs The discs of a single player
+     * @param shift The bit distance between neighbouring cells of the direction
+     * @return true if the direction contains a connect-four line
+     */
+    private static boolean hasFourInARow(long discs, int shift) {
+        long pairs = discs & (discs >>> shift);
+        return (pairs & (pairs >>> (2 * shift))) != 0;
+    }
+
+    /**
+     * Checks if a column still has room for a disc.
+     * 
+     * @param occupied The mask of all discs on the board
+     * @param column The column (0-based index)
+     * @return true if the column is not full
+     */
+    static boolean canPlay(long occupied, int column) {
+        return (occupied & topMask(column)) == 0;
+    }
+
+    /**
+     * Returns the cell a disc dropped into a column would land on.
+     * 
+     * @param occupied The mask of all discs on the board
+     * @param column The column (0-based index), which must not be full
+     * @return A mask with only the landing cell set
+     */
+    static long landingCell(long occupied, int column) {
+        return (occupied + bottomMask(column)) & columnMask(column);
+    }
+
+    /**
+     * Returns the landing cells of all columns that are not full.
+     * 
+     * @param occupied The mask of all discs on the board
+     * @return A mask with the landing cell of every playable column set
+     */
+    static long playableCells(long occupied) {
+        return (occupied + BOTTOM_MASK) & BOARD_MASK;
+    }
+
+    /**
+     * Returns every empty cell that would complete four in a row for a player.
+     * The cells do not need to be playable yet.
+     * 
+     * @param discs The discs of the player
+     * @param occupied The mask of all discs on the board
+     * @return A mask of the player's winning cells
+     */
+    static long winningCells(long discs, long occupied) {
+        long cells = (discs << 1) & (discs << 2) & (discs << 3);
+        cells |= winningCells(discs, COLUMN_HEIGHT);
+        cells |= winningCells(discs, COLUMN_HEIGHT - 1);
+        cells |= winningCells(discs, COLUMN_HEIGHT + 1);
+        return cells & (BOARD_MASK ^ occupied);
+    }
+
+    /**
+     * Returns the cells that complete a line of four along one horizontal or diagonal direction.
+     * 
+     * @param discs The discs of the player
+     * @param shift The bit distance between neighbouring cells of the direction
+     * @return A mask of cells completing a line, including occupied and off-board cells
+     */
+    private static long winningCells(long discs, int shift) {
+        long pair = (discs << shift) & (discs << (2 * shift));
+        long cells = pair & (discs << (3 * shift));
+        cells |= pair & (discs >>> shift);
+        pair = (discs >>> shift) & (discs >>> (2 * shift));
+        cells |= pair & (discs << shift);
+        cells |= pair & (discs >>> (3 * shift));
+        return cells;
+    }
+
+    /**
+     * Mirrors a bitboard left to right. Every column moves as a whole, so the shift of a column
+     * pair is a constant and the mirror image takes a few masks and shifts without a loop.
+     * 
+     * @param bits The bitboard to mirror
+     * @return The bitboard with column c moved to column COLUMNS - 1 - c
+     */
+    static long mirror(long bits) {
+        return (bits & COLUMN_BITS << 3 * COLUMN_HEIGHT)
+                | (bits & COLUMN_BITS) << 6 * COLUMN_HEIGHT | (bits >>> 6 * COLUMN_HEIGHT & COLUMN_BITS)
+                | (bits & COLUMN_BITS << COLUMN_HEIGHT) << 4 * COLUMN_HEIGHT
+                | (bits >>> 4 * COLUMN_HEIGHT & COLUMN_BITS << COLUMN_HEIGHT)
+                | (bits & COLUMN_BITS << 2 * COLUMN_HEIGHT) << 2 * COLUMN_HEIGHT
+                | (bits >>> 2 * COLUMN_HEIGHT & COLUMN_BITS << 2 * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Gets the key shared by a position and its mirror image. Since no column of a key carries
+     * into the next, mirroring the key mirrors the position.
+     * 
+     * @param key The position key: the discs of the side to move plus the mask of all discs
+     * @return The smaller of the key and the key of the mirrored position
+     */
+    static long canonicalKey(long key) {
+        return Math.min(key, mirror(key));
+    }
+
+    /**
+     * Gets the column a column becomes in the mirror image.
+     * 
+     * @param column The column (0-based)
+     * @return The mirrored column
+     */
+    static int mirrorColumn(int column) {
+        return GameBoard.COLUMNS - 1 - column;
+    }
+
+    /**
+     * Places the same bit pattern at the bottom of every column.
+     * 
+     * @param pattern The pattern for a single column
+     * @return The combined mask
+     */
+    private static long repeatPerColumn(long pattern) {
+        long mask = 0;
+        for (int col = 0; col < GameBoard.COLUMNS; col++) {
+            mask |= pattern << (col * COLUMN_HEIGHT);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.connectfour;
+
+/**
+ * Stores the discs of the two slots of a {@link GameBoard} and detects lines of connected discs.
+ * The board keeps track of column heights, so implementations never need to search for free cells.
+ */
+interface BoardStorage {
+
+    /**
+     * Creates the fastest storage for the given dimensions.
+     * 
+     * @param columns The number of columns
+     * @param rows The number of rows
+     * @param winLength The number of connected discs needed to win
+     * @return A bitboard storage specialized for the standard board, a generic bitboard storage
+     *         if the board fits into 64 bits, or a grid storage otherwise
+     */
+    static BoardStorage create(int columns, int rows, int winLength) {
+        if (columns == GameBoard.COLUMNS && rows == GameBoard.ROWS && winLength == GameBoard.WIN_LENGTH) {
+            return new StandardBoardStorage();
+        }
+        if (BitboardStorage.fits(columns, rows)) {
+            return new BitboardStorage(columns, rows, winLength);
+        }
+        return new GridStorage(columns, rows, winLength);
+    }
+
+    /**
+     * Puts a disc of a slot into an empty cell.
+     * 
+     * @param slot The slot (0 or 1)
+     * @param row The row (0-based index)
+     * @param column The column (0-based index)
+     */
+    void set(int slot, int row, int column);
+
+    /**
+     * Removes a disc of a slot from a cell.
+     * 
+     * @param slot The slot (0 or 1)
+     * @param row The row (0-based index)
+     * @param column The column (0-based index)
+     */
+    void clear(int slot, int row, int column);
+
+    /**
+     * Removes all discs.
+     */
+    void clearAll();
+
+    /**
+     * Gets the slot of the disc in a cell.
+     * 
+     * @param row The row (0-based index, must be on the board)
+     * @param column The column (0-based index, must be on the board)
+     * @return The slot of the disc, or -1 if the cell is empty
+     */
+    int slotAt(int row, int column);
+
+    /**
+     * Checks if the disc of a slot in a cell is part of a winning line, inspecting only the lines through it.
+     * 
+     * @param slot The slot (0 or 1)
+     * @param row The row (0-based index, must be on the board)
+     * @param column The column (0-based index, must be on the board)
+     * @return true if the cell holds a disc of the slot that is part of a winning line
+     */
+    boolean connects(int slot, int row, int column);
+
+    /**
+     * Checks if the discs of a slot form a winning line anywhere on the board.
+     * 
+     * @param slot The slot (0 or 1)
+     * @return true if the slot has a winning line
+     */
+    boolean hasLine(int slot);
+
+    /**
+     * Gets the bitboard of the discs of a slot.
+     * 
+     * @param slot The slot (0 or 1)
+     * @return The disc mask of the slot
+     * @throws UnsupportedOperationException if the board does not fit into a bitboard
+     */
+    long discs(int slot);
+}
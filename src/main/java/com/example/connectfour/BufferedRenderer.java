@@ -0,0 +1,77 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Renders a game as text into one reusable {@link StringBuilder} and writes it out in a single call on {@link #flush()}.
+ * <p>
+ * A whole turn (the board after the last move, messages and the next prompt) thus costs one write
+ * instead of a synchronized print call per cell and line. The builder and the character buffer
+ * grow to the largest frame and are reused afterwards. Instances are not thread-safe.
+ */
+public class BufferedRenderer implements Renderer {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Writer out;
+    private final StringBuilder frame = new StringBuilder(INITIAL_CAPACITY);
+    private char[] chars = new char[INITIAL_CAPACITY];
+
+    /**
+     * Creates a renderer writing to a print stream, such as {@link System#out}, in the platform charset.
+     * 
+     * @param out The stream to write to
+     */
+    public BufferedRenderer(PrintStream out) {
+        this(new OutputStreamWriter(out));
+    }
+
+    /**
+     * Creates a renderer writing to a character stream.
+     * 
+     * @param out The writer to write to; it is flushed on every {@link #flush()}
+     */
+    public BufferedRenderer(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void showBoard(GameBoard board) {
+        board.appendTo(frame);
+    }
+
+    @Override
+    public void showMessage(String message) {
+        frame.append(message).append(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void showStats(GameStats stats) {
+        stats.appendTo(frame);
+    }
+
+    /**
+     * Writes the buffered text and flushes the writer.
+     * 
+     * @throws UncheckedIOException if the text cannot be written
+     */
+    @Override
+    public void flush() {
+        int length = frame.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        frame.getChars(0, length, chars, 0);
+        frame.setLength(0);
+        try {
+            out.write(chars, 0, length);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.connectfour;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Game statistics that many threads can record into at the same time.
+ * <p>
+ * Every counter is a {@link LongAdder}, which spreads concurrent increments over several cells
+ * instead of letting all threads compete for one value. The wins are kept in a concurrent map of
+ * one adder per player, so recording a win for a known player never locks. The number of games
+ * played is not counted separately but derived from the wins and draws, so a {@link #snapshot()}
+ * is always consistent: its total equals the sum of its wins and draws, even while other threads
+ * keep recording. Games recorded during a snapshot may or may not be included.
+ */
+public class ConcurrentGameStats {
+    private final ConcurrentHashMap<String, LongAdder> playerWins = new ConcurrentHashMap<>();
+    private final LongAdder draws = new LongAdder();
+
+    /**
+     * Records a win for the specified player.
+     * 
+     * @param playerName The name of the player who won
+     */
+    public void recordWin(String playerName) {
+        long start = Metrics.start();
+        LongAdder wins = playerWins.get(playerName);
+        if (wins == null) {
+            wins = playerWins.computeIfAbsent(playerName, name -> new LongAdder());
+        }
+        wins.increment();
+        Metrics.stop(Metrics.STATS_UPDATE, start);
+    }
+
+    /**
+     * Records a draw.
+     */
+    public void recordDraw() {
+        long start = Metrics.start();
+        draws.increment();
+        Metrics.stop(Metrics.STATS_UPDATE, start);
+    }
+
+    /**
+     * Adds all results recorded in single-threaded statistics, e.g. those of one worker.
+     * 
+     * @param stats The statistics to add
+     */
+    public void merge(GameStats stats) {
+        for (Map.Entry<String, Integer> entry : stats.getAllWins().entrySet()) {
+            playerWins.computeIfAbsent(entry.getKey(), name -> new LongAdder()).add(entry.getValue());
+        }
+        draws.add(stats.getDraws());
+    }
+
+    /**
+     * Gets the number of wins recorded for a player so far.
+     * 
+     * @param playerName The name of the player
+     * @return The number of wins, or 0 if the player has not won yet
+     */
+    public long getWins(String playerName) {
+        LongAdder wins = playerWins.get(playerName);
+        return wins == null ? 0 : wins.sum();
+    }
+
+    /**
+     * Gets the number of draws recorded so far.
+     * 
+     * @return The number of draws
+     */
+    public long getDraws() {
+        return draws.sum();
+    }
+
+    /**
+     * Gets the number of games recorded so far.
+     * 
+     * @return The number of games played
+     */
+    public long getGamesPlayed() {
+        return snapshot().getGamesPlayed();
+    }
+
+    /**
+     * Copies the current counts into single-threaded statistics.
+     * 
+     * @return A consistent copy of the statistics
+     */
+    public GameStats snapshot() {
+        GameStats snapshot = new GameStats();
+        for (Map.Entry<String, LongAdder> entry : playerWins.entrySet()) {
+            snapshot.recordWins(entry.getKey(), Math.toIntExact(entry.getValue().sum()));
+        }
+        snapshot.recordDraws(Math.toIntExact(draws.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Prints a snapshot of the statistics to the console.
+     */
+    public void printStats() {
+        snapshot().printStats();
+    }
+}
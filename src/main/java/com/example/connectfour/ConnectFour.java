@@ -1,5 +1,7 @@
 package com.example.connectfour;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 /**
@@ -7,29 +9,140 @@ import java.util.Scanner;
  * This class initializes the game components and starts the game.
  */
 public class ConnectFour {
+    private static final long COMPUTER_TIME_BUDGET_MILLIS = 1000;
+    private static final String STATS_FILE_PROPERTY = "connectfour.stats";
+    private static final String RECORD_FILE_PROPERTY = "connectfour.record";
+    private static final String INDEX_DIR_PROPERTY = "connectfour.index";
+    private static final String SEED_PROPERTY = "connectfour.seed";
 
     /**
      * Main method to start the Connect Four game.
      * 
-     * @param args Command line arguments (not used)
+     * Results are kept across runs if the system property {@value #STATS_FILE_PROPERTY} names a stats file.
+     * Every finished game is appended to a game archive if {@value #RECORD_FILE_PROPERTY} names one, so it
+     * can be replayed with {@link ReplayRunner}. While games on the standard board are archived, they are also added
+     * to a position index if {@value #INDEX_DIR_PROPERTY} names its directory (see {@link PositionIndex}); the index
+     * must hold the games of the archive, so that its game IDs are their positions in the archive. The computer's random choices are seeded from
+     * {@value #SEED_PROPERTY}, or from the clock if it is not set; the seed is printed at the start.
+     * With metrics turned on (see {@link Metrics}), a metrics snapshot is printed on exit.
+     * 
+     * @param args Optional board configuration: columns, rows and win length (default: 7 6 4)
+     * @throws IOException if the stats file or the position index cannot be read or written, or the index
+     *         does not match the archive
      */
-    public static void main(String[] args) {
-        System.out.println("Welcome to Connect Four!");
+    public static void main(String[] args) throws IOException {
+        GameBoard gameBoard = createBoard(args);
+        long seed = Long.getLong(SEED_PROPERTY, System.nanoTime());
+        System.out.println("Welcome to Connect Four! (seed " + seed + ")");
 
         Scanner scanner = new Scanner(System.in);
         String player1Name = getPlayerName(scanner, 1);
-        String player2Name = getPlayerName(scanner, 2);
+        boolean computerOpponent = gameBoard.isStandard() && askComputerOpponent(scanner);
 
-        GameBoard gameBoard = new GameBoard();
         Player player1 = new Player(player1Name, 'X');
-        Player player2 = new Player(player2Name, 'O');
-        GameLogic gameLogic = new GameLogic(gameBoard, player1, player2);
+        Player player2 = computerOpponent
+                ? new Player("Computer", 'O', askComputerStrategy(scanner, seed))
+                : new Player(getPlayerName(scanner, 2), 'O');
+
+        String statsFile = System.getProperty(STATS_FILE_PROPERTY);
+        String recordFile = System.getProperty(RECORD_FILE_PROPERTY);
+        // Index game IDs are archive positions, so games are only indexed while they are archived
+        String indexDir = gameBoard.isStandard() && recordFile != null ? System.getProperty(INDEX_DIR_PROPERTY) : null;
+        try (GameStatsStore statsStore = statsFile == null ? null : GameStatsStore.open(Path.of(statsFile));
+                GameArchiveWriter archive = recordFile == null ? null : GameArchiveWriter.open(Path.of(recordFile),
+                        gameBoard.getColumns(), gameBoard.getRows(), gameBoard.getWinLength());
+                PositionIndex index = indexDir == null ? null : PositionIndex.open(Path.of(indexDir))) {
+            if (index != null && index.getGameCount() != archive.getGameCount()) {
+                throw new IOException("The position index in " + indexDir + " holds " + index.getGameCount()
+                        + " games, but the archive " + recordFile + " holds " + archive.getGameCount());
+            }
+            GameLogic gameLogic = new GameLogic(gameBoard, player1, player2, statsStore,
+                    new ScannerMoveSource(scanner), new BufferedRenderer(System.out));
+            if (archive != null) {
+                gameLogic.setResultListener(result -> recordGame(archive, index, result));
+            }
 
-        gameLogic.startGame();
+            gameLogic.startGame();
+
+            if (statsStore != null) {
+                System.out.println("All-time statistics (" + statsFile + "):");
+                statsStore.toGameStats().printStats();
+            }
+            if (Metrics.isEnabled()) {
+                System.out.println("Metrics (nanoseconds):");
+                System.out.print(Metrics.registry().toText());
+            }
+        }
 
         scanner.close();
     }
 
+    /**
+     * Creates the game board from the command line arguments.
+     * 
+     * @param args Columns, rows and win length, each optional
+     * @return The configured game board
+     * @throws IllegalArgumentException if an argument is not a number or out of range
+     */
+    private static GameBoard createBoard(String[] args) {
+        int columns = args.length > 0 ? Integer.parseInt(args[0]) : GameBoard.COLUMNS;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : GameBoard.ROWS;
+        int winLength = args.length > 2 ? Integer.parseInt(args[2]) : GameBoard.WIN_LENGTH;
+        return new GameBoard(columns, rows, winLength);
+    }
+
+    /**
+     * Asks whether the second player should be controlled by the computer.
+     * 
+     * @param scanner The scanner to read input from
+     * @return true if the user wants to play against the computer
+     */
+    private static boolean askComputerOpponent(Scanner scanner) {
+        System.out.println("Play against the computer? (y/n, default: n):");
+        String input = scanner.nextLine().trim().toLowerCase();
+        return input.equals("y") || input.equals("yes");
+    }
+
+    /**
+     * Asks which search the computer opponent should use.
+     * 
+     * @param scanner The scanner to read input from
+     * @param seed The seed of the computer's random choices
+     * @return The computer's move strategy
+     */
+    private static MoveStrategy askComputerStrategy(Scanner scanner, long seed) {
+        System.out.println("Computer strategy: 1 = negamax search, 2 = Monte Carlo tree search (default: 1):");
+        String input = scanner.nextLine().trim();
+        if (input.equals("2")) {
+            return new MctsStrategy(COMPUTER_TIME_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors(), seed);
+        }
+        // Stop deepening halfway through the budget, and think on the human player's time
+        NegamaxStrategy negamax = new NegamaxStrategy(new TimeControl(COMPUTER_TIME_BUDGET_MILLIS / 2,
+                COMPUTER_TIME_BUDGET_MILLIS), NegamaxStrategy.DEFAULT_TABLE_BITS, Solver.SIZE);
+        negamax.setPondering(true);
+        return negamax;
+    }
+
+    /**
+     * Appends a finished game to the game archive and the position index. The game is only indexed
+     * once it is archived. A failure is reported but does not end the game.
+     * 
+     * @param archive The archive to append to
+     * @param index The position index to add to, or null
+     * @param result The finished game
+     */
+    private static void recordGame(GameArchiveWriter archive, PositionIndex index, GameResult result) {
+        try {
+            archive.write(result);
+            archive.flush();
+            if (index != null) {
+                index.add(result);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not record the game: " + e.getMessage());
+        }
+    }
+
     /**
      * Prompts the user to enter a name for the specified player.
      * 
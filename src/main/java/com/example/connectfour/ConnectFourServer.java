@@ -0,0 +1,182 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts independent games over TCP, one {@link GameLogic} session per connection.
+ * <p>
+ * The protocol is the console dialogue, one line at a time: the server sends the board and
+ * prompts, and the client answers every prompt with one line, such as a column number (1-based),
+ * {@code u} to take back a move or {@code y}/{@code n} to play again. Both players of a session
+ * enter their moves over the same connection. Output goes through a {@link BufferedRenderer}, which
+ * writes only when the session waits for the next line, so every answer costs one write. A session
+ * ends when the players stop playing, the client disconnects or the connection is idle for longer
+ * than the idle timeout.
+ * <p>
+ * Every session runs on its own virtual thread when the JVM supports them (Java 21 and later).
+ * Older JVMs fall back to platform threads with small stacks. A session holds a board, a scanner
+ * and a renderer with small buffers, so memory per game stays bounded.
+ */
+public class ConnectFourServer implements Closeable {
+    static final int DEFAULT_PORT = 4000;
+    static final int DEFAULT_IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+    static final int SESSION_STACK_BYTES = 256 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = newSessionExecutor();
+    private final int idleTimeoutMillis;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong sessionsStarted = new AtomicLong();
+
+    /**
+     * Creates a server listening on a port.
+     * 
+     * @param port The port to listen on, or 0 for any free port
+     * @param idleTimeoutMillis The time a session may wait for input before it is closed, or 0 for no limit
+     * @throws IOException if the port cannot be opened
+     */
+    public ConnectFourServer(int port, int idleTimeoutMillis) throws IOException {
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout must not be negative, was " + idleTimeoutMillis);
+        }
+        this.serverSocket = new ServerSocket(port, 1024);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Accepts connections and starts a session for each until the server is closed.
+     * 
+     * @throws IOException if accepting a connection fails for another reason than closing
+     */
+    public void serve() throws IOException {
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            sessionsStarted.incrementAndGet();
+            activeSessions.incrementAndGet();
+            sessions.execute(() -> runSession(socket));
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * 
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of sessions that have not ended yet.
+     * 
+     * @return The active session count
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of connections accepted since the server started.
+     * 
+     * @return The session count
+     */
+    public long getSessionsStarted() {
+        return sessionsStarted.get();
+    }
+
+    /**
+     * Stops accepting connections. Running sessions end when their clients disconnect.
+     * 
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdown();
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread, or on a new daemon
+     * platform thread with a small stack if the JVM has no virtual threads.
+     * 
+     * @return The executor
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(null, task, "connectfour-session", SESSION_STACK_BYTES);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Plays games with one client until it stops playing or disconnects.
+     * 
+     * @param socket The client connection
+     */
+    private void runSession(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(idleTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            MoveSource moves = new ScannerMoveSource(new Scanner(socket.getInputStream(), StandardCharsets.UTF_8));
+            Renderer renderer = new BufferedRenderer(new OutputStreamWriter(socket.getOutputStream(),
+                    StandardCharsets.UTF_8));
+            Player player1 = new Player("Player 1", GameEngine.FIRST_SYMBOL);
+            Player player2 = new Player("Player 2", GameEngine.SECOND_SYMBOL);
+
+            new GameLogic(new GameBoard(), player1, player2, null, moves, renderer).startGame();
+        } catch (IOException | UncheckedIOException | NoSuchElementException e) {
+            // The scanner reports a disconnected or idle client as the end of its input
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a server from the command line.
+     * 
+     * Metrics snapshots are printed periodically if metrics are turned on, see {@link Metrics}.
+     * 
+     * @param args The port (default: 4000) and the idle timeout in seconds (default: 600)
+     * @throws IOException if the port cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int idleTimeoutMillis = args.length > 1 ? Integer.parseInt(args[1]) * 1000 : DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+        Closeable metrics = Metrics.startReporting(System.out);
+        try (ConnectFourServer server = new ConnectFourServer(port, idleTimeoutMillis)) {
+            System.out.println("Connect Four server listening on port " + server.getPort());
+            server.serve();
+        } finally {
+            metrics.close();
+        }
+    }
+}
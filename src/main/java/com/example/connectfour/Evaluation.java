@@ -0,0 +1,10 @@
+package com.example.connectfour;
+
+/**
+ * The result of evaluating a position with {@link PositionBatch} or {@link BatchEvaluator}.
+ * 
+ * @param column The best move (0-based column index)
+ * @param score The score of the best move from the point of view of the side to move
+ */
+public record Evaluation(int column, int score) {
+}
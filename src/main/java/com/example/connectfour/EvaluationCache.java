@@ -0,0 +1,437 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A bounded cache of position evaluations that many threads can share.
+ * <p>
+ * Every entry maps a 64-bit position key to a score and a best move. The cache is split into
+ * segments by key hash, each guarded by its own lock. A segment keeps its entries in parallel
+ * primitive arrays and finds them through an open-addressing index of slot numbers, so no entry
+ * is ever boxed. When a segment is full, CLOCK picks the entry to evict: a hand sweeps the slots,
+ * clearing the reference bit of every entry read since the hand last passed, and evicts the first
+ * entry whose bit is already clear. The cache can be saved to a file and loaded again, so a
+ * restarted program does not start cold. Instances are thread-safe.
+ */
+public class EvaluationCache {
+    /** The entry returned by {@link #get(long)} for keys that are not cached. */
+    public static final int MISS = Integer.MIN_VALUE;
+
+    /** The move stored for evaluations without a best move. */
+    public static final int NO_MOVE = -1;
+
+    static final int MAGIC = 0x43344543;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    static final int MAX_SEGMENTS = 64;
+    static final int MIN_SEGMENT_CAPACITY = 1024;
+
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Creates an empty cache.
+     * 
+     * @param capacity The maximum number of entries
+     */
+    public EvaluationCache(int capacity) {
+        this(capacity, Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(capacity / MIN_SEGMENT_CAPACITY))));
+    }
+
+    /**
+     * Creates an empty cache with a given number of segments.
+     * 
+     * @param capacity The maximum number of entries
+     * @param segmentCount The number of independently locked segments, a power of two
+     */
+    EvaluationCache(int capacity, int segmentCount) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        if (segmentCount < 1 || Integer.bitCount(segmentCount) != 1 || segmentCount > capacity) {
+            throw new IllegalArgumentException("Segment count must be a power of two up to the capacity, was "
+                    + segmentCount);
+        }
+        segments = new Segment[segmentCount];
+        int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * Looks up a position.
+     * 
+     * @param key The position key
+     * @return The packed entry, see {@link #scoreOf(int)} and {@link #moveOf(int)}, or {@link #MISS}
+     */
+    public int get(long key) {
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            return segment.get(key, hash);
+        }
+    }
+
+    /**
+     * Stores the evaluation of a position, replacing an older one of the same position.
+     * 
+     * @param key The position key
+     * @param score The score of the position, between {@link Short#MIN_VALUE} and {@link Short#MAX_VALUE}
+     * @param move The best move (0-based column) or {@link #NO_MOVE}
+     */
+    public void put(long key, int score, int move) {
+        if (score < Short.MIN_VALUE || score > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Score " + score + " does not fit into 16 bits");
+        }
+        if (move < NO_MOVE || move >= GameBoard.MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid move " + move);
+        }
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.put(key, hash, pack(score, move));
+        }
+    }
+
+    /**
+     * Gets the score of a packed entry.
+     * 
+     * @param entry An entry returned by {@link #get(long)}
+     * @return The score
+     */
+    public static int scoreOf(int entry) {
+        return entry >> 8;
+    }
+
+    /**
+     * Gets the best move of a packed entry.
+     * 
+     * @param entry An entry returned by {@link #get(long)}
+     * @return The move (0-based column) or {@link #NO_MOVE}
+     */
+    public static int moveOf(int entry) {
+        return (byte) entry;
+    }
+
+    /**
+     * Gets the number of cached positions.
+     * 
+     * @return The entry count
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of cached positions.
+     * 
+     * @return The capacity, rounded up to a multiple of the segment count
+     */
+    public int capacity() {
+        return segments.length * segments[0].keys.length;
+    }
+
+    /**
+     * Gets the number of lookups that found their position.
+     * 
+     * @return The hit count
+     */
+    public long getHits() {
+        long hits = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that did not find their position.
+     * 
+     * @return The miss count
+     */
+    public long getMisses() {
+        long misses = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                misses += segment.misses;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries dropped to make room for new ones.
+     * 
+     * @return The eviction count
+     */
+    public long getEvictions() {
+        long evictions = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                evictions += segment.evictions;
+            }
+        }
+        return evictions;
+    }
+
+    /**
+     * Removes all entries. The counters are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes all entries to a file. The file is written next to the target and then moved into place.
+     * Every segment is copied under its lock, so threads may keep using the cache meanwhile.
+     * 
+     * @param path The cache file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0);
+            long count = 0;
+            for (Segment segment : segments) {
+                long[] keys;
+                int[] entries;
+                synchronized (segment) {
+                    keys = Arrays.copyOf(segment.keys, segment.size);
+                    entries = Arrays.copyOf(segment.entries, segment.size);
+                }
+                for (int i = 0; i < keys.length; i++) {
+                    if (buffer.remaining() < ENTRY_BYTES) {
+                        writeFully(channel, buffer);
+                    }
+                    buffer.putLong(keys[i]).putInt(entries[i]);
+                }
+                count += keys.length;
+            }
+            writeFully(channel, buffer);
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), Integer.BYTES * 2);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Adds the entries of a file written by {@link #save(Path)}. If the file holds more entries
+     * than fit, the ones loaded last win.
+     * 
+     * @param path The cache file
+     * @return The number of entries read
+     * @throws IOException if the file cannot be read or is not a valid cache file
+     */
+    public long load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).limit(0);
+            readAtLeast(channel, buffer, HEADER_BYTES, path);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an evaluation cache: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported evaluation cache version " + version + ": " + path);
+            }
+            long count = buffer.getLong();
+            if (HEADER_BYTES + count * ENTRY_BYTES != channel.size()) {
+                throw new IOException("Evaluation cache is truncated: " + path);
+            }
+
+            for (long i = 0; i < count; i++) {
+                if (buffer.remaining() < ENTRY_BYTES) {
+                    readAtLeast(channel, buffer, ENTRY_BYTES, path);
+                }
+                long key = buffer.getLong();
+                int entry = buffer.getInt();
+                long hash = hash(key);
+                Segment segment = segmentFor(hash);
+                synchronized (segment) {
+                    segment.put(key, hash, entry);
+                }
+            }
+            return count;
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static int pack(int score, int move) {
+        return score << 8 | (move & 0xFF);
+    }
+
+    /**
+     * Spreads the key bits over the whole word; the top bits pick the segment, the low bits the index slot.
+     */
+    private static long hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Compacts the buffer and reads until it holds at least the given number of bytes.
+     */
+    private static void readAtLeast(FileChannel channel, ByteBuffer buffer, int bytes, Path path) throws IOException {
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Evaluation cache is truncated: " + path);
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * A fixed number of slots with CLOCK eviction, indexed by a linear-probing table twice as large.
+     * All methods must be called while holding the segment's lock.
+     */
+    private static final class Segment {
+        private final long[] keys;
+        private final int[] entries;
+        private final boolean[] referenced;
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int hand;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            entries = new int[capacity];
+            referenced = new boolean[capacity];
+            index = new int[Integer.highestOneBit(capacity - 1 | 1) << 2];
+            indexMask = index.length - 1;
+        }
+
+        int get(long key, long hash) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                misses++;
+                return MISS;
+            }
+            hits++;
+            referenced[slot] = true;
+            return entries[slot];
+        }
+
+        void put(long key, long hash, int entry) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                entries[slot] = entry;
+                referenced[slot] = true;
+                return;
+            }
+
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = hand + 1 == keys.length ? 0 : hand + 1;
+                }
+                slot = hand;
+                hand = hand + 1 == keys.length ? 0 : hand + 1;
+                remove(keys[slot], slot);
+                evictions++;
+            }
+
+            keys[slot] = key;
+            entries[slot] = entry;
+            referenced[slot] = false;
+            int position = (int) hash & indexMask;
+            while (index[position] != 0) {
+                position = (position + 1) & indexMask;
+            }
+            index[position] = slot + 1;
+        }
+
+        void clear() {
+            Arrays.fill(index, 0);
+            Arrays.fill(referenced, false);
+            size = 0;
+            hand = 0;
+        }
+
+        /**
+         * Finds the slot of a key.
+         * 
+         * @return The slot, or -1 if the key is not stored
+         */
+        private int find(long key, long hash) {
+            int position = (int) hash & indexMask;
+            int slot;
+            while ((slot = index[position]) != 0) {
+                if (keys[slot - 1] == key) {
+                    return slot - 1;
+                }
+                position = (position + 1) & indexMask;
+            }
+            return -1;
+        }
+
+        /**
+         * Removes a slot from the index, shifting later entries of its probe run back so lookups still find them.
+         */
+        private void remove(long key, int slot) {
+            int position = (int) hash(key) & indexMask;
+            while (index[position] != slot + 1) {
+                position = (position + 1) & indexMask;
+            }
+
+            int next = position;
+            while (true) {
+                next = (next + 1) & indexMask;
+                int moved = index[next];
+                if (moved == 0) {
+                    break;
+                }
+                int home = (int) hash(keys[moved - 1]) & indexMask;
+                // Move the entry back if its home does not lie cyclically between the gap and its position
+                if (((next - home) & indexMask) >= ((next - position) & indexMask)) {
+                    index[position] = moved;
+                    position = next;
+                }
+            }
+            index[position] = 0;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the games of an archive written by {@link GameArchiveWriter}.
+ * <p>
+ * The file is memory-mapped in windows of up to 1 GiB, so archives of billions of games can be
+ * read without copying them into the heap. Every window starts at a game, and a new window is
+ * mapped when the next game does not fit into the current one. {@link #next()} moves to the next
+ * game, whose outcome and moves are then decoded straight from the mapping without allocating.
+ * Instances are not thread-safe.
+ */
+public class GameArchiveReader implements Closeable {
+    static final long DEFAULT_WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowBytes;
+    private final int columns;
+    private final int rows;
+    private final int winLength;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long nextOffset = GameArchiveWriter.HEADER_BYTES;
+    private int gameStart = -1;
+    private int moveCount;
+    private int outcome;
+
+    private GameArchiveReader(FileChannel channel, long windowBytes) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+        map(0);
+        if (size < GameArchiveWriter.HEADER_BYTES || window.getInt(0) != GameArchiveWriter.MAGIC) {
+            throw new IOException("Not a game archive");
+        }
+        if (window.get(4) != GameArchiveWriter.VERSION) {
+            throw new IOException("Unsupported game archive version " + window.get(4));
+        }
+        columns = window.get(5);
+        rows = window.get(6);
+        winLength = window.get(7);
+    }
+
+    /**
+     * Opens an archive for reading.
+     * 
+     * @param path The archive file
+     * @return The reader, positioned before the first game
+     * @throws IOException if the file cannot be read or is not a game archive
+     */
+    public static GameArchiveReader open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Opens an archive for reading with a custom window size.
+     * 
+     * @param path The archive file
+     * @param windowBytes The largest number of bytes mapped at once; must hold the largest game
+     * @return The reader, positioned before the first game
+     * @throws IOException if the file cannot be read or is not a game archive
+     */
+    static GameArchiveReader open(Path path, long windowBytes) throws IOException {
+        if (windowBytes < GameArchiveWriter.HEADER_BYTES || windowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid window size " + windowBytes);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new GameArchiveReader(channel, windowBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw new IOException(e.getMessage() + ": " + path, e);
+        }
+    }
+
+    /**
+     * Moves to the next game.
+     * 
+     * @return false if there are no more games
+     * @throws IOException if the next game is truncated or cannot be mapped
+     */
+    public boolean next() throws IOException {
+        if (nextOffset >= size) {
+            gameStart = -1;
+            return false;
+        }
+        if (nextOffset + GameArchiveWriter.GAME_HEADER_BYTES > size) {
+            throw new IOException("Truncated game at offset " + nextOffset);
+        }
+        if (nextOffset + GameArchiveWriter.GAME_HEADER_BYTES > windowStart + window.limit()) {
+            map(nextOffset);
+        }
+        int header = window.getShort((int) (nextOffset - windowStart)) & 0xFFFF;
+        int length = GameArchiveWriter.GAME_HEADER_BYTES + ((header >>> 2) + 1) / 2;
+        if (nextOffset + length > size) {
+            throw new IOException("Truncated game at offset " + nextOffset);
+        }
+        if (nextOffset + length > windowStart + window.limit()) {
+            map(nextOffset);
+        }
+
+        gameStart = (int) (nextOffset - windowStart);
+        moveCount = header >>> 2;
+        outcome = header & 3;
+        nextOffset += length;
+        return true;
+    }
+
+    /**
+     * Gets the winner of the current game.
+     * 
+     * @return 0 if the first player won, 1 if the second player won, or {@link GameResult#DRAW}
+     */
+    public int getWinner() {
+        requireGame();
+        return outcome == GameArchiveWriter.OUTCOME_DRAW ? GameResult.DRAW : outcome;
+    }
+
+    /**
+     * Gets the number of moves of the current game.
+     * 
+     * @return The move count
+     */
+    public int getMoveCount() {
+        requireGame();
+        return moveCount;
+    }
+
+    /**
+     * Gets a move of the current game.
+     * 
+     * @param index The index of the move, starting at 0
+     * @return The column played (0-based)
+     */
+    public int getMove(int index) {
+        requireGame();
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " of a game with " + moveCount + " moves");
+        }
+        int packed = window.get(gameStart + GameArchiveWriter.GAME_HEADER_BYTES + (index >>> 1));
+        return (index & 1) == 0 ? (packed >>> 4) & 0xF : packed & 0xF;
+    }
+
+    /**
+     * Copies the current game into a result.
+     * 
+     * @return The game's result, with a fresh moves array
+     */
+    public GameResult toResult() {
+        byte[] moves = new byte[getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) getMove(i);
+        }
+        return new GameResult(getWinner(), moveCount, moves);
+    }
+
+    /**
+     * Replays the current game on a board with {@link GameBoard#placeDisc(int, char)}.
+     * 
+     * @param board The board to reset and play on; it must have the archive's dimensions
+     * @throws IllegalArgumentException if the board has other dimensions than the archive
+     * @throws IllegalStateException if a move of the game is not valid on the board
+     */
+    public void replay(GameBoard board) {
+        if (board.getColumns() != columns || board.getRows() != rows || board.getWinLength() != winLength) {
+            throw new IllegalArgumentException("The board does not match the archive's " + columns + "x" + rows
+                    + " connect-" + winLength);
+        }
+        board.reset();
+        int count = getMoveCount();
+        for (int i = 0; i < count; i++) {
+            char symbol = (i & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+            if (board.placeDisc(getMove(i), symbol) < 0) {
+                throw new IllegalStateException("Move " + i + " of the game is not valid");
+            }
+        }
+    }
+
+    /**
+     * Gets the number of columns of the archived games' board.
+     * 
+     * @return The column count
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of rows of the archived games' board.
+     * 
+     * @return The row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of connected discs needed to win in the archived games.
+     * 
+     * @return The win length
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowBytes, size - offset));
+    }
+
+    private void requireGame() {
+        if (gameStart < 0) {
+            throw new IllegalStateException("No current game, call next() first");
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends finished games to a game archive file.
+ * <p>
+ * An archive starts with an 8-byte header: a magic number, the format version and the board's
+ * columns, rows and win length as one byte each. Every game follows as a 2-byte game header,
+ * holding the move count in the upper 14 bits and the outcome (0 first player won, 1 second player
+ * won, 2 draw) in the lower 2 bits, and then one nibble per move, high nibble first, padded to a
+ * whole byte. A standard game of 21 moves takes 13 bytes. Games are collected in a direct buffer
+ * and written when it is full and on {@link #flush()} and {@link #close()}. When an archive is
+ * opened for appending, an incomplete last game left behind by a crash is cut off. Instances are
+ * not thread-safe.
+ */
+public class GameArchiveWriter implements Closeable {
+    static final int MAGIC = 0x43344741;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int GAME_HEADER_BYTES = 2;
+    static final int MAX_COLUMNS = 16;
+    static final int OUTCOME_DRAW = 2;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final int columns;
+    private final int cells;
+    private long gameCount;
+    private long gamesWritten;
+
+    private GameArchiveWriter(FileChannel channel, int columns, int rows) {
+        this.channel = channel;
+        this.columns = columns;
+        this.cells = columns * rows;
+    }
+
+    /**
+     * Opens an archive of standard games for appending, creating it if it does not exist.
+     * 
+     * @param path The archive file
+     * @return The writer
+     * @throws IOException if the file cannot be written or is an archive of another board
+     */
+    public static GameArchiveWriter open(Path path) throws IOException {
+        return open(path, GameBoard.COLUMNS, GameBoard.ROWS, GameBoard.WIN_LENGTH);
+    }
+
+    /**
+     * Opens an archive for appending, creating it if it does not exist. An incomplete game at the
+     * end of the file is cut off, so the new games follow the last complete one.
+     * 
+     * @param path The archive file
+     * @param columns The number of columns of the board (at most 16)
+     * @param rows The number of rows of the board
+     * @param winLength The number of connected discs needed to win
+     * @return The writer
+     * @throws IOException if the file cannot be written, is an archive of another board or holds a corrupt game
+     */
+    public static GameArchiveWriter open(Path path, int columns, int rows, int winLength) throws IOException {
+        if (columns < 1 || columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Archived boards must have 1 to " + MAX_COLUMNS + " columns, not " + columns);
+        }
+        if (rows < 1 || rows > GameBoard.MAX_DIMENSION || winLength < 2 || winLength > GameBoard.MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid board " + columns + "x" + rows + " connect-" + winLength);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        GameArchiveWriter writer = new GameArchiveWriter(channel, columns, rows);
+        try {
+            if (channel.size() == 0) {
+                writer.buffer.putInt(MAGIC).put((byte) VERSION).put((byte) columns).put((byte) rows)
+                        .put((byte) winLength);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                    // Keep reading until the header is complete or the file ends
+                }
+                header.flip();
+                if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.get() != VERSION) {
+                    throw new IOException("Not a game archive: " + path);
+                }
+                if (header.get() != columns || header.get() != rows || header.get() != winLength) {
+                    throw new IOException("Archive " + path + " holds games of another board");
+                }
+                long complete = writer.completeLength(path);
+                if (complete < channel.size()) {
+                    // Cut off the incomplete game a crash left behind
+                    channel.truncate(complete);
+                }
+                channel.position(complete);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    /**
+     * Walks the game headers of the archive to the end of the last complete game, counting the
+     * complete games.
+     * 
+     * @param path The archive file, for error messages
+     * @return The file length up to and including the last complete game
+     * @throws IOException if the file cannot be read or a game header is invalid
+     */
+    private long completeLength(Path path) throws IOException {
+        // The input always starts at the first game that has not been read completely
+        ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        long complete = HEADER_BYTES;
+        int read;
+        do {
+            read = channel.read(input, complete + input.position());
+            input.flip();
+            while (input.remaining() >= GAME_HEADER_BYTES) {
+                int gameHeader = input.getShort(input.position()) & 0xFFFF;
+                int moveCount = gameHeader >>> 2;
+                if (moveCount > cells || (gameHeader & 3) > OUTCOME_DRAW) {
+                    throw new IOException("Invalid game at offset " + complete + ": " + path);
+                }
+                int bytes = GAME_HEADER_BYTES + (moveCount + 1) / 2;
+                if (input.remaining() < bytes) {
+                    break;
+                }
+                input.position(input.position() + bytes);
+                complete += bytes;
+                gameCount++;
+            }
+            input.compact();
+        } while (read >= 0);
+        return complete;
+    }
+
+    /**
+     * Appends a finished game.
+     * 
+     * @param result The result of the game
+     * @throws IOException if the archive cannot be written
+     */
+    public void write(GameResult result) throws IOException {
+        write(result.moves(), result.moveCount(), result.winner());
+    }
+
+    /**
+     * Appends a game.
+     * 
+     * @param moves The columns played in order (0-based)
+     * @param moveCount The number of moves to take from the array
+     * @param winner 0 if the first player won, 1 if the second player won, or {@link GameResult#DRAW}
+     * @throws IOException if the archive cannot be written
+     */
+    public void write(byte[] moves, int moveCount, int winner) throws IOException {
+        if (moveCount < 0 || moveCount > cells) {
+            throw new IllegalArgumentException("A game has at most " + cells + " moves, not " + moveCount);
+        }
+        if (winner != 0 && winner != 1 && winner != GameResult.DRAW) {
+            throw new IllegalArgumentException("Winner must be 0, 1 or " + GameResult.DRAW + ", was " + winner);
+        }
+
+        int bytes = GAME_HEADER_BYTES + (moveCount + 1) / 2;
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+        int outcome = winner == GameResult.DRAW ? OUTCOME_DRAW : winner;
+        buffer.putShort((short) (moveCount << 2 | outcome));
+        for (int i = 0; i < moveCount; i += 2) {
+            int high = checkedColumn(moves[i]);
+            int low = i + 1 < moveCount ? checkedColumn(moves[i + 1]) : 0;
+            buffer.put((byte) (high << 4 | low));
+        }
+        gameCount++;
+        gamesWritten++;
+    }
+
+    /**
+     * Gets the number of games appended by this writer.
+     * 
+     * @return The game count
+     */
+    public long getGamesWritten() {
+        return gamesWritten;
+    }
+
+    /**
+     * Gets the number of games in the archive, including those appended by this writer.
+     * 
+     * @return The game count, which is also the position of the next game in the archive
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Writes all buffered games to the file and forces it to disk.
+     * 
+     * @throws IOException if the archive cannot be written
+     */
+    public void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int checkedColumn(byte column) {
+        if (column < 0 || column >= columns) {
+            throw new IllegalArgumentException("Column " + column + " is outside the board");
+        }
+        return column;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
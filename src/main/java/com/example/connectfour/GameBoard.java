@@ -1,23 +1,76 @@
 package com.example.connectfour;
 
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
 /**
  * Represents the game board for Connect Four.
- * The board is a 7x6 grid (7 columns, 6 rows).
+ * The standard board is a 7x6 grid (7 columns, 6 rows) where four connected discs win;
+ * other sizes and win lengths can be chosen at construction.
  * The bottom row is row 0, and the leftmost column is column 0.
+ * <p>
+ * The discs are stored per symbol in a {@link BoardStorage}, plus the height of each column.
+ * Boards that fit into 64 bits use bitboards; larger boards fall back to a plain grid.
+ * A bounded history of the placed moves allows them to be undone and redone in place.
+ * The first symbol placed on the board is bound to slot 0, the second one to slot 1.
+ * <p>
+ * The board also maintains a 64-bit Zobrist key of the position, together with the key of its
+ * left-right mirror image, both updated incrementally whenever a disc is placed or removed.
  */
 public class GameBoard {
     public static final int COLUMNS = 7;
     public static final int ROWS = 6;
+    public static final int WIN_LENGTH = 4;
+    public static final int MAX_DIMENSION = 64;
 
     private static final char EMPTY_CELL = '.';
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+    private static final long[][] STANDARD_ZOBRIST = zobristTable(COLUMNS, ROWS);
 
-    private final char[][] grid;
+    private final int columns;
+    private final int rows;
+    private final int winLength;
+    private final BoardStorage storage;
+    private final long[][] zobrist;
+    private final int[] heights;
+    private final char[] symbols;
+    private final byte[] history;
+    private int moveCount;
+    private int redoLimit;
+    private long positionKey;
+    private long mirroredKey;
 
     /**
      * Creates a new empty game board.
      */
     public GameBoard() {
-        grid = new char[ROWS][COLUMNS];
+        this(COLUMNS, ROWS, WIN_LENGTH);
+    }
+
+    /**
+     * Creates a new empty game board with custom dimensions.
+     * 
+     * @param columns The number of columns (1-64)
+     * @param rows The number of rows (1-64)
+     * @param winLength The number of connected discs needed to win (at least 2)
+     * @throws IllegalArgumentException if a dimension or the win length is out of range
+     */
+    public GameBoard(int columns, int rows, int winLength) {
+        if (columns < 1 || columns > MAX_DIMENSION || rows < 1 || rows > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Board dimensions must be between 1 and " + MAX_DIMENSION
+                    + ", was " + columns + "x" + rows);
+        }
+        if (winLength < 2) {
+            throw new IllegalArgumentException("Win length must be at least 2, was " + winLength);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.winLength = winLength;
+        storage = BoardStorage.create(columns, rows, winLength);
+        zobrist = columns == COLUMNS && rows == ROWS ? STANDARD_ZOBRIST : zobristTable(columns, rows);
+        heights = new int[columns];
+        symbols = new char[2];
+        history = new byte[rows * columns];
         initializeBoard();
     }
 
@@ -25,11 +78,16 @@ public class GameBoard {
      * Initializes the board with empty cells.
      */
     private void initializeBoard() {
-        for (int row = 0; row < ROWS; row++) {
-            for (int col = 0; col < COLUMNS; col++) {
-                grid[row][col] = EMPTY_CELL;
-            }
+        storage.clearAll();
+        for (int col = 0; col < columns; col++) {
+            heights[col] = 0;
         }
+        symbols[0] = EMPTY_CELL;
+        symbols[1] = EMPTY_CELL;
+        moveCount = 0;
+        redoLimit = 0;
+        positionKey = 0;
+        mirroredKey = 0;
     }
 
     /**
@@ -39,7 +97,7 @@ public class GameBoard {
      * @return true if the column is valid and not full, false otherwise
      */
     public boolean isValidMove(int column) {
-        return column >= 0 && column < COLUMNS && grid[ROWS - 1][column] == EMPTY_CELL;
+        return column >= 0 && column < columns && heights[column] < rows;
     }
 
     /**
@@ -49,20 +107,120 @@ public class GameBoard {
      * @param column The column to place the disc (0-based index)
      * @param symbol The symbol representing the player's disc
      * @return The row where the disc was placed, or -1 if the column is full
+     * @throws IllegalArgumentException if the board already holds discs of two other symbols
      */
     public int placeDisc(int column, char symbol) {
+        long start = Metrics.start();
         if (!isValidMove(column)) {
+            Metrics.increment(Metrics.INVALID_MOVES);
             return -1;
         }
 
-        for (int row = 0; row < ROWS; row++) {
-            if (grid[row][column] == EMPTY_CELL) {
-                grid[row][column] = symbol;
-                return row;
-            }
+        int slot = slotOf(symbol);
+        history[moveCount] = (byte) (column << 1 | slot);
+        redoLimit = moveCount + 1;
+        int row = addDisc(column, slot);
+        Metrics.stop(Metrics.PLACE_DISC, start);
+        return row;
+    }
+
+    /**
+     * Takes back the most recent move.
+     * The move stays in the history and can be replayed with {@link #redoMove()}
+     * until a new disc is placed.
+     * 
+     * @return The column of the removed disc, or -1 if there is no move to take back
+     */
+    public int undoMove() {
+        if (moveCount == 0) {
+            return -1;
         }
 
-        return -1; // This should never happen if isValidMove is called first
+        int entry = history[moveCount - 1];
+        int column = entry >>> 1;
+        removeDisc(column, entry & 1);
+        return column;
+    }
+
+    /**
+     * Replays the most recently undone move.
+     * 
+     * @return The column of the replayed disc, or -1 if there is no move to redo
+     */
+    public int redoMove() {
+        if (moveCount == redoLimit) {
+            return -1;
+        }
+
+        int entry = history[moveCount];
+        int column = entry >>> 1;
+        addDisc(column, entry & 1);
+        return column;
+    }
+
+    /**
+     * Gets the column of the most recent move.
+     * 
+     * @return The column of the last placed disc, or -1 if the board is empty
+     */
+    public int getLastMove() {
+        return moveCount == 0 ? -1 : history[moveCount - 1] >>> 1;
+    }
+
+    /**
+     * Gets the columns of all moves on the board, oldest first.
+     * Undone moves are not included.
+     * 
+     * @return A fresh array with one column (0-based) per disc
+     */
+    public byte[] getMoves() {
+        byte[] moves = new byte[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            moves[i] = (byte) (history[i] >>> 1);
+        }
+        return moves;
+    }
+
+    /**
+     * Drops a disc of a slot into a column that is known to have room.
+     * 
+     * @param column The column (0-based index)
+     * @param slot The slot of the disc
+     * @return The row where the disc was placed
+     */
+    private int addDisc(int column, int slot) {
+        int row = heights[column];
+        storage.set(slot, row, column);
+        heights[column] = row + 1;
+        moveCount++;
+        updateKeys(slot, row, column);
+        return row;
+    }
+
+    /**
+     * Lifts the top disc of a slot out of a column.
+     * 
+     * @param column The column (0-based index)
+     * @param slot The slot of the top disc
+     */
+    private void removeDisc(int column, int slot) {
+        int row = heights[column] - 1;
+        storage.clear(slot, row, column);
+        heights[column] = row;
+        moveCount--;
+        updateKeys(slot, row, column);
+    }
+
+    /**
+     * Toggles a disc in the position key and the mirrored position key.
+     * 
+     * @param slot The slot of the disc
+     * @param row The row of the disc
+     * @param column The column of the disc
+     */
+    private void updateKeys(int slot, int row, int column) {
+        positionKey ^= zobrist[slot][column * rows + row];
+        mirroredKey ^= zobrist[slot][(columns - 1 - column) * rows + row];
     }
 
     /**
@@ -73,8 +231,11 @@ public class GameBoard {
      * @return The symbol at the position, or EMPTY_CELL if the position is empty
      */
     public char getSymbolAt(int row, int column) {
-        if (row >= 0 && row < ROWS && column >= 0 && column < COLUMNS) {
-            return grid[row][column];
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            int slot = storage.slotAt(row, column);
+            if (slot >= 0) {
+                return symbols[slot];
+            }
         }
         return EMPTY_CELL;
     }
@@ -85,29 +246,305 @@ public class GameBoard {
      * @return true if the board is full, false otherwise
      */
     public boolean isFull() {
-        for (int col = 0; col < COLUMNS; col++) {
-            if (grid[ROWS - 1][col] == EMPTY_CELL) {
-                return false;
+        return moveCount == rows * columns;
+    }
+
+    /**
+     * Gets the number of columns of the board.
+     * 
+     * @return The number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of rows of the board.
+     * 
+     * @return The number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of connected discs needed to win.
+     * 
+     * @return The win length
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Checks if the board has the standard 7x6 size and win length 4.
+     * Some engines rely on the standard bit layout and only support this board.
+     * 
+     * @return true for a standard board
+     */
+    public boolean isStandard() {
+        return columns == COLUMNS && rows == ROWS && winLength == WIN_LENGTH;
+    }
+
+    /**
+     * Gets the number of discs placed on the board.
+     * 
+     * @return The number of discs on the board
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the number of discs in a column.
+     * 
+     * @param column The column (0-based index)
+     * @return The height of the column
+     */
+    public int getHeight(int column) {
+        return heights[column];
+    }
+
+    /**
+     * Gets the Zobrist key of the current position.
+     * The key is 0 for the empty board and identical for equal positions, regardless of move order.
+     * 
+     * @return The 64-bit position key
+     */
+    public long getPositionKey() {
+        return positionKey;
+    }
+
+    /**
+     * Gets the Zobrist key of the left-right mirror image of the current position.
+     * 
+     * @return The 64-bit key of the mirrored position
+     */
+    public long getMirroredKey() {
+        return mirroredKey;
+    }
+
+    /**
+     * Gets a key that is identical for a position and its left-right mirror image.
+     * Mirrored positions have the same game value, so caches can share their entries.
+     * 
+     * @return The smaller of the position key and the mirrored key
+     */
+    public long getCanonicalKey() {
+        return Math.min(positionKey, mirroredKey);
+    }
+
+    /**
+     * Gets a collision-free code of the current position, usable as an exact identity.
+     * Each column holds its discs of slot 0 plus a marker bit above its top disc.
+     * 
+     * @return The exact position code
+     */
+    long getPositionCode() {
+        requireStandard();
+        return getDiscs(0) + getOccupied() + Bitboards.BOTTOM_MASK;
+    }
+
+    /**
+     * Gets a collision-free code that is identical for the current position and its left-right
+     * mirror image, see {@link #getPositionCode()}. Mirroring a code mirrors the position, since
+     * no column of a code carries into the next.
+     * 
+     * @return The smaller of the position code and the code of the mirrored position
+     */
+    long getCanonicalPositionCode() {
+        long code = getPositionCode();
+        return Math.min(code, Bitboards.mirror(code));
+    }
+
+    /**
+     * Analyzes the threats of both players in the current position.
+     * 
+     * @return The winning, losing and safe moves of the player to move and the threats of both players
+     * @throws IllegalArgumentException if this is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    public ThreatAnalysis analyzeThreats() {
+        return ThreatAnalysis.of(this);
+    }
+
+    /**
+     * Checks if a disc of a symbol is part of a winning line.
+     * Only the lines through the given cell are inspected, which makes this the cheapest
+     * win check right after the disc was placed.
+     * 
+     * @param row The row of the disc
+     * @param column The column of the disc
+     * @param symbol The player's symbol
+     * @return true if the cell holds a disc of the symbol that is part of a winning line
+     */
+    public boolean completesLine(int row, int column, char symbol) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        int slot = boundSlot(symbol);
+        return slot >= 0 && storage.connects(slot, row, column);
+    }
+
+    /**
+     * Checks if the discs of a symbol form a winning line anywhere on the board.
+     * 
+     * @param symbol The player's symbol
+     * @return true if the symbol has enough connected discs to win
+     */
+    public boolean hasWinningLine(char symbol) {
+        int slot = boundSlot(symbol);
+        return slot >= 0 && storage.hasLine(slot);
+    }
+
+    /**
+     * Gets the bitboard of the discs in a slot.
+     * 
+     * @param slot The slot (0 or 1)
+     * @return The disc mask of the slot
+     * @throws UnsupportedOperationException if the board does not fit into a bitboard
+     */
+    long getDiscs(int slot) {
+        return storage.discs(slot);
+    }
+
+    /**
+     * Gets the bitboard of the discs of a symbol.
+     * 
+     * @param symbol The player's symbol
+     * @return The disc mask of the symbol, or 0 if the symbol has no discs on the board
+     */
+    long getDiscsOf(char symbol) {
+        int slot = boundSlot(symbol);
+        return slot >= 0 ? storage.discs(slot) : 0;
+    }
+
+    /**
+     * Gets the bitboard of all discs on the board.
+     * 
+     * @return The mask of occupied cells
+     */
+    long getOccupied() {
+        return storage.discs(0) | storage.discs(1);
+    }
+
+    /**
+     * Ensures that the board uses the standard size and win length.
+     * 
+     * @throws IllegalArgumentException if the board is not a standard board
+     */
+    void requireStandard() {
+        if (!isStandard()) {
+            throw new IllegalArgumentException("Only the standard " + COLUMNS + "x" + ROWS + " connect-"
+                    + WIN_LENGTH + " board is supported, not " + columns + "x" + rows + " connect-" + winLength);
+        }
+    }
+
+    /**
+     * Gets the slot a symbol is bound to, without binding it.
+     * 
+     * @param symbol The player's symbol
+     * @return The slot of the symbol, or -1 if the symbol has no slot yet
+     */
+    private int boundSlot(char symbol) {
+        if (symbols[0] == symbol) {
+            return 0;
+        }
+        if (symbols[1] == symbol) {
+            return 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot a symbol is stored in, binding it to a free slot on first use.
+     * 
+     * @param symbol The player's symbol
+     * @return The slot of the symbol (0 or 1)
+     * @throws IllegalArgumentException if the symbol is the empty cell or both slots are taken
+     */
+    int slotOf(char symbol) {
+        if (symbols[0] == symbol) {
+            return 0;
+        }
+        if (symbols[1] == symbol) {
+            return 1;
+        }
+        if (symbol == EMPTY_CELL) {
+            throw new IllegalArgumentException("'" + EMPTY_CELL + "' is reserved for empty cells");
+        }
+        if (symbols[0] == EMPTY_CELL) {
+            symbols[0] = symbol;
+            return 0;
+        }
+        if (symbols[1] == EMPTY_CELL) {
+            symbols[1] = symbol;
+            return 1;
+        }
+        throw new IllegalArgumentException("The board already holds discs of '" + symbols[0]
+                + "' and '" + symbols[1] + "', cannot place '" + symbol + "'");
+    }
+
+    /**
+     * Creates the random numbers of the Zobrist keys, one per slot and cell.
+     * The fixed seed keeps keys stable across runs, so they can be stored on disk.
+     * 
+     * @param columns The number of columns
+     * @param rows The number of rows
+     * @return The Zobrist numbers indexed by slot and cell
+     */
+    private static long[][] zobristTable(int columns, int rows) {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        long[][] table = new long[2][rows * columns];
+        for (int slot = 0; slot < 2; slot++) {
+            for (int cell = 0; cell < rows * columns; cell++) {
+                table[slot][cell] = random.nextLong();
             }
         }
-        return true;
+        return table;
     }
 
     /**
      * Prints the current state of the board to the console.
      */
     public void printBoard() {
-        System.out.println("Current board:");
+        printBoard(System.out);
+    }
 
-        for (int row = ROWS - 1; row >= 0; row--) {
-            for (int col = 0; col < COLUMNS; col++) {
-                System.out.print(grid[row][col] + " ");
+    /**
+     * Prints the current state of the board in a single call.
+     * 
+     * @param out The stream to print to
+     */
+    public void printBoard(PrintStream out) {
+        StringBuilder frame = new StringBuilder((rows + 3) * (columns * 2 + 2) + 16);
+        appendTo(frame);
+        out.print(frame);
+    }
+
+    /**
+     * Appends the current state of the board as text, as printed by {@link #printBoard()}.
+     * 
+     * @param frame The builder to append to
+     */
+    public void appendTo(StringBuilder frame) {
+        String lineSeparator = System.lineSeparator();
+        frame.append("Current board:").append(lineSeparator);
+
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int col = 0; col < columns; col++) {
+                frame.append(getSymbolAt(row, col)).append(' ');
             }
-            System.out.println();
+            frame.append(lineSeparator);
         }
 
-        System.out.println("1 2 3 4 5 6 7");
-        System.out.println();
+        for (int col = 1; col <= columns; col++) {
+            frame.append(col);
+            if (col < columns) {
+                frame.append(' ');
+            }
+        }
+        frame.append(lineSeparator).append(lineSeparator);
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.example.connectfour;
+
+import java.util.Arrays;
+
+/**
+ * Plays complete games between two move strategies without any console I/O.
+ * The engine owns a single board that is reused for every game, so playing a game
+ * allocates nothing per move. Instances are not thread-safe.
+ */
+public class GameEngine {
+    public static final char FIRST_SYMBOL = 'X';
+    public static final char SECOND_SYMBOL = 'O';
+
+    private final GameBoard board;
+    private final MoveStrategy firstStrategy;
+    private final MoveStrategy secondStrategy;
+    private final byte[] moves;
+    private final String firstName;
+    private final String secondName;
+
+    /**
+     * Creates a new headless engine playing on the standard board.
+     * 
+     * @param firstStrategy The strategy of the player who moves first
+     * @param secondStrategy The strategy of the player who moves second
+     */
+    public GameEngine(MoveStrategy firstStrategy, MoveStrategy secondStrategy) {
+        this(new GameBoard(), firstStrategy, secondStrategy);
+    }
+
+    /**
+     * Creates a new headless engine playing on the given board.
+     * The board is owned by the engine and is reset before every game.
+     * 
+     * @param board The board to play on, which determines the board size and win length
+     * @param firstStrategy The strategy of the player who moves first
+     * @param secondStrategy The strategy of the player who moves second
+     */
+    public GameEngine(GameBoard board, MoveStrategy firstStrategy, MoveStrategy secondStrategy) {
+        this.board = board;
+        this.firstStrategy = firstStrategy;
+        this.secondStrategy = secondStrategy;
+        this.moves = new byte[board.getRows() * board.getColumns()];
+        // Metrics report move decisions per strategy and color
+        this.firstName = firstStrategy.getClass().getSimpleName() + " (" + FIRST_SYMBOL + ")";
+        this.secondName = secondStrategy.getClass().getSimpleName() + " (" + SECOND_SYMBOL + ")";
+    }
+
+    /**
+     * Plays a game from an empty board until one player wins or the board is full.
+     * 
+     * @return The result of the game
+     * @throws IllegalStateException if a strategy selects an invalid column
+     */
+    public GameResult play() {
+        board.reset();
+
+        long gameStart = Metrics.start();
+        int moveCount = 0;
+        while (true) {
+            boolean firstToMove = (moveCount & 1) == 0;
+            char symbol = firstToMove ? FIRST_SYMBOL : SECOND_SYMBOL;
+            MoveStrategy strategy = firstToMove ? firstStrategy : secondStrategy;
+
+            long decisionStart = Metrics.start();
+            int column = strategy.selectColumn(board, symbol);
+            Metrics.stopMoveDecision(firstToMove ? firstName : secondName, column, decisionStart);
+            int row = board.placeDisc(column, symbol);
+            if (row < 0) {
+                throw new IllegalStateException("Strategy selected invalid column " + column);
+            }
+            moves[moveCount++] = (byte) column;
+
+            if (board.completesLine(row, column, symbol)) {
+                Metrics.stopGame(firstToMove ? firstName : secondName, moveCount, gameStart);
+                return new GameResult(firstToMove ? 0 : 1, moveCount, Arrays.copyOf(moves, moveCount));
+            }
+            if (board.isFull()) {
+                Metrics.stopGame(null, moveCount, gameStart);
+                return new GameResult(GameResult.DRAW, moveCount, Arrays.copyOf(moves, moveCount));
+            }
+        }
+    }
+}
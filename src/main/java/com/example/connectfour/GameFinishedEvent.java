@@ -0,0 +1,27 @@
+package com.example.connectfour;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a finished game.
+ */
+@Name("connectfour.GameFinished")
+@Label("Game Finished")
+@Category("Connect Four")
+@Description("A game ended with a win or a draw")
+final class GameFinishedEvent extends jdk.jfr.Event {
+    @Label("Winner")
+    @Description("The name of the winner, or null for a draw")
+    String winner;
+
+    @Label("Moves")
+    int moveCount;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long durationNanos;
+}
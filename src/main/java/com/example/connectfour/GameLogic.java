@@ -1,6 +1,9 @@
 package com.example.connectfour;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.function.Consumer;
 
 /**
  * Controls the game flow and logic for Connect Four.
@@ -11,8 +14,11 @@ public class GameLogic {
     private final Player player1;
     private final Player player2;
     private Player currentPlayer;
-    private final Scanner scanner;
+    private final MoveSource moveSource;
+    private final Renderer renderer;
     private final GameStats gameStats;
+    private final GameStatsStore statsStore;
+    private Consumer<GameResult> resultListener;
 
     /**
      * Creates a new game logic controller.
@@ -22,12 +28,68 @@ public class GameLogic {
      * @param player2 The second player
      */
     public GameLogic(GameBoard board, Player player1, Player player2) {
+        this(board, player1, player2, null);
+    }
+
+    /**
+     * Creates a new game logic controller that also saves every finished game.
+     * 
+     * @param board The game board
+     * @param player1 The first player
+     * @param player2 The second player
+     * @param statsStore The store to append the results to, or null to keep them in memory only
+     */
+    public GameLogic(GameBoard board, Player player1, Player player2, GameStatsStore statsStore) {
+        this(board, player1, player2, statsStore, System.in, System.out);
+    }
+
+    /**
+     * Creates a new game logic controller that talks to the players over the given streams,
+     * so that several games can run side by side.
+     * 
+     * @param board The game board
+     * @param player1 The first player
+     * @param player2 The second player
+     * @param statsStore The store to append the results to, or null to keep them in memory only
+     * @param in The stream to read the players' input from
+     * @param out The stream to write the board and messages to
+     */
+    public GameLogic(GameBoard board, Player player1, Player player2, GameStatsStore statsStore,
+            InputStream in, PrintStream out) {
+        this(board, player1, player2, statsStore, new ScannerMoveSource(in), new BufferedRenderer(out));
+    }
+
+    /**
+     * Creates a new game logic controller that takes the players' input from a move source
+     * and shows the game through a renderer, for scripted replays and front ends other than the console.
+     * 
+     * @param board The game board
+     * @param player1 The first player
+     * @param player2 The second player
+     * @param statsStore The store to append the results to, or null to keep them in memory only
+     * @param moveSource The source of the human players' input; closed when the game ends
+     * @param renderer The renderer that shows the board and messages
+     */
+    public GameLogic(GameBoard board, Player player1, Player player2, GameStatsStore statsStore,
+            MoveSource moveSource, Renderer renderer) {
         this.board = board;
         this.player1 = player1;
         this.player2 = player2;
         this.currentPlayer = player1;
-        this.scanner = new Scanner(System.in);
+        this.moveSource = moveSource;
+        this.renderer = renderer;
         this.gameStats = new GameStats();
+        this.statsStore = statsStore;
+    }
+
+    /**
+     * Sets a listener that receives every finished game with its moves, e.g. to archive games for
+     * a later replay. Taken-back moves are not part of the recorded moves.
+     * 
+     * @param resultListener The listener, or null to record nothing
+     */
+    public void setResultListener(Consumer<GameResult> resultListener) {
+        this.resultListener = resultListener;
     }
 
     /**
@@ -43,25 +105,34 @@ public class GameLogic {
 
             currentPlayer = player1;
 
-            board.printBoard();
+            renderer.showBoard(board);
 
+            long gameStart = Metrics.start();
             boolean gameOver = false;
 
             while (!gameOver) {
+                long decisionStart = Metrics.start();
                 int column = getPlayerMove();
+                Metrics.stopMoveDecision(currentPlayer.name(), column, decisionStart);
 
                 int row = board.placeDisc(column, currentPlayer.symbol());
 
-                board.printBoard();
+                renderer.showBoard(board);
 
                 if (checkWin(row, column)) {
-                    System.out.println(currentPlayer.name() + " wins!");
+                    renderer.showMessage(currentPlayer.name() + " wins!");
                     gameStats.recordWin(currentPlayer.name());
+                    saveResult(currentPlayer == player1 ? 0 : 1);
+                    publishResult(currentPlayer == player1 ? 0 : 1);
+                    Metrics.stopGame(currentPlayer.name(), board.getMoveCount(), gameStart);
                     gameOver = true;
                 } 
                 else if (board.isFull()) {
-                    System.out.println("The game is a draw!");
+                    renderer.showMessage("The game is a draw!");
                     gameStats.recordDraw();
+                    saveResult(GameResult.DRAW);
+                    publishResult(GameResult.DRAW);
+                    Metrics.stopGame(null, board.getMoveCount(), gameStart);
                     gameOver = true;
                 } 
                 else {
@@ -69,12 +140,41 @@ public class GameLogic {
                 }
             }
 
-            gameStats.printStats();
+            renderer.showStats(gameStats);
 
             playAgain = askPlayAgain();
         }
 
-        scanner.close();
+        renderer.flush();
+        moveSource.close();
+    }
+
+    /**
+     * Appends the result of the finished game to the stats store, if there is one.
+     * A failure to save is reported but does not end the game.
+     * 
+     * @param winner 0 if player 1 won, 1 if player 2 won, or {@link GameResult#DRAW}
+     */
+    private void saveResult(int winner) {
+        if (statsStore == null) {
+            return;
+        }
+        try {
+            statsStore.recordGame(player1.name(), player2.name(), winner, board.getMoveCount());
+        } catch (IOException e) {
+            renderer.showMessage("Could not save the game result: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hands the finished game to the result listener, if there is one.
+     * 
+     * @param winner 0 if player 1 won, 1 if player 2 won, or {@link GameResult#DRAW}
+     */
+    private void publishResult(int winner) {
+        if (resultListener != null) {
+            resultListener.accept(new GameResult(winner, board.getMoveCount(), board.getMoves()));
+        }
     }
 
     /**
@@ -83,36 +183,39 @@ public class GameLogic {
      * @return true if players want to play again, false otherwise
      */
     private boolean askPlayAgain() {
-        System.out.println("Do you want to play again? (y/n):");
+        renderer.showMessage("Do you want to play again? (y/n):");
 
         while (true) {
-            String input = scanner.nextLine().trim().toLowerCase();
+            String input = readLine().trim().toLowerCase();
 
             if (input.equals("y") || input.equals("yes")) {
                 return true;
             } else if (input.equals("n") || input.equals("no")) {
-                System.out.println("Thanks for playing!");
+                renderer.showMessage("Thanks for playing!");
                 return false;
             } else {
-                System.out.println("Invalid input. Please enter 'y' for yes or 'n' for no:");
+                renderer.showMessage("Invalid input. Please enter 'y' for yes or 'n' for no:");
             }
         }
     }
 
+    /**
+     * Shows everything rendered so far and waits for the next line of input.
+     * 
+     * @return The next line from the move source
+     */
+    private String readLine() {
+        renderer.flush();
+        return moveSource.nextLine();
+    }
+
     /**
      * Checks if the board has any discs placed.
      * 
      * @return true if there are any discs on the board, false if the board is empty
      */
     private boolean hasDiscs() {
-        for (int row = 0; row < GameBoard.ROWS; row++) {
-            for (int col = 0; col < GameBoard.COLUMNS; col++) {
-                if (board.getSymbolAt(row, col) != '.') {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return board.getMoveCount() > 0;
     }
 
     /**
@@ -121,163 +224,136 @@ public class GameLogic {
      * @return The selected column (0-based index)
      */
     private int getPlayerMove() {
+        if (currentPlayer.isComputer()) {
+            return getComputerMove();
+        }
+
         int column = -1;
         boolean validInput = false;
 
-        while (!validInput) {
-            System.out.println(currentPlayer.name() + " (" + currentPlayer.symbol() + "), choose a column (1-7):");
-
-            try {
-                String input = scanner.nextLine().trim();
-                int userColumn = Integer.parseInt(input);
-
-                // Convert from 1-based (user input) to 0-based (internal representation)
-                column = userColumn - 1;
-
-                if (board.isValidMove(column)) {
-                    validInput = true;
-                } else {
-                    System.out.println("Invalid move. The column is either full or out of bounds. Please try again.");
+        // A computer opponent may think on the human player's time
+        startOpponentPondering();
+        try {
+            while (!validInput) {
+                renderer.showMessage(currentPlayer.name() + " (" + currentPlayer.symbol()
+                        + "), choose a column (1-" + board.getColumns() + ") or 'u' to take back a move:");
+
+                try {
+                    String input = readLine().trim();
+
+                    if (input.equalsIgnoreCase("u")) {
+                        stopOpponentPondering();
+                        takeBack();
+                        startOpponentPondering();
+                        continue;
+                    }
+
+                    int userColumn = Integer.parseInt(input);
+
+                    // Convert from 1-based (user input) to 0-based (internal representation)
+                    column = userColumn - 1;
+
+                    if (board.isValidMove(column)) {
+                        validInput = true;
+                    } else {
+                        renderer.showMessage("Invalid move. The column is either full or out of bounds. Please try again.");
+                    }
+                } catch (NumberFormatException e) {
+                    renderer.showMessage("Invalid input. Please enter a number between 1 and " + board.getColumns() + ".");
                 }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Please enter a number between 1 and 7.");
             }
+        } finally {
+            stopOpponentPondering();
         }
 
         return column;
     }
 
     /**
-     * Switches the current player.
+     * Lets the current player's opponent start pondering, if it is a computer player.
      */
-    private void switchPlayer() {
-        currentPlayer = (currentPlayer == player1) ? player2 : player1;
+    private void startOpponentPondering() {
+        Player opponent = (currentPlayer == player1) ? player2 : player1;
+        if (opponent.isComputer()) {
+            opponent.strategy().startPondering(board, opponent.symbol());
+        }
     }
 
     /**
-     * Checks if the current player has won after placing a disc.
-     * 
-     * @param row The row where the disc was placed
-     * @param column The column where the disc was placed
-     * @return true if the current player has won, false otherwise
+     * Stops the pondering of the current player's opponent, if it is a computer player.
      */
-    private boolean checkWin(int row, int column) {
-        char symbol = currentPlayer.symbol();
-
-        if (checkHorizontal(row, symbol)) {
-            return true;
+    private void stopOpponentPondering() {
+        Player opponent = (currentPlayer == player1) ? player2 : player1;
+        if (opponent.isComputer()) {
+            opponent.strategy().stopPondering();
         }
-
-        if (checkVertical(column, symbol)) {
-            return true;
-        }
-
-        return checkDiagonal(row, column, symbol);
     }
 
     /**
-     * Checks for a horizontal win.
-     * 
-     * @param row The row to check
-     * @param symbol The player's symbol
-     * @return true if there are 4 connected symbols horizontally
+     * Takes back the last move of the current player's opponent, so the opponent can move again.
+     * Against a computer opponent, the computer's reply is taken back as well,
+     * so that the human player gets to replace their own last move.
      */
-    private boolean checkHorizontal(int row, char symbol) {
-        int count = 0;
-
-        for (int col = 0; col < GameBoard.COLUMNS; col++) {
-            if (board.getSymbolAt(row, col) == symbol) {
-                count++;
-                if (count >= 4) {
-                    return true;
-                }
-            } else {
-                count = 0;
-            }
+    private void takeBack() {
+        Player opponent = (currentPlayer == player1) ? player2 : player1;
+        int moves = opponent.isComputer() ? 2 : 1;
+
+        if (board.getMoveCount() < moves) {
+            renderer.showMessage("There is no move to take back.");
+            return;
+        }
+
+        for (int i = 0; i < moves; i++) {
+            board.undoMove();
+            switchPlayer();
         }
 
-        return false;
+        renderer.showMessage("Move taken back.");
+        renderer.showBoard(board);
     }
 
     /**
-     * Checks for a vertical win.
+     * Lets the current player's strategy choose a move and reports how it was found.
      * 
-     * @param column The column to check
-     * @param symbol The player's symbol
-     * @return true if there are 4 connected symbols vertically
+     * @return The selected column (0-based index)
+     * @throws IllegalStateException if the strategy selects an invalid column
      */
-    private boolean checkVertical(int column, char symbol) {
-        int count = 0;
-
-        for (int row = 0; row < GameBoard.ROWS; row++) {
-            if (board.getSymbolAt(row, column) == symbol) {
-                count++;
-                if (count >= 4) {
-                    return true;
-                }
-            } else {
-                count = 0;
-            }
+    private int getComputerMove() {
+        // Show the opponent's move before the computer starts thinking
+        renderer.flush();
+        MoveStrategy strategy = currentPlayer.strategy();
+        int column = strategy.selectColumn(board, currentPlayer.symbol());
+
+        if (!board.isValidMove(column)) {
+            throw new IllegalStateException(currentPlayer.name() + " selected invalid column " + column);
         }
 
-        return false;
+        String details = strategy.describeLastMove();
+        renderer.showMessage(currentPlayer.name() + " (" + currentPlayer.symbol() + ") plays column " + (column + 1)
+                + (details == null ? "" : " [" + details + "]"));
+
+        return column;
     }
 
     /**
-     * Checks for a diagonal win (both directions).
-     * 
-     * @param row The row where the disc was placed
-     * @param column The column where the disc was placed
-     * @param symbol The player's symbol
-     * @return true if there are 4 connected symbols diagonally
+     * Switches the current player.
      */
-    private boolean checkDiagonal(int row, int column, char symbol) {
-        // Check diagonal (bottom-left to top-right)
-        if (checkDiagonalDirection(row, column, -1, 1, symbol) || 
-            checkDiagonalDirection(row, column, 1, -1, symbol)) {
-            return true;
-        }
-
-        // Check diagonal (bottom-right to top-left)
-        return checkDiagonalDirection(row, column, -1, -1, symbol) || 
-               checkDiagonalDirection(row, column, 1, 1, symbol);
+    private void switchPlayer() {
+        currentPlayer = (currentPlayer == player1) ? player2 : player1;
     }
 
     /**
-     * Checks for a win in a specific diagonal direction.
+     * Checks if the current player has won after placing a disc.
+     * Only the four lines through the placed disc can have changed, so only those are inspected.
      * 
-     * @param row The starting row
-     * @param column The starting column
-     * @param rowDelta The row direction (-1, 0, or 1)
-     * @param colDelta The column direction (-1, 0, or 1)
-     * @param symbol The player's symbol
-     * @return true if there are 4 connected symbols in the specified direction
+     * @param row The row where the disc was placed
+     * @param column The column where the disc was placed
+     * @return true if the current player has won, false otherwise
      */
-    private boolean checkDiagonalDirection(int row, int column, int rowDelta, int colDelta, char symbol) {
-        int count = 1; // Start with 1 for the current position
-
-        // Check in one direction
-        int r = row + rowDelta;
-        int c = column + colDelta;
-
-        while (r >= 0 && r < GameBoard.ROWS && c >= 0 && c < GameBoard.COLUMNS && 
-               board.getSymbolAt(r, c) == symbol) {
-            count++;
-            r += rowDelta;
-            c += colDelta;
-        }
-
-        // Check in the opposite direction
-        r = row - rowDelta;
-        c = column - colDelta;
-
-        while (r >= 0 && r < GameBoard.ROWS && c >= 0 && c < GameBoard.COLUMNS && 
-               board.getSymbolAt(r, c) == symbol) {
-            count++;
-            r -= rowDelta;
-            c -= colDelta;
-        }
-
-        return count >= 4;
+    private boolean checkWin(int row, int column) {
+        long start = Metrics.start();
+        boolean won = board.completesLine(row, column, currentPlayer.symbol());
+        Metrics.stop(Metrics.CHECK_WIN, start);
+        return won;
     }
 }
@@ -0,0 +1,21 @@
+package com.example.connectfour;
+
+/**
+ * The outcome of a single headless game.
+ * 
+ * @param winner The index of the winning player (0 for the first, 1 for the second) or {@link #DRAW}
+ * @param moveCount The number of discs placed during the game
+ * @param moves The columns played in order (0-based), one entry per move
+ */
+public record GameResult(int winner, int moveCount, byte[] moves) {
+    public static final int DRAW = -1;
+
+    /**
+     * Checks if the game ended without a winner.
+     * 
+     * @return true if the game was a draw
+     */
+    public boolean isDraw() {
+        return winner == DRAW;
+    }
+}
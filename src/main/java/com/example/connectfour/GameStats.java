@@ -1,11 +1,15 @@
 package com.example.connectfour;
 
+import java.io.PrintStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Tracks game statistics for Connect Four.
  * This includes wins for each player and the number of draws.
+ * Instances are not thread-safe; threads that record concurrently should share a
+ * {@link ConcurrentGameStats} instead.
  */
 public class GameStats {
     private final Map<String, Integer> playerWins;
@@ -27,34 +31,132 @@ public class GameStats {
      * @param playerName The name of the player who won
      */
     public void recordWin(String playerName) {
+        long start = Metrics.start();
         playerWins.put(playerName, playerWins.getOrDefault(playerName, 0) + 1);
         gamesPlayed++;
+        Metrics.stop(Metrics.STATS_UPDATE, start);
     }
     
     /**
      * Records a draw.
      */
     public void recordDraw() {
+        long start = Metrics.start();
         draws++;
         gamesPlayed++;
+        Metrics.stop(Metrics.STATS_UPDATE, start);
+    }
+
+    /**
+     * Records several wins for the specified player at once.
+     * 
+     * @param playerName The name of the player who won
+     * @param wins The number of wins to add
+     */
+    void recordWins(String playerName, int wins) {
+        if (wins > 0) {
+            playerWins.merge(playerName, wins, Integer::sum);
+            gamesPlayed += wins;
+        }
+    }
+
+    /**
+     * Records several draws at once.
+     * 
+     * @param draws The number of draws to add
+     */
+    void recordDraws(int draws) {
+        this.draws += draws;
+        gamesPlayed += draws;
+    }
+
+    /**
+     * Adds all results recorded in another statistics tracker to this one.
+     * 
+     * @param other The statistics to merge into this tracker
+     */
+    public void merge(GameStats other) {
+        for (Map.Entry<String, Integer> entry : other.playerWins.entrySet()) {
+            playerWins.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        draws += other.draws;
+        gamesPlayed += other.gamesPlayed;
+    }
+
+    /**
+     * Gets the number of wins recorded for a player.
+     * 
+     * @param playerName The name of the player
+     * @return The number of wins, or 0 if the player has not won yet
+     */
+    public int getWins(String playerName) {
+        return playerWins.getOrDefault(playerName, 0);
+    }
+
+    /**
+     * Gets the wins of all players.
+     * 
+     * @return An unmodifiable view of the wins per player name
+     */
+    Map<String, Integer> getAllWins() {
+        return Collections.unmodifiableMap(playerWins);
+    }
+
+    /**
+     * Gets the number of draws recorded.
+     * 
+     * @return The number of draws
+     */
+    public int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Gets the total number of games recorded.
+     * 
+     * @return The number of games played
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
     }
 
     /**
      * Prints the current game statistics to the console.
      */
     public void printStats() {
-        System.out.println("\n===== Game Statistics =====");
-        System.out.println("Total games played: " + gamesPlayed);
-        System.out.println("Draws: " + draws);
-        
-        System.out.println("\nPlayer wins:");
+        printStats(System.out);
+    }
+
+    /**
+     * Prints the current game statistics in a single call.
+     * 
+     * @param out The stream to print to
+     */
+    public void printStats(PrintStream out) {
+        StringBuilder text = new StringBuilder(256);
+        appendTo(text);
+        out.print(text);
+    }
+
+    /**
+     * Appends the current game statistics as text, as printed by {@link #printStats()}.
+     * 
+     * @param text The builder to append to
+     */
+    public void appendTo(StringBuilder text) {
+        String lineSeparator = System.lineSeparator();
+        text.append(lineSeparator).append("===== Game Statistics =====").append(lineSeparator);
+        text.append("Total games played: ").append(gamesPlayed).append(lineSeparator);
+        text.append("Draws: ").append(draws).append(lineSeparator);
+
+        text.append(lineSeparator).append("Player wins:").append(lineSeparator);
         if (playerWins.isEmpty()) {
-            System.out.println("No wins recorded yet.");
+            text.append("No wins recorded yet.").append(lineSeparator);
         } else {
             for (Map.Entry<String, Integer> entry : playerWins.entrySet()) {
-                System.out.println(entry.getKey() + ": " + entry.getValue());
+                text.append(entry.getKey()).append(": ").append(entry.getValue()).append(lineSeparator);
             }
         }
-        System.out.println("===========================\n");
+        text.append("===========================").append(lineSeparator).append(lineSeparator);
     }
 }
\ No newline at end of file
@@ -0,0 +1,427 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps game results in an append-only binary log file and aggregates them in memory.
+ * <p>
+ * The log starts with a magic number and a format version, followed by two kinds of records:
+ * a player record ('P', name length as a short, UTF-8 name) introduces a player name and assigns
+ * it the next player ID, and a game record ('G', both player IDs as ints, outcome byte, move count
+ * as an unsigned short, timestamp in epoch milliseconds) stores one finished game. Records are collected in a
+ * direct buffer and written when it is full; the file is forced to disk every few games and on
+ * {@link #flush()} and {@link #close()}.
+ * <p>
+ * Opening a store streams the whole log once and rebuilds per-player counters, kept in arrays
+ * indexed by player ID. The ranking of the players by wins is built once the log is read and kept
+ * up to date afterwards, so queries never read the log again.
+ * An incomplete record at the end of the log, left by a crash, is cut off. Instances are not
+ * thread-safe.
+ */
+public class GameStatsStore implements Closeable {
+    static final int MAGIC = 0x43344753;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final byte PLAYER_RECORD = 'P';
+    static final byte GAME_RECORD = 'G';
+    static final int GAME_RECORD_BYTES = 20;
+    static final int MAX_MOVES = GameBoard.MAX_DIMENSION * GameBoard.MAX_DIMENSION;
+    static final int DEFAULT_SYNC_INTERVAL = 64;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    /** The longest name whose player record fits the write buffer. */
+    static final int MAX_NAME_BYTES = BUFFER_BYTES - 1 - Short.BYTES;
+    private static final int READ_BUFFER_BYTES = 1 << 17;
+    private static final byte FIRST_WINS = 0;
+    private static final byte SECOND_WINS = 1;
+    private static final byte DRAW = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final int syncInterval;
+    private int unsyncedGames;
+
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private int[] wins = new int[16];
+    private int[] losses = new int[16];
+    private int[] draws = new int[16];
+    private final TreeSet<Integer> ranking = new TreeSet<>(
+            (a, b) -> wins[a] != wins[b] ? Integer.compare(wins[b], wins[a]) : Integer.compare(a, b));
+    private boolean ranked;
+    private long gamesPlayed;
+    private long totalDraws;
+    private long totalMoves;
+
+    private GameStatsStore(Path path, FileChannel channel, int syncInterval) {
+        this.path = path;
+        this.channel = channel;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Opens a store with the default sync interval, creating the log file if it does not exist.
+     * 
+     * @param path The log file
+     * @return The opened store
+     * @throws IOException if the file cannot be read or written, or is not a game log
+     */
+    public static GameStatsStore open(Path path) throws IOException {
+        return open(path, DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Opens a store, creating the log file if it does not exist.
+     * 
+     * @param path The log file
+     * @param syncInterval The number of recorded games after which the log is forced to disk
+     * @return The opened store
+     * @throws IOException if the file cannot be read or written, or is not a game log
+     */
+    public static GameStatsStore open(Path path, int syncInterval) throws IOException {
+        if (syncInterval < 1) {
+            throw new IllegalArgumentException("Sync interval must be at least 1, was " + syncInterval);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        GameStatsStore store = new GameStatsStore(path, channel, syncInterval);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Appends a finished game to the log and updates the counters.
+     * 
+     * @param firstName The name of the player who moved first
+     * @param secondName The name of the player who moved second
+     * @param winner 0 if the first player won, 1 if the second player won, or {@link GameResult#DRAW}
+     * @param moveCount The number of discs played, at most {@value #MAX_MOVES}
+     * @throws IOException if the log cannot be written
+     */
+    public void recordGame(String firstName, String secondName, int winner, int moveCount) throws IOException {
+        if (winner != 0 && winner != 1 && winner != GameResult.DRAW) {
+            throw new IllegalArgumentException("Winner must be 0, 1 or " + GameResult.DRAW + ", was " + winner);
+        }
+        if (moveCount < 0 || moveCount > MAX_MOVES) {
+            throw new IllegalArgumentException("A game has 0 to " + MAX_MOVES + " moves, not " + moveCount);
+        }
+        int first = playerId(firstName);
+        int second = playerId(secondName);
+        byte outcome = winner == GameResult.DRAW ? DRAW : winner == 0 ? FIRST_WINS : SECOND_WINS;
+
+        ensureRoom(GAME_RECORD_BYTES);
+        buffer.put(GAME_RECORD).putInt(first).putInt(second).put(outcome).putShort((short) moveCount)
+                .putLong(System.currentTimeMillis());
+        count(first, second, outcome, moveCount);
+
+        if (++unsyncedGames >= syncInterval) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends a finished headless game to the log and updates the counters.
+     * 
+     * @param firstName The name of the player who moved first
+     * @param secondName The name of the player who moved second
+     * @param result The result of the game
+     * @throws IOException if the log cannot be written
+     */
+    public void recordGame(String firstName, String secondName, GameResult result) throws IOException {
+        recordGame(firstName, secondName, result.winner(), result.moveCount());
+    }
+
+    /**
+     * Writes all buffered records and forces the log to disk.
+     * 
+     * @throws IOException if the log cannot be written
+     */
+    public void flush() throws IOException {
+        drain();
+        channel.force(false);
+        unsyncedGames = 0;
+    }
+
+    /**
+     * Flushes the log and closes the file.
+     * 
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the number of wins of a player.
+     * 
+     * @param playerName The name of the player
+     * @return The number of wins, or 0 for unknown players
+     */
+    public int getWins(String playerName) {
+        Integer id = playerIds.get(playerName);
+        return id == null ? 0 : wins[id];
+    }
+
+    /**
+     * Gets the number of losses of a player.
+     * 
+     * @param playerName The name of the player
+     * @return The number of losses, or 0 for unknown players
+     */
+    public int getLosses(String playerName) {
+        Integer id = playerIds.get(playerName);
+        return id == null ? 0 : losses[id];
+    }
+
+    /**
+     * Gets the number of drawn games of a player.
+     * 
+     * @param playerName The name of the player
+     * @return The number of draws, or 0 for unknown players
+     */
+    public int getDraws(String playerName) {
+        Integer id = playerIds.get(playerName);
+        return id == null ? 0 : draws[id];
+    }
+
+    /**
+     * Gets the total number of drawn games.
+     * 
+     * @return The number of draws
+     */
+    public long getDraws() {
+        return totalDraws;
+    }
+
+    /**
+     * Gets the total number of recorded games.
+     * 
+     * @return The number of games played
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the total number of discs played in all recorded games.
+     * 
+     * @return The number of moves
+     */
+    public long getMovesPlayed() {
+        return totalMoves;
+    }
+
+    /**
+     * Gets the players with the most wins. Players with equal wins are ordered by their first appearance.
+     * 
+     * @param count The maximum number of players to return
+     * @return The player names, most wins first
+     */
+    public List<String> getTopPlayers(int count) {
+        List<String> top = new ArrayList<>(Math.min(count, ranking.size()));
+        Iterator<Integer> players = ranking.iterator();
+        while (top.size() < count && players.hasNext()) {
+            top.add(names.get(players.next()));
+        }
+        return top;
+    }
+
+    /**
+     * Copies the win and draw counts into a {@link GameStats}, e.g. to print them.
+     * 
+     * @return New statistics holding all recorded games
+     */
+    public GameStats toGameStats() {
+        GameStats stats = new GameStats();
+        for (int id = 0; id < names.size(); id++) {
+            stats.recordWins(names.get(id), wins[id]);
+        }
+        stats.recordDraws(Math.toIntExact(totalDraws));
+        return stats;
+    }
+
+    /**
+     * Streams the log, rebuilds the counters and positions the channel at the end of the last complete record.
+     */
+    private void load() throws IOException {
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC).putInt(VERSION);
+            drain();
+            ranked = true;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a game log: " + path);
+        }
+        if (header.getInt() != VERSION) {
+            throw new IOException("Unsupported game log version: " + path);
+        }
+
+        // The input always starts at the first record that has not been read completely
+        ByteBuffer input = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        long complete = HEADER_BYTES;
+        int read;
+        do {
+            read = channel.read(input, complete + input.position());
+            input.flip();
+            while (input.hasRemaining()) {
+                int start = input.position();
+                if (!readRecord(input)) {
+                    input.position(start);
+                    break;
+                }
+                complete += input.position() - start;
+            }
+            input.compact();
+        } while (read >= 0);
+
+        if (complete < channel.size()) {
+            // Cut off the incomplete record a crash left behind
+            channel.truncate(complete);
+        }
+        channel.position(complete);
+
+        for (int id = 0; id < names.size(); id++) {
+            ranking.add(id);
+        }
+        ranked = true;
+    }
+
+    /**
+     * Reads one record from the buffer and applies it to the counters.
+     * 
+     * @return false if the buffer does not hold the complete record
+     * @throws IOException if the record type is unknown
+     */
+    private boolean readRecord(ByteBuffer input) throws IOException {
+        byte type = input.get();
+        if (type == GAME_RECORD) {
+            if (input.remaining() < GAME_RECORD_BYTES - 1) {
+                return false;
+            }
+            int first = input.getInt();
+            int second = input.getInt();
+            byte outcome = input.get();
+            int moveCount = input.getShort() & 0xFFFF;
+            input.getLong();
+            if (first >= names.size() || second >= names.size() || outcome < FIRST_WINS || outcome > DRAW
+                    || moveCount > MAX_MOVES) {
+                throw new IOException("Corrupt game record in " + path);
+            }
+            count(first, second, outcome, moveCount);
+            return true;
+        }
+        if (type == PLAYER_RECORD) {
+            if (input.remaining() < Short.BYTES) {
+                return false;
+            }
+            int length = input.getShort() & 0xFFFF;
+            if (input.remaining() < length) {
+                return false;
+            }
+            byte[] name = new byte[length];
+            input.get(name);
+            addPlayer(new String(name, StandardCharsets.UTF_8));
+            return true;
+        }
+        throw new IOException("Unknown record type " + type + " in " + path);
+    }
+
+    /**
+     * Gets the ID of a player, appending a player record for new names.
+     */
+    private int playerId(String name) throws IOException {
+        Integer id = playerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long: " + bytes.length + " bytes");
+        }
+        ensureRoom(1 + Short.BYTES + bytes.length);
+        buffer.put(PLAYER_RECORD).putShort((short) bytes.length).put(bytes);
+        return addPlayer(name);
+    }
+
+    private int addPlayer(String name) {
+        int id = names.size();
+        names.add(name);
+        playerIds.put(name, id);
+        if (id == wins.length) {
+            wins = Arrays.copyOf(wins, id * 2);
+            losses = Arrays.copyOf(losses, id * 2);
+            draws = Arrays.copyOf(draws, id * 2);
+        }
+        if (ranked) {
+            ranking.add(id);
+        }
+        return id;
+    }
+
+    private void count(int first, int second, byte outcome, int moveCount) {
+        gamesPlayed++;
+        totalMoves += moveCount;
+        if (outcome == DRAW) {
+            totalDraws++;
+            draws[first]++;
+            draws[second]++;
+            return;
+        }
+        int winner = outcome == FIRST_WINS ? first : second;
+        int loser = outcome == FIRST_WINS ? second : first;
+        if (ranked) {
+            // The ranking orders by wins, so the winner has to leave it while its wins change
+            ranking.remove(winner);
+            wins[winner]++;
+            ranking.add(winner);
+        } else {
+            wins[winner]++;
+        }
+        losses[loser]++;
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.connectfour;
+
+import java.util.Arrays;
+
+/**
+ * Stores the discs in a flat array with one byte per cell.
+ * Used as the fallback for boards that are too large for a 64-bit bitboard.
+ */
+final class GridStorage implements BoardStorage {
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int columns;
+    private final int rows;
+    private final int winLength;
+    private final byte[] cells;
+
+    /**
+     * Creates an empty grid storage.
+     * 
+     * @param columns The number of columns
+     * @param rows The number of rows
+     * @param winLength The number of connected discs needed to win
+     */
+    GridStorage(int columns, int rows, int winLength) {
+        this.columns = columns;
+        this.rows = rows;
+        this.winLength = winLength;
+        this.cells = new byte[columns * rows];
+    }
+
+    @Override
+    public void set(int slot, int row, int column) {
+        cells[row * columns + column] = (byte) (slot + 1);
+    }
+
+    @Override
+    public void clear(int slot, int row, int column) {
+        cells[row * columns + column] = 0;
+    }
+
+    @Override
+    public void clearAll() {
+        Arrays.fill(cells, (byte) 0);
+    }
+
+    @Override
+    public int slotAt(int row, int column) {
+        return cells[row * columns + column] - 1;
+    }
+
+    @Override
+    public boolean connects(int slot, int row, int column) {
+        if (slotAt(row, column) != slot) {
+            return false;
+        }
+        for (int[] direction : DIRECTIONS) {
+            int count = 1 + count(slot, row, column, direction[0], direction[1])
+                    + count(slot, row, column, -direction[0], -direction[1]);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasLine(int slot) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (connects(slot, row, col)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public long discs(int slot) {
+        throw new UnsupportedOperationException("A " + columns + "x" + rows + " board has no bitboard representation");
+    }
+
+    /**
+     * Counts the discs of a slot next to a cell in one direction, not including the cell itself.
+     * 
+     * @param slot The slot (0 or 1)
+     * @param row The starting row
+     * @param column The starting column
+     * @param rowDelta The row direction
+     * @param colDelta The column direction
+     * @return The number of connected discs in the direction
+     */
+    private int count(int slot, int row, int column, int rowDelta, int colDelta) {
+        int count = 0;
+        int r = row + rowDelta;
+        int c = column + colDelta;
+        while (r >= 0 && r < rows && c >= 0 && c < columns && cells[r * columns + c] == slot + 1) {
+            count++;
+            r += rowDelta;
+            c += colDelta;
+        }
+        return count;
+    }
+}
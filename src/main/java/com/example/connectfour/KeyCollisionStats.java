@@ -0,0 +1,126 @@
+package com.example.connectfour;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the quality of the board's position keys on a corpus of games.
+ * <p>
+ * Every distinct position is compared against its exact position code. A collision is
+ * counted when a new position receives a key that an earlier, different position already has.
+ * Canonical keys are checked the same way, where a position and its mirror image count as one.
+ */
+public class KeyCollisionStats {
+    private final Set<Long> positions;
+    private final Map<Long, Long> positionsByKey;
+    private final Set<Long> canonicalPositions;
+    private final Map<Long, Long> canonicalPositionsByKey;
+    private final GameBoard replayBoard;
+    private long keyCollisions;
+    private long canonicalKeyCollisions;
+
+    /**
+     * Creates a new empty collision tracker.
+     */
+    public KeyCollisionStats() {
+        positions = new HashSet<>();
+        positionsByKey = new HashMap<>();
+        canonicalPositions = new HashSet<>();
+        canonicalPositionsByKey = new HashMap<>();
+        replayBoard = new GameBoard();
+    }
+
+    /**
+     * Records the current position of a board.
+     * 
+     * @param board The board to record
+     */
+    public void record(GameBoard board) {
+        long code = board.getPositionCode();
+        if (!positions.add(code)) {
+            return;
+        }
+        Long previous = positionsByKey.putIfAbsent(board.getPositionKey(), code);
+        if (previous != null) {
+            keyCollisions++;
+        }
+
+        long canonicalCode = board.getCanonicalPositionCode();
+        if (canonicalPositions.add(canonicalCode)) {
+            previous = canonicalPositionsByKey.putIfAbsent(board.getCanonicalKey(), canonicalCode);
+            if (previous != null) {
+                canonicalKeyCollisions++;
+            }
+        }
+    }
+
+    /**
+     * Replays a game from the empty board and records every position it passes through.
+     * 
+     * @param moves The columns played in order (0-based), starting with the first player
+     */
+    public void recordGame(byte[] moves) {
+        replayBoard.reset();
+        record(replayBoard);
+        for (int i = 0; i < moves.length; i++) {
+            replayBoard.placeDisc(moves[i], i % 2 == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL);
+            record(replayBoard);
+        }
+    }
+
+    /**
+     * Gets the number of distinct positions recorded.
+     * 
+     * @return The number of distinct positions
+     */
+    public long getDistinctPositions() {
+        return positions.size();
+    }
+
+    /**
+     * Gets the number of distinct positions after merging mirror images.
+     * 
+     * @return The number of distinct canonical positions
+     */
+    public long getDistinctCanonicalPositions() {
+        return canonicalPositions.size();
+    }
+
+    /**
+     * Gets the number of positions whose key was already used by a different position.
+     * 
+     * @return The number of position key collisions
+     */
+    public long getKeyCollisions() {
+        return keyCollisions;
+    }
+
+    /**
+     * Gets the number of canonical positions whose canonical key was already used by a different one.
+     * 
+     * @return The number of canonical key collisions
+     */
+    public long getCanonicalKeyCollisions() {
+        return canonicalKeyCollisions;
+    }
+
+    /**
+     * Gets the fraction of distinct positions that collided with an earlier position.
+     * 
+     * @return The collision rate between 0 and 1
+     */
+    public double getCollisionRate() {
+        return positions.isEmpty() ? 0 : (double) keyCollisions / positions.size();
+    }
+
+    /**
+     * Gets the fraction of distinct canonical positions that collided with an earlier one.
+     * 
+     * @return The canonical collision rate between 0 and 1
+     */
+    public double getCanonicalCollisionRate() {
+        return canonicalPositions.isEmpty() ? 0 : (double) canonicalKeyCollisions / canonicalPositions.size();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.connectfour;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values, such as latencies in nanoseconds, with a bounded relative error.
+ * <p>
+ * Like an HDR histogram, buckets are log-linear: values below 128 get a bucket each, and every
+ * higher power-of-two range is split into 64 equal sub-buckets, so every recorded value is known to
+ * within 1/64 (about 1.6%) over the whole range of {@code long}. Recording is a few shifts and one
+ * atomic increment, without locks or allocation. Percentiles are reported as the highest value of
+ * the bucket they fall into. Instances are thread-safe; reads taken while other threads record may
+ * be slightly inconsistent with each other.
+ */
+public final class LatencyHistogram {
+    static final int LINEAR_BUCKETS = 128;
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - 1 - 7) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates an empty histogram.
+     * 
+     * @param name The name the histogram is reported under
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a value. Negative values, which a clock that jumps back can produce, are recorded as 0.
+     * 
+     * @param value The value to record
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(clamped));
+        count.incrementAndGet();
+        sum.addAndGet(clamped);
+        long currentMax;
+        while (clamped > (currentMax = max.get()) && !max.compareAndSet(currentMax, clamped)) {
+            // Another thread raised the maximum meanwhile; check again
+        }
+    }
+
+    /**
+     * Gets the name of the histogram.
+     * 
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * 
+     * @return The count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the exact largest recorded value.
+     * 
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the exact mean of the recorded values.
+     * 
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long values = count.get();
+        return values == 0 ? 0 : (double) sum.get() / values;
+    }
+
+    /**
+     * Gets the value below or at which a given percentage of the recorded values lie.
+     * 
+     * @param percentile The percentage, between 0 and 100
+     * @return The highest value of the bucket holding the percentile, at most the maximum, or 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, was " + percentile);
+        }
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += counts.get(bucket);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Finds the bucket of a value.
+     * 
+     * @param value A non-negative value
+     * @return The bucket index
+     */
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 7) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     * 
+     * @param bucket The bucket index
+     * @return The bucket's highest value
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 7;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
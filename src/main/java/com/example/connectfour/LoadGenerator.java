@@ -0,0 +1,189 @@
+package com.example.connectfour;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Plays random games against a {@link ConnectFourServer} over many connections at once and
+ * measures the server's throughput and latency.
+ * <p>
+ * Every connection plays both players of its session. The client keeps its own board to send
+ * only valid moves, and times every move from sending it until the server's next prompt arrives.
+ * Idle connections can be opened alongside to see how the server copes with many waiting games.
+ */
+public class LoadGenerator {
+    private static final String MOVE_PROMPT = "choose a column";
+    private static final String PLAY_AGAIN_PROMPT = "Do you want to play again?";
+
+    private final String host;
+    private final int port;
+
+    /**
+     * Creates a load generator for a server.
+     * 
+     * @param host The server's host name
+     * @param port The server's port
+     */
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Plays games on many connections at once.
+     * 
+     * @param connections The number of connections playing games
+     * @param gamesPerConnection The number of games every connection plays
+     * @param idleConnections The number of extra connections that stay open without playing
+     * @param seed The seed of the random moves
+     * @return The measured throughput and latencies
+     * @throws IOException if a connection fails
+     */
+    public LoadReport run(int connections, int gamesPerConnection, int idleConnections, long seed) throws IOException {
+        if (connections < 1 || gamesPerConnection < 1 || idleConnections < 0) {
+            throw new IllegalArgumentException("Need at least one connection and one game per connection");
+        }
+
+        List<Socket> idle = new ArrayList<>(idleConnections);
+        ExecutorService executor = ConnectFourServer.newSessionExecutor();
+        try {
+            for (int i = 0; i < idleConnections; i++) {
+                idle.add(new Socket(host, port));
+            }
+
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Future<long[]>> results = new ArrayList<>(connections);
+            long start = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                SplittableRandom connectionRandom = random.split();
+                results.add(executor.submit(() -> play(gamesPerConnection, connectionRandom)));
+            }
+
+            List<long[]> latencies = new ArrayList<>(connections);
+            for (Future<long[]> result : results) {
+                latencies.add(result.get());
+            }
+            long elapsed = System.nanoTime() - start;
+            return report(connections, (long) connections * gamesPerConnection, latencies, elapsed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the connections", e);
+        } catch (ExecutionException e) {
+            throw new IOException("A connection failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * Plays games on one connection.
+     * 
+     * @return The latency of every move in nanoseconds
+     */
+    private long[] play(int games, SplittableRandom random) {
+        long[] latencies = new long[games * GameBoard.COLUMNS * GameBoard.ROWS];
+        int moves = 0;
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream writer = socket.getOutputStream();
+            GameBoard board = new GameBoard();
+            int gamesPlayed = 0;
+            long sent = 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                boolean movePrompt = line.contains(MOVE_PROMPT);
+                boolean gameOver = line.startsWith(PLAY_AGAIN_PROMPT);
+                if (!movePrompt && !gameOver) {
+                    continue;
+                }
+                if (sent != 0) {
+                    latencies[moves++] = System.nanoTime() - sent;
+                    sent = 0;
+                }
+
+                if (gameOver) {
+                    gamesPlayed++;
+                    board.reset();
+                    writer.write((gamesPlayed < games ? "y\n" : "n\n").getBytes(StandardCharsets.US_ASCII));
+                } else {
+                    int column = randomColumn(board, random);
+                    board.placeDisc(column, (board.getMoveCount() & 1) == 0 ? GameEngine.FIRST_SYMBOL
+                            : GameEngine.SECOND_SYMBOL);
+                    sent = System.nanoTime();
+                    writer.write((column + 1 + "\n").getBytes(StandardCharsets.US_ASCII));
+                }
+            }
+            if (gamesPlayed < games) {
+                throw new IOException("The server closed the connection after " + gamesPlayed + " games");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Arrays.copyOf(latencies, moves);
+    }
+
+    private static int randomColumn(GameBoard board, SplittableRandom random) {
+        int column;
+        do {
+            column = random.nextInt(board.getColumns());
+        } while (!board.isValidMove(column));
+        return column;
+    }
+
+    /**
+     * Merges the latencies of all connections into percentiles.
+     */
+    private static LoadReport report(int connections, long games, List<long[]> latencies, long elapsedNanos) {
+        long[] all = new long[latencies.stream().mapToInt(values -> values.length).sum()];
+        int count = 0;
+        for (long[] values : latencies) {
+            System.arraycopy(values, 0, all, count, values.length);
+            count += values.length;
+        }
+        Arrays.sort(all);
+        return new LoadReport(connections, games, all.length, elapsedNanos, percentile(all, 0.50),
+                percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(fraction * sorted.length) - 1];
+    }
+
+    /**
+     * Runs a load test from the command line.
+     * 
+     * @param args The host (default: localhost), the port (default: 4000), the number of playing
+     *             connections (default: 100), the games per connection (default: 10) and the number
+     *             of idle connections (default: 0)
+     * @throws IOException if a connection fails
+     */
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : ConnectFourServer.DEFAULT_PORT;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int idle = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        System.out.println("Playing " + games + " games on each of " + connections + " connections to " + host
+                + ":" + port + " with " + idle + " idle connections");
+        System.out.println(new LoadGenerator(host, port).run(connections, games, idle, System.nanoTime()));
+    }
+}
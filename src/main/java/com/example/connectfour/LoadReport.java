@@ -0,0 +1,31 @@
+package com.example.connectfour;
+
+/**
+ * Summarizes a load test against a {@link ConnectFourServer}.
+ * 
+ * @param connections The number of connections that played games
+ * @param games The number of games finished
+ * @param moves The number of moves sent, each answered by the server's next prompt
+ * @param elapsedNanos The wall-clock time of the test in nanoseconds
+ * @param p50Nanos The median time from sending a move to receiving the next prompt
+ * @param p99Nanos The 99th percentile of that time
+ * @param maxNanos The longest of those times
+ */
+public record LoadReport(int connections, long games, long moves, long elapsedNanos, long p50Nanos, long p99Nanos,
+        long maxNanos) {
+
+    /**
+     * Gets the throughput over all connections.
+     * 
+     * @return The number of moves per second
+     */
+    public long movesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1_000_000_000L / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d connections, %,d games, %,d moves, %,d moves/sec, latency p50 %,d us, p99 %,d us, max %,d us",
+                connections, games, moves, movesPerSecond(), p50Nanos / 1000, p99Nanos / 1000, maxNanos / 1000);
+    }
+}
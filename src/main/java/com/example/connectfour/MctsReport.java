@@ -0,0 +1,28 @@
+package com.example.connectfour;
+
+/**
+ * Describes the Monte Carlo search behind a computer move.
+ * 
+ * @param column The chosen column (0-based index)
+ * @param playouts The number of random games played, summed over all threads
+ * @param threads The number of threads that searched
+ * @param winRate The expected score of the chosen column for the mover, from 0 (loss) to 1 (win)
+ * @param elapsedNanos The time spent searching in nanoseconds
+ */
+public record MctsReport(int column, long playouts, int threads, double winRate, long elapsedNanos) {
+
+    /**
+     * Gets the search speed.
+     * 
+     * @return The number of playouts per second
+     */
+    public long playoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1_000_000_000L / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d playouts on %d threads, %,d playouts/sec, win rate %.0f%%",
+                playouts, threads, playoutsPerSecond(), winRate * 100);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A computer player that chooses moves by Monte Carlo tree search with UCT selection.
+ * <p>
+ * Several threads search in parallel at the root: every thread grows its own {@link MctsTree}
+ * for the whole time budget, and the visit counts of the root moves are added up across the trees
+ * when the time is over. The most visited column is played. The trees are allocated once and
+ * reused for every move, so searching does not create garbage. Only the standard 7x6 board is
+ * supported. Instances are not thread-safe.
+ */
+public class MctsStrategy implements MoveStrategy {
+    static final int DEFAULT_TREE_CAPACITY = 1 << 20;
+
+    private final MctsTree[] trees;
+    private final ForkJoinPool pool;
+    private final long timeBudgetNanos;
+    private MctsReport lastReport;
+
+    /**
+     * Creates a Monte Carlo player with default-sized trees.
+     * 
+     * @param timeBudgetMillis The time allowed per move in milliseconds
+     * @param threads The number of threads searching in parallel
+     * @param seed The seed of the random playouts
+     */
+    public MctsStrategy(long timeBudgetMillis, int threads, long seed) {
+        this(timeBudgetMillis, threads, seed, DEFAULT_TREE_CAPACITY);
+    }
+
+    /**
+     * Creates a Monte Carlo player.
+     * 
+     * @param timeBudgetMillis The time allowed per move in milliseconds
+     * @param threads The number of threads searching in parallel
+     * @param seed The seed of the random playouts
+     * @param treeCapacity The maximum number of nodes of every thread's tree, at least the root and
+     *                     one child per column ({@value MctsTree#MIN_CAPACITY})
+     */
+    public MctsStrategy(long timeBudgetMillis, int threads, long seed, int treeCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1, was " + threads);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        trees = new MctsTree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new MctsTree(treeCapacity, random.split());
+        }
+        // Worker threads are daemons, so the pool never keeps the game from exiting
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+    }
+
+    @Override
+    public int selectColumn(GameBoard board, char symbol) {
+        board.requireStandard();
+        long start = System.nanoTime();
+        long current = board.getDiscsOf(symbol);
+        long occupied = board.getOccupied();
+        if (Bitboards.playableCells(occupied) == 0) {
+            throw new IllegalStateException("No valid move left on the board");
+        }
+
+        for (MctsTree tree : trees) {
+            tree.reset(current, occupied, board.getMoveCount());
+        }
+        long deadline = start + timeBudgetNanos;
+        if (pool == null) {
+            trees[0].search(deadline);
+        } else {
+            List<ForkJoinTask<?>> searches = new ArrayList<>(trees.length);
+            for (MctsTree tree : trees) {
+                searches.add(ForkJoinTask.adapt(() -> tree.search(deadline)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(searches)));
+        }
+
+        long[] visits = new long[GameBoard.COLUMNS];
+        long[] rewards = new long[GameBoard.COLUMNS];
+        long playouts = 0;
+        for (MctsTree tree : trees) {
+            tree.addRootStatistics(visits, rewards);
+            playouts += tree.getPlayouts();
+        }
+
+        int bestColumn = -1;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (visits[column] > 0 && (bestColumn < 0 || visits[column] > visits[bestColumn])) {
+                bestColumn = column;
+            }
+        }
+        if (bestColumn < 0) {
+            // No root move was searched, so play any valid move rather than none
+            bestColumn = 0;
+            while (!board.isValidMove(bestColumn)) {
+                bestColumn++;
+            }
+        }
+
+        double winRate = visits[bestColumn] > 0 ? rewards[bestColumn] / (2.0 * visits[bestColumn]) : 0.5;
+        lastReport = new MctsReport(bestColumn, playouts, trees.length, winRate, System.nanoTime() - start);
+        return bestColumn;
+    }
+
+    @Override
+    public String describeLastMove() {
+        return lastReport == null ? null : lastReport.toString();
+    }
+
+    /**
+     * Gets the report of the most recent search.
+     * 
+     * @return The last search report, or null if no move was searched yet
+     */
+    public MctsReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Measures playouts per second and the win rate against a single-threaded player with the
+     * same time budget, at 1, 2, 4 and 8 threads. Colors alternate between games.
+     * 
+     * @param args Optional number of games per level (default: 20) and time budget per move in
+     *             milliseconds (default: 100)
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : 100;
+
+        System.out.println("Playing " + games + " games per level with " + budget + " ms per move on "
+                + Runtime.getRuntime().availableProcessors() + " cores, against 1 thread");
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            MctsStrategy player = new MctsStrategy(budget, threads, threads);
+            MctsStrategy baseline = new MctsStrategy(budget, 1, -threads);
+            long[] totals = new long[2];
+            MoveStrategy measured = (board, symbol) -> {
+                int column = player.selectColumn(board, symbol);
+                totals[0] += player.getLastReport().playouts();
+                totals[1] += player.getLastReport().elapsedNanos();
+                return column;
+            };
+
+            int wins = 0;
+            int draws = 0;
+            for (int game = 0; game < games; game++) {
+                boolean first = game % 2 == 0;
+                GameResult result = first ? new GameEngine(measured, baseline).play()
+                        : new GameEngine(baseline, measured).play();
+                if (result.isDraw()) {
+                    draws++;
+                } else if ((result.winner() == 0) == first) {
+                    wins++;
+                }
+            }
+
+            System.out.printf("%d threads: %,12d playouts/sec, win rate %5.1f%% (%d wins, %d draws, %d losses)%n",
+                    threads, totals[0] * 1_000_000_000L / totals[1], (wins + draws / 2.0) * 100 / games,
+                    wins, draws, games - wins - draws);
+        }
+    }
+}
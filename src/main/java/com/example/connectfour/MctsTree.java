@@ -0,0 +1,247 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Monte Carlo search tree for the standard board, stored in preallocated parallel primitive arrays.
+ * <p>
+ * Node 0 is the root. When a node is expanded, all its children are allocated next to each other,
+ * so a node only stores the index of its first child and the number of children. Positions are not
+ * stored at all: every iteration replays the moves from the root position on a pair of bitboards.
+ * Each node counts its visits and its reward for the player who made the move leading to it, two
+ * points per win and one per draw. When the arrays are full, leaves are no longer expanded but still
+ * played out. A tree belongs to a single thread.
+ */
+final class MctsTree {
+    static final double EXPLORATION = Math.sqrt(2);
+    /** The root and all its children, so that every root move can be searched. */
+    static final int MIN_CAPACITY = GameBoard.COLUMNS + 1;
+
+    private static final int SIZE = GameBoard.COLUMNS * GameBoard.ROWS;
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+    private static final byte OPEN = 0;
+    private static final byte WIN = 1;
+    private static final byte DRAW = 2;
+    private static final int NO_WINNER = -1;
+
+    private final int[] firstChild;
+    private final byte[] childCount;
+    private final byte[] columns;
+    private final byte[] outcomes;
+    private final int[] visits;
+    private final int[] rewards;
+    private final int[] path = new int[SIZE + 1];
+    private final SplittableRandom random;
+    private int size;
+    private long playouts;
+    private long rootCurrent;
+    private long rootOccupied;
+    private int rootMoveCount;
+
+    /**
+     * Creates an empty tree.
+     * 
+     * @param capacity The maximum number of nodes (at least {@value #MIN_CAPACITY})
+     * @param random The source of the random playouts
+     */
+    MctsTree(int capacity, SplittableRandom random) {
+        if (capacity < MIN_CAPACITY) {
+            throw new IllegalArgumentException("Tree capacity must be at least " + MIN_CAPACITY + ", was " + capacity);
+        }
+        firstChild = new int[capacity];
+        childCount = new byte[capacity];
+        columns = new byte[capacity];
+        outcomes = new byte[capacity];
+        visits = new int[capacity];
+        rewards = new int[capacity];
+        this.random = random;
+    }
+
+    /**
+     * Discards all nodes and starts a new tree for a position.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     */
+    void reset(long current, long occupied, int moveCount) {
+        rootCurrent = current;
+        rootOccupied = occupied;
+        rootMoveCount = moveCount;
+        size = 1;
+        childCount[0] = 0;
+        outcomes[0] = OPEN;
+        visits[0] = 0;
+        rewards[0] = 0;
+        playouts = 0;
+    }
+
+    /**
+     * Runs iterations until the deadline has passed.
+     * 
+     * @param deadline The {@link System#nanoTime()} at which to stop
+     */
+    void search(long deadline) {
+        do {
+            for (int i = 0; i < DEADLINE_CHECK_INTERVAL; i++) {
+                iterate();
+            }
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Selects a leaf by UCT, expands it, plays a random game from it and backs the result up the path.
+     */
+    void iterate() {
+        long current = rootCurrent;
+        long occupied = rootOccupied;
+        int moveCount = rootMoveCount;
+        int node = 0;
+        int depth = 0;
+        path[depth++] = node;
+
+        while (childCount[node] > 0 && outcomes[node] == OPEN) {
+            node = selectChild(node);
+            long move = Bitboards.landingCell(occupied, columns[node]);
+            current ^= occupied;
+            occupied |= move;
+            moveCount++;
+            path[depth++] = node;
+        }
+
+        if (outcomes[node] == OPEN && (visits[node] > 0 || node == 0) && expand(node, current, occupied, moveCount)) {
+            node = firstChild[node] + random.nextInt(childCount[node]);
+            long move = Bitboards.landingCell(occupied, columns[node]);
+            current ^= occupied;
+            occupied |= move;
+            moveCount++;
+            path[depth++] = node;
+        }
+
+        int winner;
+        if (outcomes[node] == WIN) {
+            winner = (moveCount - 1) & 1;
+        } else if (outcomes[node] == DRAW) {
+            winner = NO_WINNER;
+        } else {
+            winner = playout(current, occupied, moveCount);
+        }
+        playouts++;
+
+        for (int i = 0; i < depth; i++) {
+            int pathNode = path[i];
+            visits[pathNode]++;
+            // The move into the node at depth i was made with rootMoveCount + i - 1 discs on the board
+            int mover = (rootMoveCount + i - 1) & 1;
+            rewards[pathNode] += winner == NO_WINNER ? 1 : winner == mover ? 2 : 0;
+        }
+    }
+
+    /**
+     * Adds the visits and rewards of the root's children to per-column totals.
+     * 
+     * @param columnVisits The visits per column
+     * @param columnRewards The rewards per column, for the side to move at the root
+     */
+    void addRootStatistics(long[] columnVisits, long[] columnRewards) {
+        int first = firstChild[0];
+        for (int child = first; child < first + childCount[0]; child++) {
+            columnVisits[columns[child]] += visits[child];
+            columnRewards[columns[child]] += rewards[child];
+        }
+    }
+
+    /**
+     * Gets the number of iterations since the last reset.
+     * 
+     * @return The playout count
+     */
+    long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Gets the number of allocated nodes.
+     * 
+     * @return The node count, including the root
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Picks the child with the highest upper confidence bound; unvisited children come first.
+     */
+    private int selectChild(int node) {
+        int first = firstChild[node];
+        int end = first + childCount[node];
+        double logVisits = Math.log(visits[node]);
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            int childVisits = visits[child];
+            if (childVisits == 0) {
+                return child;
+            }
+            double value = rewards[child] / (2.0 * childVisits) + EXPLORATION * Math.sqrt(logVisits / childVisits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Allocates the children of a node, one per column that is not full.
+     * 
+     * @return false if the tree has no room left for the children
+     */
+    private boolean expand(int node, long current, long occupied, int moveCount) {
+        long playable = Bitboards.playableCells(occupied);
+        int count = Long.bitCount(playable);
+        if (size + count > visits.length) {
+            return false;
+        }
+
+        firstChild[node] = size;
+        childCount[node] = (byte) count;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            long move = playable & Bitboards.columnMask(column);
+            if (move == 0) {
+                continue;
+            }
+            int child = size++;
+            columns[child] = (byte) column;
+            childCount[child] = 0;
+            visits[child] = 0;
+            rewards[child] = 0;
+            outcomes[child] = Bitboards.connectsFour(current | move, move) ? WIN
+                    : moveCount + 1 == SIZE ? DRAW
+                    : OPEN;
+        }
+        return true;
+    }
+
+    /**
+     * Plays uniformly random moves until the game ends.
+     * 
+     * @return The parity of the move count at which the winning disc was placed, or -1 for a draw
+     */
+    private int playout(long current, long occupied, int moveCount) {
+        while (moveCount < SIZE) {
+            long playable = Bitboards.playableCells(occupied);
+            for (int skip = random.nextInt(Long.bitCount(playable)); skip > 0; skip--) {
+                playable &= playable - 1;
+            }
+            long move = Long.lowestOneBit(playable);
+            if (Bitboards.connectsFour(current | move, move)) {
+                return moveCount & 1;
+            }
+            current ^= occupied;
+            occupied |= move;
+            moveCount++;
+        }
+        return NO_WINNER;
+    }
+}
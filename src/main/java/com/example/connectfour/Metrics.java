@@ -0,0 +1,186 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * The process-wide metrics of the game loop and the computer players.
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -D}{@value #PROPERTY}{@code =true}. The
+ * switch is a static final constant, so when it is off the JIT compiler removes every guarded
+ * measurement from the hot paths, timer reads included. When it is on, the game records latency
+ * histograms of {@link GameBoard#placeDisc(int, char)}, win checks, every player's move decisions,
+ * whole games and statistics updates, counts finished games and invalid moves, emits JFR events for
+ * moves and games, and adds a periodic JFR event per histogram to flight recordings.
+ */
+public final class Metrics {
+    /** The system property that turns metrics on. */
+    public static final String PROPERTY = "connectfour.metrics";
+
+    /** The system property with the seconds between printed snapshots (default: 10). */
+    public static final String INTERVAL_PROPERTY = "connectfour.metrics.interval";
+
+    /** The system property that selects the snapshot format, "text" (default) or "json". */
+    public static final String FORMAT_PROPERTY = "connectfour.metrics.format";
+
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+    private static final String MOVE_DECISION_PREFIX = "move.decision.";
+    private static final Map<String, LatencyHistogram> MOVE_DECISIONS = new ConcurrentHashMap<>();
+
+    static final LatencyHistogram PLACE_DISC = REGISTRY.histogram("board.placeDisc");
+    static final LatencyHistogram CHECK_WIN = REGISTRY.histogram("game.checkWin");
+    static final LatencyHistogram GAME_DURATION = REGISTRY.histogram("game.duration");
+    static final LatencyHistogram STATS_UPDATE = REGISTRY.histogram("stats.update");
+    static final LongAdder GAMES_FINISHED = REGISTRY.counter("games.finished");
+    static final LongAdder INVALID_MOVES = REGISTRY.counter("board.invalidMoves");
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(MetricsSnapshotEvent.class, () -> MetricsSnapshotEvent.emit(REGISTRY));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Checks if metrics are recorded.
+     * 
+     * @return true if the JVM was started with metrics turned on
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets the registry holding all metrics.
+     * 
+     * @return The process-wide registry
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Reads the clock at the start of a measurement.
+     * 
+     * @return The current {@link System#nanoTime()}, or 0 if metrics are off
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since the start of a measurement.
+     * 
+     * @param histogram The histogram to record into
+     * @param start The value returned by {@link #start()}
+     */
+    static void stop(LatencyHistogram histogram, long start) {
+        if (ENABLED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds one to a counter.
+     * 
+     * @param counter The counter
+     */
+    static void increment(LongAdder counter) {
+        if (ENABLED) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Records the time a player took to choose a move and emits a JFR event for it.
+     * 
+     * @param player The name of the player
+     * @param column The chosen column (0-based)
+     * @param start The value returned by {@link #start()} before the player started choosing
+     */
+    static void stopMoveDecision(String player, int column, long start) {
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            LatencyHistogram histogram = MOVE_DECISIONS.get(player);
+            if (histogram == null) {
+                histogram = MOVE_DECISIONS.computeIfAbsent(player, name -> REGISTRY.histogram(MOVE_DECISION_PREFIX + name));
+            }
+            histogram.record(elapsed);
+            MoveDecisionEvent event = new MoveDecisionEvent();
+            if (event.shouldCommit()) {
+                event.player = player;
+                event.column = column;
+                event.decisionNanos = elapsed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records the duration of a finished game and emits a JFR event for it.
+     * 
+     * @param winner The name of the winner, or null for a draw
+     * @param moveCount The number of discs placed
+     * @param start The value returned by {@link #start()} when the game started
+     */
+    static void stopGame(String winner, int moveCount, long start) {
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            GAME_DURATION.record(elapsed);
+            GAMES_FINISHED.increment();
+            GameFinishedEvent event = new GameFinishedEvent();
+            if (event.shouldCommit()) {
+                event.winner = winner;
+                event.moveCount = moveCount;
+                event.durationNanos = elapsed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Prints a snapshot of all metrics at the rate and in the format given by the system properties
+     * {@value #INTERVAL_PROPERTY} and {@value #FORMAT_PROPERTY}, if metrics are on.
+     * 
+     * @param out The stream to print to
+     * @return A handle that stops the reporting when closed; it does nothing if metrics are off
+     */
+    public static Closeable startReporting(PrintStream out) {
+        if (!ENABLED) {
+            return () -> { };
+        }
+        long periodMillis = Long.getLong(INTERVAL_PROPERTY, 10) * 1000;
+        return startReporting(periodMillis, out, "json".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY)));
+    }
+
+    /**
+     * Prints a snapshot of all metrics at a fixed rate on a daemon thread.
+     * 
+     * @param periodMillis The time between snapshots in milliseconds
+     * @param out The stream to print to
+     * @param json true for JSON snapshots, one per line; false for text
+     * @return A handle that stops the reporting when closed
+     */
+    public static Closeable startReporting(long periodMillis, PrintStream out, boolean json) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "connectfour-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> out.println(json ? REGISTRY.toJson() : REGISTRY.toText()),
+                periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return executor::shutdownNow;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.connectfour;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named set of counters and {@link LatencyHistogram latency histograms} that can be rendered as a
+ * text or JSON snapshot. Metrics are created on first use and listed in name order.
+ * Instances are thread-safe.
+ */
+public final class MetricsRegistry {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p90", "p99", "p999"};
+
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Gets a counter, creating it if needed.
+     * 
+     * @param name The name of the counter
+     * @return The counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Gets a histogram, creating it if needed.
+     * 
+     * @param name The name of the histogram
+     * @return The histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Gets all histograms.
+     * 
+     * @return The histograms in name order, as a live view
+     */
+    Iterable<LatencyHistogram> histograms() {
+        return histograms.values();
+    }
+
+    /**
+     * Resets all counters and histograms to zero.
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Renders all metrics as text, one line per metric. Histogram values are in nanoseconds.
+     * 
+     * @return The text snapshot
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder(1024);
+        String lineSeparator = System.lineSeparator();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            text.append(String.format("%-32s %,d", counter.getKey(), counter.getValue().sum())).append(lineSeparator);
+        }
+        for (LatencyHistogram histogram : histograms.values()) {
+            text.append(String.format("%-32s count=%,d mean=%,.0f", histogram.getName(), histogram.getCount(),
+                    histogram.getMean()));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                text.append(String.format(" %s=%,d", PERCENTILE_LABELS[i], histogram.getValueAtPercentile(PERCENTILES[i])));
+            }
+            text.append(String.format(" max=%,d", histogram.getMax())).append(lineSeparator);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Renders all metrics as a JSON object with a "counters" and a "histograms" member.
+     * Histogram values are in nanoseconds.
+     * 
+     * @return The JSON snapshot
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(1024).append("{\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            json.append(separator);
+            appendString(json, counter.getKey());
+            json.append(':').append(counter.getValue().sum());
+            separator = ",";
+        }
+
+        json.append("},\"histograms\":{");
+        separator = "";
+        for (LatencyHistogram histogram : histograms.values()) {
+            json.append(separator);
+            appendString(json, histogram.getName());
+            json.append(":{\"count\":").append(histogram.getCount())
+                    .append(",\"mean\":").append(Math.round(histogram.getMean()));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                json.append(",\"").append(PERCENTILE_LABELS[i]).append("\":")
+                        .append(histogram.getValueAtPercentile(PERCENTILES[i]));
+            }
+            json.append(",\"max\":").append(histogram.getMax()).append('}');
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Appends a JSON string literal, escaping quotes, backslashes and control characters.
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.connectfour;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Timespan;
+
+/**
+ * A periodic JFR event with the state of one latency histogram.
+ */
+@Name("connectfour.MetricsSnapshot")
+@Label("Metrics Snapshot")
+@Category("Connect Four")
+@Description("Count and percentiles of a latency histogram")
+@Period("10 s")
+final class MetricsSnapshotEvent extends jdk.jfr.Event {
+    @Label("Metric")
+    String metric;
+
+    @Label("Count")
+    long count;
+
+    @Label("Median")
+    @Timespan(Timespan.NANOSECONDS)
+    long p50;
+
+    @Label("99th Percentile")
+    @Timespan(Timespan.NANOSECONDS)
+    long p99;
+
+    @Label("Maximum")
+    @Timespan(Timespan.NANOSECONDS)
+    long max;
+
+    /**
+     * Commits one event per histogram of a registry.
+     * 
+     * @param registry The registry to report
+     */
+    static void emit(MetricsRegistry registry) {
+        for (LatencyHistogram histogram : registry.histograms()) {
+            MetricsSnapshotEvent event = new MetricsSnapshotEvent();
+            event.metric = histogram.getName();
+            event.count = histogram.getCount();
+            event.p50 = histogram.getValueAtPercentile(50);
+            event.p99 = histogram.getValueAtPercentile(99);
+            event.max = histogram.getMax();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.connectfour;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a move chosen by a human or computer player.
+ */
+@Name("connectfour.MoveDecision")
+@Label("Move Decision")
+@Category("Connect Four")
+@Description("A player chose a column")
+final class MoveDecisionEvent extends jdk.jfr.Event {
+    @Label("Player")
+    String player;
+
+    @Label("Column")
+    int column;
+
+    @Label("Decision Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long decisionNanos;
+}
@@ -0,0 +1,25 @@
+package com.example.connectfour;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Supplies the answers of human players to the prompts of a {@link GameLogic}, one line at a time:
+ * column numbers, take-back requests and whether to play again.
+ */
+public interface MoveSource extends AutoCloseable {
+
+    /**
+     * Reads the next answer.
+     * 
+     * @return The next line, without its line terminator
+     * @throws NoSuchElementException if there is no more input
+     */
+    String nextLine();
+
+    /**
+     * Releases the underlying input. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.connectfour;
+
+/**
+ * Supplies moves for a player without any console interaction.
+ * Implementations must only return columns that are valid moves on the given board.
+ */
+@FunctionalInterface
+public interface MoveStrategy {
+
+    /**
+     * Chooses the column for the next disc.
+     * 
+     * @param board The current game board (must not be modified)
+     * @param symbol The symbol of the player to move
+     * @return The chosen column (0-based index)
+     */
+    int selectColumn(GameBoard board, char symbol);
+
+    /**
+     * Describes how the last move was found, e.g. search depth and speed.
+     * 
+     * @return A short human-readable description, or null if there is nothing to report
+     */
+    default String describeLastMove() {
+        return null;
+    }
+
+    /**
+     * Starts thinking on the opponent's time, while the opponent chooses their move on the board.
+     * The board must not be read after this call returns, since the opponent's move will modify it.
+     * The default implementation does nothing.
+     * 
+     * @param board The current game board, with the opponent to move
+     * @param symbol The symbol of this strategy's player
+     */
+    default void startPondering(GameBoard board, char symbol) {
+    }
+
+    /**
+     * Stops thinking on the opponent's time and waits until the thinking has stopped.
+     * Does nothing if the strategy is not pondering; the default implementation does nothing.
+     */
+    default void stopPondering() {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.connectfour;
+
+/**
+ * Summarizes the time to move of time-controlled computer players over many games.
+ * 
+ * @param games The number of games finished
+ * @param moves The number of computer moves
+ * @param p50Nanos The median time to move
+ * @param p90Nanos The 90th percentile of the time to move
+ * @param p99Nanos The 99th percentile of the time to move
+ * @param maxNanos The longest time to move
+ * @param lateMoves The number of moves that took more than a millisecond longer than the hard deadline
+ * @param ponderHits The number of moves whose search continued from pondering
+ * @param averageDepth The mean of the completed search depths
+ */
+public record MoveTimeReport(long games, long moves, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos,
+        long lateMoves, long ponderHits, double averageDepth) {
+
+    @Override
+    public String toString() {
+        return String.format("%,d games, %,d moves, time to move p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                + "%,d late, %,d ponder hits, average depth %.1f", games, moves, p50Nanos / 1e6, p90Nanos / 1e6,
+                p99Nanos / 1e6, maxNanos / 1e6, lateMoves, ponderHits, averageDepth);
+    }
+}
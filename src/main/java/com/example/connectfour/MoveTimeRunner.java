@@ -0,0 +1,211 @@
+package com.example.connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the time to move of time-controlled negamax players while many games run at once.
+ * <p>
+ * Every game runs through {@link GameLogic} between a negamax player and a simulated human player,
+ * who waits a random thinking time before answering the prompt, so the negamax player ponders
+ * exactly as it would against a person at the console. The simulated human mostly plays the moves
+ * of a shallow search and sometimes a random move. All games of a batch run at the same time on
+ * their own threads, so the searches and the pondering compete for the processors and the
+ * deadlines are tested under load.
+ */
+public class MoveTimeRunner {
+    private static final int TABLE_BITS = 18;
+    private static final int HUMAN_DEPTH = 4;
+    private static final int HUMAN_TABLE_BITS = 12;
+    private static final long HUMAN_MOVE_MILLIS = 60_000;
+    private static final int RANDOM_MOVE_ODDS = 4;
+    // The search looks at the clock every 1,024 nodes and then unwinds, which takes well below a millisecond
+    private static final long LATE_TOLERANCE_NANOS = 1_000_000;
+
+    private MoveTimeRunner() {
+    }
+
+    /**
+     * Plays games between negamax players and simulated human players and measures every computer move.
+     * The human player moves first in every other game.
+     * 
+     * @param games The number of games to play
+     * @param concurrency The number of games running at the same time
+     * @param timeControl The deadlines of the negamax players
+     * @param pondering Whether the negamax players ponder while the human players think
+     * @param thinkMillis The mean thinking time of the human players in milliseconds
+     * @param seed The seed of the human players' choices
+     * @return The time-to-move percentiles, late moves and ponder hits
+     * @throws InterruptedException if interrupted while waiting for the games
+     * @throws IllegalArgumentException if a count is not positive or the thinking time is negative
+     */
+    public static MoveTimeReport run(int games, int concurrency, TimeControl timeControl, boolean pondering,
+            long thinkMillis, long seed) throws InterruptedException {
+        if (games < 1 || concurrency < 1 || thinkMillis < 0) {
+            throw new IllegalArgumentException("Games and concurrency must be positive and the thinking time must not"
+                    + " be negative, were " + games + ", " + concurrency + " and " + thinkMillis);
+        }
+        MoveTimes times = new MoveTimes(timeControl.hardNanos() + LATE_TOLERANCE_NANOS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> results = new ArrayList<>(games);
+            for (int game = 0; game < games; game++) {
+                boolean humanFirst = game % 2 == 0;
+                long gameSeed = ParallelSimulator.chunkSeed(seed, game);
+                results.add(executor.submit(() -> playGame(humanFirst, timeControl, pondering, thinkMillis, gameSeed, times)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LatencyHistogram histogram = times.histogram;
+        long moves = histogram.getCount();
+        return new MoveTimeReport(games, moves, histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getMax(), times.late.sum(), times.ponderHits.sum(),
+                moves == 0 ? 0 : (double) times.depths.sum() / moves);
+    }
+
+    /**
+     * Plays one game through the game logic.
+     */
+    private static void playGame(boolean humanFirst, TimeControl timeControl, boolean pondering, long thinkMillis,
+            long seed, MoveTimes times) {
+        NegamaxStrategy negamax = new NegamaxStrategy(timeControl, TABLE_BITS, Solver.SIZE);
+        negamax.setPondering(pondering);
+        MoveStrategy timed = new MoveStrategy() {
+            @Override
+            public int selectColumn(GameBoard board, char symbol) {
+                long start = System.nanoTime();
+                int column = negamax.selectColumn(board, symbol);
+                times.record(System.nanoTime() - start, negamax.getLastReport());
+                return column;
+            }
+
+            @Override
+            public void startPondering(GameBoard board, char symbol) {
+                negamax.startPondering(board, symbol);
+            }
+
+            @Override
+            public void stopPondering() {
+                negamax.stopPondering();
+            }
+        };
+
+        GameBoard board = new GameBoard();
+        char humanSymbol = humanFirst ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+        char computerSymbol = humanFirst ? GameEngine.SECOND_SYMBOL : GameEngine.FIRST_SYMBOL;
+        Player human = new Player("Human", humanSymbol);
+        Player computer = new Player("Computer", computerSymbol, timed);
+        MoveSource input = new SimulatedHuman(board, humanSymbol, thinkMillis, seed);
+        GameLogic logic = humanFirst
+                ? new GameLogic(board, human, computer, null, input, ReplayRunner.SILENT)
+                : new GameLogic(board, computer, human, null, input, ReplayRunner.SILENT);
+        logic.startGame();
+    }
+
+    /**
+     * Collects the measurements of all games.
+     */
+    private static final class MoveTimes {
+        final LatencyHistogram histogram = new LatencyHistogram("move.time");
+        final LongAdder late = new LongAdder();
+        final LongAdder ponderHits = new LongAdder();
+        final LongAdder depths = new LongAdder();
+        final long lateNanos;
+
+        MoveTimes(long lateNanos) {
+            this.lateNanos = lateNanos;
+        }
+
+        void record(long elapsedNanos, SearchReport report) {
+            histogram.record(elapsedNanos);
+            if (elapsedNanos > lateNanos) {
+                late.increment();
+            }
+            if (report.ponderHit()) {
+                ponderHits.increment();
+            }
+            depths.add(report.depth());
+        }
+    }
+
+    /**
+     * Answers the prompts of a game like a person at the console: after a random thinking time,
+     * with the move of a shallow search or sometimes a random move, and with "n" once the game is over.
+     */
+    private static final class SimulatedHuman implements MoveSource {
+        private final GameBoard board;
+        private final char symbol;
+        private final long thinkMillis;
+        private final SplittableRandom random;
+        private final MoveStrategy search = new NegamaxStrategy(HUMAN_MOVE_MILLIS, HUMAN_TABLE_BITS, HUMAN_DEPTH);
+        private final MoveStrategy randomMoves;
+
+        SimulatedHuman(GameBoard board, char symbol, long thinkMillis, long seed) {
+            this.board = board;
+            this.symbol = symbol;
+            this.thinkMillis = thinkMillis;
+            this.random = new SplittableRandom(seed);
+            this.randomMoves = new RandomStrategy(random.nextLong());
+        }
+
+        @Override
+        public String nextLine() {
+            if (board.isFull() || board.hasWinningLine(GameEngine.FIRST_SYMBOL)
+                    || board.hasWinningLine(GameEngine.SECOND_SYMBOL)) {
+                return "n";
+            }
+            long thinkUntil = System.nanoTime() + random.nextLong(2 * thinkMillis + 1) * 1_000_000L;
+            MoveStrategy strategy = random.nextInt(RANDOM_MOVE_ODDS) == 0 ? randomMoves : search;
+            int column = strategy.selectColumn(board, symbol);
+            try {
+                long remainingMillis = (thinkUntil - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis > 0) {
+                    Thread.sleep(remainingMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NoSuchElementException("Interrupted while thinking");
+            }
+            return Integer.toString(column + 1);
+        }
+    }
+
+    /**
+     * Measures the time to move without and with pondering.
+     * 
+     * @param args Optional number of games (default: 48), games at once (default: 16), soft and hard
+     *             deadlines in milliseconds (default: 50 and 100) and mean human thinking time in
+     *             milliseconds (default: 100)
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        long soft = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        long hard = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        long think = args.length > 4 ? Long.parseLong(args[4]) : 100;
+        TimeControl timeControl = new TimeControl(soft, hard);
+
+        System.out.printf("%d games, %d at once, soft deadline %d ms, hard deadline %d ms, thinking time %d ms, %d cores%n",
+                games, concurrency, soft, hard, think, Runtime.getRuntime().availableProcessors());
+        for (boolean pondering : new boolean[] {false, true}) {
+            MoveTimeReport report = run(games, concurrency, timeControl, pondering, think, 42);
+            System.out.println((pondering ? "pondering:    " : "no pondering: ") + report);
+        }
+    }
+}
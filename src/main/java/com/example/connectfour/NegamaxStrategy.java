@@ -0,0 +1,469 @@
+package com.example.connectfour;
+
+/**
+ * A computer player that searches the game tree with negamax and alpha-beta pruning.
+ * <p>
+ * The search deepens iteratively within the soft and hard deadlines of its {@link TimeControl},
+ * or until the position is solved. Moves are tried center-first, after the best move remembered
+ * in the transposition table. Positions are represented by the side to move's discs and the mask
+ * of all discs, both taken from the board's bitboards, so the search never modifies the board and
+ * an aborted search leaves nothing to undo.
+ * <p>
+ * With pondering turned on, the player thinks on a background thread while the opponent chooses
+ * a move: it predicts the opponent's reply from the transposition table and searches the position
+ * after it. If the opponent plays the predicted move, the next search continues at the depth the
+ * pondering completed; otherwise the pondering has only filled the table. Only the standard 7x6
+ * board is supported. Instances are not thread-safe, apart from the pondering thread they run
+ * themselves, which is always stopped before a move is searched.
+ */
+public class NegamaxStrategy implements MoveStrategy {
+    static final int WIN_SCORE = 1000;
+    static final int DEFAULT_TABLE_BITS = 22;
+
+    private static final int SIZE = GameBoard.ROWS * GameBoard.COLUMNS;
+    private static final int INFINITY = WIN_SCORE + SIZE + 1;
+    private static final int[] COLUMN_ORDER = centerFirstOrder();
+    private static final long CENTER_MASK = Bitboards.columnMask(GameBoard.COLUMNS / 2);
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+    private static final int ITERATION_GROWTH = 2;
+
+    private final TranspositionTable table;
+    private final TimeControl timeControl;
+    private final int maxDepth;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+    private boolean pondering;
+    private Thread ponderThread;
+    private int ponderMove = -1;
+    private long ponderPosition;
+    private SearchReport ponderReport;
+    private long ponderIterationNanos;
+    private long lastIterationNanos;
+    private SearchReport lastReport;
+
+    /**
+     * Creates a negamax player with a default-sized transposition table.
+     * 
+     * @param timeBudgetMillis The time allowed per move in milliseconds
+     */
+    public NegamaxStrategy(long timeBudgetMillis) {
+        this(timeBudgetMillis, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Creates a negamax player.
+     * 
+     * @param timeBudgetMillis The time allowed per move in milliseconds
+     * @param tableBits The base-2 logarithm of the transposition table size
+     */
+    public NegamaxStrategy(long timeBudgetMillis, int tableBits) {
+        this(timeBudgetMillis, tableBits, SIZE);
+    }
+
+    /**
+     * Creates a negamax player that stops deepening at a fixed depth, so weaker players can be built
+     * whose moves do not depend on the speed of the machine.
+     * 
+     * @param timeBudgetMillis The time allowed per move in milliseconds
+     * @param tableBits The base-2 logarithm of the transposition table size
+     * @param maxDepth The largest search depth in plies (at least 1)
+     */
+    public NegamaxStrategy(long timeBudgetMillis, int tableBits, int maxDepth) {
+        this(TimeControl.of(timeBudgetMillis), tableBits, maxDepth);
+    }
+
+    /**
+     * Creates a negamax player with separate soft and hard deadlines.
+     * 
+     * @param timeControl The deadlines of every move
+     * @param tableBits The base-2 logarithm of the transposition table size
+     * @param maxDepth The largest search depth in plies (at least 1)
+     */
+    public NegamaxStrategy(TimeControl timeControl, int tableBits, int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be at least 1, was " + maxDepth);
+        }
+        this.table = new TranspositionTable(tableBits);
+        this.timeControl = timeControl;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Turns thinking on the opponent's time on or off. It is off by default, since it competes with
+     * other games for the processor and makes the moves depend on the opponent's thinking time.
+     * 
+     * @param pondering true to ponder whenever {@link #startPondering(GameBoard, char)} is called
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+    }
+
+    @Override
+    public int selectColumn(GameBoard board, char symbol) {
+        stopPondering();
+        board.requireStandard();
+        long start = System.nanoTime();
+        long current = board.getDiscsOf(symbol);
+        long occupied = board.getOccupied();
+
+        // Continue from the pondering if the opponent played the predicted move
+        SearchReport pondered = ponderReport != null && ponderPosition == current + occupied ? ponderReport : null;
+        ponderReport = null;
+        if (pondered == null) {
+            table.newSearch();
+        }
+        lastReport = deepen(current, occupied, board.getMoveCount(), start, start + timeControl.softNanos(),
+                start + timeControl.hardNanos(), pondered, ponderIterationNanos);
+        return lastReport.column();
+    }
+
+    @Override
+    public String describeLastMove() {
+        return lastReport == null ? null : lastReport.toString();
+    }
+
+    /**
+     * Gets the report of the most recent search.
+     * 
+     * @return The last search report, or null if no move was searched yet
+     */
+    public SearchReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Starts pondering on a background thread, if pondering is turned on. The opponent's reply is
+     * predicted at once; nothing is pondered if the game ends with it.
+     * 
+     * @param board The current game board, with the opponent to move
+     * @param symbol The symbol of this player
+     */
+    @Override
+    public void startPondering(GameBoard board, char symbol) {
+        stopPondering();
+        ponderMove = -1;
+        ponderReport = null;
+        if (!pondering) {
+            return;
+        }
+        board.requireStandard();
+        long own = board.getDiscsOf(symbol);
+        long occupied = board.getOccupied();
+        int moveCount = board.getMoveCount() + 1;
+        int reply = predictReply(own ^ occupied, occupied);
+        if (reply < 0 || moveCount == SIZE) {
+            return;
+        }
+
+        long ponderOccupied = occupied | Bitboards.landingCell(occupied, reply);
+        ponderMove = reply;
+        ponderPosition = own + ponderOccupied;
+        ponderThread = new Thread(() -> ponder(own, ponderOccupied, moveCount), "negamax-ponder");
+        ponderThread.setDaemon(true);
+        ponderThread.start();
+    }
+
+    @Override
+    public void stopPondering() {
+        Thread thread = ponderThread;
+        if (thread == null) {
+            return;
+        }
+        stopRequested = true;
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                // The search stops within a few thousand nodes, so finish waiting for it
+                interrupted = true;
+            }
+        }
+        ponderThread = null;
+        stopRequested = false;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the opponent's move that the most recent pondering assumed.
+     * 
+     * @return The predicted column (0-based index), or -1 if nothing was pondered
+     */
+    public int getPonderMove() {
+        return ponderMove;
+    }
+
+    /**
+     * Searches the predicted position without a deadline until it is solved or the pondering is stopped.
+     * Runs on the pondering thread.
+     */
+    private void ponder(long current, long occupied, int moveCount) {
+        table.newSearch();
+        SearchReport report = deepen(current, occupied, moveCount, System.nanoTime(), Long.MAX_VALUE, Long.MAX_VALUE,
+                null, 0);
+        if (report.depth() > 0) {
+            ponderReport = report;
+            ponderIterationNanos = lastIterationNanos;
+        }
+    }
+
+    /**
+     * Predicts the opponent's reply: the best move stored in the transposition table for the
+     * opponent's position, which the last search visited right below its root, or else the first
+     * playable column from the center.
+     * 
+     * @param opponent The discs of the opponent, who is to move
+     * @param occupied The mask of all discs
+     * @return The predicted column, or -1 if the opponent wins at once or the board is full
+     */
+    private int predictReply(long opponent, long occupied) {
+        if ((Bitboards.winningCells(opponent, occupied) & Bitboards.playableCells(occupied)) != 0) {
+            return -1;
+        }
+        long key = Bitboards.canonicalKey(opponent + occupied);
+        int entry = table.probe(key);
+        if (entry >= 0 && table.getMove(entry) >= 0) {
+            int move = table.getMove(entry);
+            int column = key != opponent + occupied ? Bitboards.mirrorColumn(move) : move;
+            if (Bitboards.canPlay(occupied, column)) {
+                return column;
+            }
+        }
+        for (int column : COLUMN_ORDER) {
+            if (Bitboards.canPlay(occupied, column)) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Deepens the search of a position one iteration at a time until the soft deadline has passed,
+     * the next iteration is not expected to finish before the hard deadline, the depth limit is
+     * reached or the position is solved. Iteration n + 1 takes about twice as long as iteration n,
+     * so starting one that the hard deadline would abort only wastes the time left.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     * @param start The start of the search as a {@link System#nanoTime()} value
+     * @param softDeadline The time after which no iteration starts
+     * @param hardDeadline The time at which the running iteration is aborted
+     * @param resume A completed search of the same position to continue, or null to start at depth 1
+     * @param resumeIterationNanos The time the last iteration of the continued search took
+     * @return The result of the deepest completed iteration
+     */
+    private SearchReport deepen(long current, long occupied, int moveCount, long start, long softDeadline,
+            long hardDeadline, SearchReport resume, long resumeIterationNanos) {
+        nodes = 0;
+        aborted = false;
+        int bestColumn = resume == null ? -1 : resume.column();
+        int bestScore = resume == null ? 0 : resume.score();
+        int completedDepth = resume == null ? 0 : resume.depth();
+        long iterationNanos = resume == null ? 0 : resumeIterationNanos;
+        // The first iteration always completes so that a legal move is available
+        deadline = Long.MAX_VALUE;
+
+        int depthLimit = Math.abs(bestScore) >= WIN_SCORE ? completedDepth : Math.min(maxDepth, SIZE - moveCount);
+        for (int depth = completedDepth + 1; depth <= depthLimit; depth++) {
+            long iterationStart = System.nanoTime();
+            if (bestColumn >= 0) {
+                if (iterationStart >= softDeadline || iterationNanos * ITERATION_GROWTH >= hardDeadline - iterationStart) {
+                    break;
+                }
+                deadline = hardDeadline;
+            }
+            long result = searchRoot(current, occupied, moveCount, depth, bestColumn);
+            if (aborted) {
+                break;
+            }
+            bestColumn = (int) (result >> 32);
+            bestScore = (int) result;
+            completedDepth = depth;
+            iterationNanos = System.nanoTime() - iterationStart;
+
+            if (Math.abs(bestScore) >= WIN_SCORE) {
+                break;
+            }
+        }
+        lastIterationNanos = iterationNanos;
+
+        return new SearchReport(bestColumn, completedDepth, bestScore, nodes, System.nanoTime() - start, resume != null);
+    }
+
+    /**
+     * Searches all moves of the root position to a fixed depth.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     * @param depth The search depth
+     * @param previousBest The best column of the previous iteration, or -1
+     * @return The best column in the upper 32 bits and its score in the lower 32 bits
+     */
+    private long searchRoot(long current, long occupied, int moveCount, int depth, int previousBest) {
+        int alpha = -INFINITY;
+        int bestColumn = -1;
+
+        for (int i = -1; i < GameBoard.COLUMNS; i++) {
+            int column = i < 0 ? previousBest : COLUMN_ORDER[i];
+            if (column < 0 || (i >= 0 && column == previousBest) || !Bitboards.canPlay(occupied, column)) {
+                continue;
+            }
+
+            long move = Bitboards.landingCell(occupied, column);
+            int score;
+            if (Bitboards.hasFourInARow(current | move)) {
+                score = winScore(moveCount + 1);
+            } else {
+                score = -negamax(current ^ occupied, occupied | move, moveCount + 1, depth - 1, -INFINITY, -alpha);
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestColumn = column;
+            }
+        }
+
+        return ((long) bestColumn << 32) | (alpha & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Scores a position from the point of view of the side to move.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     * @param depth The remaining search depth
+     * @param alpha The lower bound of the search window
+     * @param beta The upper bound of the search window
+     * @return The score of the position
+     */
+    private int negamax(long current, long occupied, int moveCount, int depth, int alpha, int beta) {
+        if ((++nodes & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && (System.nanoTime() >= deadline || stopRequested)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (moveCount == SIZE) {
+            return 0;
+        }
+        if ((Bitboards.winningCells(current, occupied) & Bitboards.playableCells(occupied)) != 0) {
+            return winScore(moveCount + 1);
+        }
+        if (depth == 0) {
+            return evaluate(current, occupied);
+        }
+
+        // Mirror images share an entry; its move is stored for the orientation of the smaller key
+        long key = Bitboards.canonicalKey(current + occupied);
+        boolean mirrored = key != current + occupied;
+        int ttMove = -1;
+        int entry = table.probe(key);
+        if (entry >= 0) {
+            ttMove = table.getMove(entry);
+            if (mirrored && ttMove >= 0) {
+                ttMove = Bitboards.mirrorColumn(ttMove);
+            }
+            if (table.getDepth(entry) >= depth) {
+                int score = table.getScore(entry);
+                byte flag = table.getFlag(entry);
+                if (flag == TranspositionTable.EXACT
+                        || (flag == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (flag == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = -1;
+        for (int i = -1; i < GameBoard.COLUMNS; i++) {
+            int column = i < 0 ? ttMove : COLUMN_ORDER[i];
+            if (column < 0 || (i >= 0 && column == ttMove) || !Bitboards.canPlay(occupied, column)) {
+                continue;
+            }
+
+            long move = Bitboards.landingCell(occupied, column);
+            int score = -negamax(current ^ occupied, occupied | move, moveCount + 1, depth - 1, -beta, -alpha);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = column;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        byte flag = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        table.store(key, depth, bestScore, flag, mirrored && bestMove >= 0 ? Bitboards.mirrorColumn(bestMove) : bestMove);
+        return bestScore;
+    }
+
+    /**
+     * Estimates a position at the search horizon by comparing open winning cells and center control.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @return A heuristic score well below {@link #WIN_SCORE}
+     */
+    static int evaluate(long current, long occupied) {
+        long opponent = current ^ occupied;
+        return evaluate(current, opponent, Bitboards.winningCells(current, occupied),
+                Bitboards.winningCells(opponent, occupied));
+    }
+
+    /**
+     * Estimates a position from the winning cells of both players, for callers that already know them.
+     * 
+     * @param current The discs of the side to move
+     * @param opponent The discs of the opponent
+     * @param currentWins The winning cells of the side to move
+     * @param opponentWins The winning cells of the opponent
+     * @return The same score as {@link #evaluate(long, long)}
+     */
+    static int evaluate(long current, long opponent, long currentWins, long opponentWins) {
+        int threats = Long.bitCount(currentWins) - Long.bitCount(opponentWins);
+        int center = Long.bitCount(current & CENTER_MASK) - Long.bitCount(opponent & CENTER_MASK);
+        return 4 * threats + center;
+    }
+
+    /**
+     * Scores a win that happens with the given disc, preferring quicker wins.
+     * 
+     * @param moveCount The number of discs on the board after the winning disc
+     * @return The win score
+     */
+    static int winScore(int moveCount) {
+        return WIN_SCORE + SIZE - moveCount;
+    }
+
+    /**
+     * Orders the columns from the center outwards.
+     * 
+     * @return The column indices, center first
+     */
+    static int[] centerFirstOrder() {
+        int[] order = new int[GameBoard.COLUMNS];
+        for (int i = 0; i < GameBoard.COLUMNS; i++) {
+            order[i] = GameBoard.COLUMNS / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only table of solved positions for the first plies of the game, stored in a file.
+ * <p>
+ * The file starts with a 16-byte header (magic number, format version, number of plies and
+ * entry count), followed by one 8-byte entry per position in ascending order. An entry holds the
+ * position key in its upper 56 bits and the {@link Solver} score in its lowest byte, so sorting
+ * entries sorts keys. A position and its mirror image share the entry of the smaller key.
+ * The file is memory-mapped and binary-searched in place, so opening a book takes no time and
+ * its entries never occupy the heap. Instances are thread-safe.
+ */
+public class OpeningBook {
+    /** The score returned for positions that are not in the book. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    static final int MAGIC = 0x43344F42;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final int maxPlies;
+    private final LongBuffer entries;
+
+    /**
+     * Creates a book over sorted entries.
+     * 
+     * @param maxPlies The largest number of discs of the positions in the book
+     * @param entries The entries in ascending order
+     */
+    OpeningBook(int maxPlies, LongBuffer entries) {
+        this.maxPlies = maxPlies;
+        this.entries = entries;
+    }
+
+    /**
+     * Maps a book file into memory.
+     * The mapping stays valid after the file is replaced or deleted.
+     * 
+     * @param path The book file
+     * @return The opened book
+     * @throws IOException if the file cannot be read or is not a valid book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Opening book is too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version " + buffer.getInt(4) + ": " + path);
+            }
+            int maxPlies = buffer.getInt(8);
+            int count = buffer.getInt(12);
+            if (HEADER_BYTES + (long) count * Long.BYTES != size) {
+                throw new IOException("Opening book is truncated: " + path);
+            }
+            return new OpeningBook(maxPlies, buffer.slice(HEADER_BYTES, count * Long.BYTES).asLongBuffer());
+        }
+    }
+
+    /**
+     * Writes a book file. The file is written next to the target and then moved into place,
+     * so books that are already open keep working.
+     * 
+     * @param path The book file
+     * @param maxPlies The largest number of discs of the positions in the book
+     * @param entries The entries in ascending order, see {@link #entry(long, int)}
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, int maxPlies, long[] entries) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(maxPlies).putInt(entries.length);
+            for (long entry : entries) {
+                if (!buffer.hasRemaining()) {
+                    writeFully(channel, buffer);
+                }
+                buffer.putLong(entry);
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Looks up the position on a board.
+     * 
+     * @param board The board
+     * @return The score of the position for the player to move, or {@link #NOT_FOUND}
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    public int lookup(GameBoard board) {
+        long current = Solver.sideToMove(board);
+        return board.getMoveCount() <= maxPlies ? probe(current, board.getOccupied()) : NOT_FOUND;
+    }
+
+    /**
+     * Binary-searches the entry of a position.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @return The score of the position, or {@link #NOT_FOUND}
+     */
+    int probe(long current, long occupied) {
+        long key = canonicalKey(current, occupied);
+        int low = 0;
+        int high = entries.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long entry = entries.get(middle);
+            long entryKey = entry >>> 8;
+            if (entryKey < key) {
+                low = middle + 1;
+            } else if (entryKey > key) {
+                high = middle - 1;
+            } else {
+                return (byte) entry;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Gets the largest number of discs of the positions in the book.
+     * 
+     * @return The number of plies covered
+     */
+    public int getMaxPlies() {
+        return maxPlies;
+    }
+
+    /**
+     * Gets the number of positions in the book.
+     * 
+     * @return The entry count
+     */
+    public int size() {
+        return entries.limit();
+    }
+
+    /**
+     * Computes the key a position is stored under. Keys are unique per position and shared with
+     * the mirrored position, see {@link Bitboards#canonicalKey(long)}.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @return The smaller key of the position and its mirror image
+     */
+    static long canonicalKey(long current, long occupied) {
+        return Bitboards.canonicalKey(current + occupied);
+    }
+
+    /**
+     * Packs a key and a score into a book entry.
+     * 
+     * @param key The canonical position key
+     * @param score The score of the position
+     * @return The entry
+     */
+    static long entry(long key, int score) {
+        return (key << 8) | (score & 0xFF);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds an {@link OpeningBook} by solving every position of the first plies of the game.
+ * <p>
+ * The positions of each ply are enumerated as a sorted array of distinct canonical keys.
+ * The deepest ply is solved first; every shallower ply is then solved against a book of the
+ * plies below it, so its searches stop as soon as they reach a solved position. The positions
+ * of a ply are split into chunks that a fork-join pool solves on all workers, each worker with
+ * its own {@link Solver}.
+ */
+public class OpeningBookBuilder {
+    static final int CHUNK_SIZE = 64;
+    static final int DEFAULT_TABLE_BITS = 20;
+
+    private final int plies;
+    private final int parallelism;
+    private final int tableBits;
+
+    /**
+     * Creates a builder.
+     * 
+     * @param plies The largest number of discs of the positions in the book
+     * @param parallelism The number of worker threads
+     */
+    public OpeningBookBuilder(int plies, int parallelism) {
+        this(plies, parallelism, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Creates a builder.
+     * 
+     * @param plies The largest number of discs of the positions in the book
+     * @param parallelism The number of worker threads
+     * @param tableBits The base-2 logarithm of the transposition table size of every worker
+     */
+    public OpeningBookBuilder(int plies, int parallelism, int tableBits) {
+        if (plies < 0 || plies >= Solver.SIZE) {
+            throw new IllegalArgumentException("Plies must be between 0 and " + (Solver.SIZE - 1) + ", was " + plies);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.plies = plies;
+        this.parallelism = parallelism;
+        this.tableBits = tableBits;
+    }
+
+    /**
+     * Solves all positions and writes the book file.
+     * 
+     * @param path The book file, replaced if it exists
+     * @param progress Receives one line per solved ply, or null
+     * @return The written book, mapped from the file
+     * @throws IOException if the file cannot be written
+     */
+    public OpeningBook build(Path path, PrintStream progress) throws IOException {
+        long[][] levels = new long[plies + 1][];
+        levels[0] = new long[] {0};
+        for (int ply = 1; ply <= plies; ply++) {
+            levels[ply] = expand(levels[ply - 1]);
+        }
+
+        long[] entries = new long[0];
+        for (int ply = plies; ply >= 0; ply--) {
+            OpeningBook book = new OpeningBook(plies, LongBuffer.wrap(entries));
+            long start = System.nanoTime();
+            long[] solved = solve(levels[ply], ply, book);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            entries = merge(entries, solved);
+
+            if (progress != null) {
+                progress.printf("ply %2d: %,12d positions in %,9.1f s (%,.0f positions/sec)%n",
+                        ply, solved.length, seconds, solved.length / seconds);
+            }
+        }
+
+        OpeningBook.write(path, plies, entries);
+        return OpeningBook.open(path);
+    }
+
+    /**
+     * Finds all positions one disc deeper that nobody has won yet.
+     * 
+     * @param keys The canonical keys of the positions, all with the same number of discs
+     * @return The sorted, distinct canonical keys of their successors
+     */
+    static long[] expand(long[] keys) {
+        long[] children = new long[keys.length * GameBoard.COLUMNS];
+        int count = 0;
+        for (long key : keys) {
+            long occupied = occupiedOf(key);
+            long current = currentOf(key, occupied);
+            for (int column = 0; column < GameBoard.COLUMNS; column++) {
+                if (!Bitboards.canPlay(occupied, column)) {
+                    continue;
+                }
+                long move = Bitboards.landingCell(occupied, column);
+                if (!Bitboards.hasFourInARow(current | move)) {
+                    children[count++] = OpeningBook.canonicalKey(current ^ occupied, occupied | move);
+                }
+            }
+        }
+
+        Arrays.sort(children, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || children[i] != children[distinct - 1]) {
+                children[distinct++] = children[i];
+            }
+        }
+        return Arrays.copyOf(children, distinct);
+    }
+
+    /**
+     * Solves positions in parallel.
+     * 
+     * @param keys The sorted canonical keys of the positions
+     * @param ply The number of discs of every position
+     * @param book The positions solved so far
+     * @return The book entries of the positions, in the order of the keys
+     */
+    long[] solve(long[] keys, int ply, OpeningBook book) {
+        long[] entries = new long[keys.length];
+        ThreadLocal<Solver> solvers = ThreadLocal.withInitial(() -> new Solver(tableBits, book));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SolveTask(keys, ply, entries, solvers, 0, keys.length));
+        } finally {
+            pool.shutdown();
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the mask of all discs of a position from its key.
+     * Adding the bottom row to a key leaves a single marker bit above the top disc of every column.
+     * 
+     * @param key The position key
+     * @return The mask of all discs
+     */
+    static long occupiedOf(long key) {
+        long code = key + Bitboards.BOTTOM_MASK;
+        long columnBits = (1L << Bitboards.COLUMN_HEIGHT) - 1;
+        long occupied = 0;
+        for (int col = 0; col < GameBoard.COLUMNS; col++) {
+            int shift = col * Bitboards.COLUMN_HEIGHT;
+            occupied |= (Long.highestOneBit((code >>> shift) & columnBits) - 1) << shift;
+        }
+        return occupied;
+    }
+
+    /**
+     * Gets the discs of the side to move from a position key.
+     * 
+     * @param key The position key
+     * @param occupied The mask of all discs, see {@link #occupiedOf(long)}
+     * @return The discs of the side to move
+     */
+    static long currentOf(long key, long occupied) {
+        return (key + Bitboards.BOTTOM_MASK) & occupied;
+    }
+
+    /**
+     * Merges two sorted arrays of entries with distinct keys.
+     */
+    private static long[] merge(long[] first, long[] second) {
+        long[] merged = new long[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            merged[k++] = first[i] < second[j] ? first[i++] : second[j++];
+        }
+        while (i < first.length) {
+            merged[k++] = first[i++];
+        }
+        while (j < second.length) {
+            merged[k++] = second[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * Solves a range of positions, splitting it in halves until it fits into a chunk.
+     */
+    private static class SolveTask extends RecursiveAction {
+        private final long[] keys;
+        private final int ply;
+        private final long[] entries;
+        private final ThreadLocal<Solver> solvers;
+        private final int from;
+        private final int to;
+
+        SolveTask(long[] keys, int ply, long[] entries, ThreadLocal<Solver> solvers, int from, int to) {
+            this.keys = keys;
+            this.ply = ply;
+            this.entries = entries;
+            this.solvers = solvers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                Solver solver = solvers.get();
+                for (int i = from; i < to; i++) {
+                    long occupied = occupiedOf(keys[i]);
+                    int score = solver.score(currentOf(keys[i], occupied), occupied, ply);
+                    entries[i] = OpeningBook.entry(keys[i], score);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveTask(keys, ply, entries, solvers, from, middle),
+                    new SolveTask(keys, ply, entries, solvers, middle, to));
+        }
+    }
+
+    /**
+     * Builds a book file from the command line.
+     * 
+     * @param args The book file (default: opening-book.bin), the number of plies (default: 8)
+     *             and the number of threads (default: all cores)
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "opening-book.bin");
+        int plies = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Building a " + plies + "-ply opening book on " + threads + " threads");
+        long start = System.nanoTime();
+        OpeningBook book = new OpeningBookBuilder(plies, threads).build(path, System.out);
+        System.out.printf("Wrote %,d positions to %s in %.1f s%n", book.size(), path, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+
+/**
+ * Counts the outcomes of the games that pass through every position of the first plies of a corpus.
+ * <p>
+ * Positions are identified by their collision-free position code. When mirror images are folded,
+ * a position and its mirror image share the canonical code, so a game and its mirrored game add up
+ * in the same entries and the table needs about half the entries. The codes and counts are stored
+ * in parallel primitive arrays with linear probing, so a position costs 20 bytes and no objects.
+ * Only the standard 7x6 board is supported. Instances are not thread-safe.
+ */
+public class OpeningStats {
+    static final int INITIAL_CAPACITY = 1 << 10;
+
+    private static final long EMPTY = 0;
+    private static final int FIRST_WINS = 0;
+    private static final int SECOND_WINS = 1;
+    private static final int DRAWS = 2;
+    private static final int COUNTS = 3;
+
+    private final int maxPlies;
+    private final boolean foldMirrors;
+    private final GameBoard board = new GameBoard();
+    private long[] codes;
+    private int[] counts;
+    private int size;
+    private long positionsAdded;
+
+    /**
+     * Creates empty statistics.
+     * 
+     * @param maxPlies The largest number of discs of the counted positions; the empty board is counted too
+     * @param foldMirrors Whether a position and its mirror image are counted as one
+     */
+    public OpeningStats(int maxPlies, boolean foldMirrors) {
+        if (maxPlies < 0 || maxPlies > Solver.SIZE) {
+            throw new IllegalArgumentException("Plies must be between 0 and " + Solver.SIZE + ", was " + maxPlies);
+        }
+        this.maxPlies = maxPlies;
+        this.foldMirrors = foldMirrors;
+        codes = new long[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY * COUNTS];
+    }
+
+    /**
+     * Counts the positions of a finished game.
+     * 
+     * @param game The game, starting from the empty standard board
+     * @throws IllegalStateException if a move of the game is not valid
+     */
+    public void add(GameResult game) {
+        int outcome = game.isDraw() ? DRAWS : game.winner() == 0 ? FIRST_WINS : SECOND_WINS;
+        board.reset();
+        count(outcome);
+        int plies = Math.min(maxPlies, game.moveCount());
+        for (int i = 0; i < plies; i++) {
+            if (board.placeDisc(game.moves()[i], (i & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL) < 0) {
+                throw new IllegalStateException("Move " + i + " of the game is not valid");
+            }
+            count(outcome);
+        }
+    }
+
+    /**
+     * Counts the positions of all remaining games of an archive.
+     * 
+     * @param reader The archive of standard-board games
+     * @return The number of games counted
+     * @throws IOException if the archive cannot be read
+     * @throws IllegalArgumentException if the archive is not one of standard-board games
+     */
+    public long addAll(GameArchiveReader reader) throws IOException {
+        if (reader.getColumns() != GameBoard.COLUMNS || reader.getRows() != GameBoard.ROWS
+                || reader.getWinLength() != GameBoard.WIN_LENGTH) {
+            throw new IllegalArgumentException("Only archives of the standard board are supported");
+        }
+        long games = 0;
+        while (reader.next()) {
+            add(reader.toResult());
+            games++;
+        }
+        return games;
+    }
+
+    /**
+     * Gets the outcomes of the games that passed through the position on a board.
+     * With folded mirrors, the games through the mirror image are included.
+     * 
+     * @param position A standard board holding the position
+     * @return The tally, with no games if the position was not counted
+     */
+    public PositionTally lookup(GameBoard position) {
+        int slot = find(codeOf(position));
+        if (codes[slot] == EMPTY) {
+            return new PositionTally(0, 0, 0, 0);
+        }
+        int base = slot * COUNTS;
+        long firstWins = counts[base + FIRST_WINS];
+        long secondWins = counts[base + SECOND_WINS];
+        long draws = counts[base + DRAWS];
+        return new PositionTally(firstWins + secondWins + draws, firstWins, secondWins, draws);
+    }
+
+    /**
+     * Gets the number of distinct positions counted.
+     * 
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of positions looked up while counting, one per game and ply.
+     * 
+     * @return The number of counted positions, including repeated ones
+     */
+    public long getPositionsAdded() {
+        return positionsAdded;
+    }
+
+    /**
+     * Gets the memory held by the table of positions.
+     * 
+     * @return The size of the arrays in bytes
+     */
+    public long getMemoryBytes() {
+        return (long) codes.length * Long.BYTES + (long) counts.length * Integer.BYTES;
+    }
+
+    /**
+     * Adds a game outcome to the entry of the position on the board.
+     */
+    private void count(int outcome) {
+        long code = codeOf(board);
+        int slot = find(code);
+        if (codes[slot] == EMPTY) {
+            codes[slot] = code;
+            if (++size * 4 > codes.length * 3) {
+                grow();
+                slot = find(code);
+            }
+        }
+        counts[slot * COUNTS + outcome]++;
+        positionsAdded++;
+    }
+
+    /**
+     * Finds the slot of a code, or the empty slot where it belongs.
+     */
+    private int find(long code) {
+        int mask = codes.length - 1;
+        int slot = (int) mix(code) & mask;
+        while (codes[slot] != EMPTY && codes[slot] != code) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the table and reinserts all entries.
+     */
+    private void grow() {
+        long[] oldCodes = codes;
+        int[] oldCounts = counts;
+        codes = new long[oldCodes.length * 2];
+        counts = new int[codes.length * COUNTS];
+        for (int i = 0; i < oldCodes.length; i++) {
+            if (oldCodes[i] != EMPTY) {
+                int slot = find(oldCodes[i]);
+                codes[slot] = oldCodes[i];
+                System.arraycopy(oldCounts, i * COUNTS, counts, slot * COUNTS, COUNTS);
+            }
+        }
+    }
+
+    private long codeOf(GameBoard position) {
+        // Codes carry a marker bit per column, so no position has the empty code 0
+        return foldMirrors ? position.getCanonicalPositionCode() : position.getPositionCode();
+    }
+
+    /**
+     * Spreads the bits of a position code, whose low bits are the first columns only.
+     */
+    private static long mix(long code) {
+        code *= 0x9E3779B97F4A7C15L;
+        return code ^ (code >>> 32);
+    }
+}
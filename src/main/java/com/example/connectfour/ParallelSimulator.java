@@ -0,0 +1,145 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Spreads large batches of headless games across several cores using fork-join.
+ * <p>
+ * The games are split into fixed-size chunks. Every chunk gets its own engine, board and
+ * {@link GameStats}, so workers never share mutable state; the chunk statistics are merged
+ * when the tasks join. Each chunk derives its strategy seeds from the base seed and its chunk
+ * index only, so a batch produces the same statistics at every parallelism level.
+ */
+public class ParallelSimulator {
+    static final int CHUNK_SIZE = 1024;
+
+    private final int parallelism;
+    private final String firstName;
+    private final LongFunction<MoveStrategy> firstStrategy;
+    private final String secondName;
+    private final LongFunction<MoveStrategy> secondStrategy;
+
+    /**
+     * Creates a new parallel simulator.
+     * 
+     * @param parallelism The number of worker threads
+     * @param firstName The name recorded for wins of the first player
+     * @param firstStrategy Creates the first player's strategy from a seed
+     * @param secondName The name recorded for wins of the second player
+     * @param secondStrategy Creates the second player's strategy from a seed
+     */
+    public ParallelSimulator(int parallelism, String firstName, LongFunction<MoveStrategy> firstStrategy,
+                             String secondName, LongFunction<MoveStrategy> secondStrategy) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.firstName = firstName;
+        this.firstStrategy = firstStrategy;
+        this.secondName = secondName;
+        this.secondStrategy = secondStrategy;
+    }
+
+    /**
+     * Plays the given number of games and returns the merged statistics.
+     * 
+     * @param games The number of games to play
+     * @param seed The base seed of the batch
+     * @return The statistics of all played games
+     */
+    public GameStats run(int games, long seed) {
+        int chunks = (games + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks == 0) {
+            return new GameStats();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ChunkTask(0, chunks, games, seed));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Derives the seed of a chunk from the base seed.
+     * 
+     * @param seed The base seed of the batch
+     * @param chunk The chunk index
+     * @return The seed used by the chunk
+     */
+    static long chunkSeed(long seed, int chunk) {
+        return new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L)).nextLong();
+    }
+
+    /**
+     * Plays a range of chunks, splitting it in halves until a single chunk remains.
+     */
+    private class ChunkTask extends RecursiveTask<GameStats> {
+        private final int fromChunk;
+        private final int toChunk;
+        private final int totalGames;
+        private final long seed;
+
+        ChunkTask(int fromChunk, int toChunk, int totalGames, long seed) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.totalGames = totalGames;
+            this.seed = seed;
+        }
+
+        @Override
+        protected GameStats compute() {
+            if (toChunk - fromChunk == 1) {
+                return playChunk(fromChunk);
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            ChunkTask left = new ChunkTask(fromChunk, middle, totalGames, seed);
+            ChunkTask right = new ChunkTask(middle, toChunk, totalGames, seed);
+            left.fork();
+            GameStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+
+        private GameStats playChunk(int chunk) {
+            int games = Math.min(CHUNK_SIZE, totalGames - chunk * CHUNK_SIZE);
+            SplittableRandom seeds = new SplittableRandom(chunkSeed(seed, chunk));
+            BatchRunner runner = new BatchRunner(firstName, firstStrategy.apply(seeds.nextLong()),
+                    secondName, secondStrategy.apply(seeds.nextLong()));
+            return runner.run(games);
+        }
+    }
+
+    /**
+     * Measures random-vs-random throughput for every parallelism level from 1 to the number of cores.
+     * 
+     * @param args Optional number of games per level (default: 1,000,000)
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Simulating " + games + " random games per level on " + cores + " cores");
+        double baseline = 0;
+        for (int threads = 1; threads <= cores; threads++) {
+            ParallelSimulator simulator = new ParallelSimulator(threads,
+                    "Player 1", RandomStrategy::new, "Player 2", RandomStrategy::new);
+
+            long start = System.nanoTime();
+            simulator.run(games, 42);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double gamesPerSecond = games / seconds;
+            if (threads == 1) {
+                baseline = gamesPerSecond;
+            }
+            System.out.printf("%2d threads: %,12.0f games/sec (%.2fx)%n",
+                    threads, gamesPerSecond, gamesPerSecond / baseline);
+        }
+    }
+}
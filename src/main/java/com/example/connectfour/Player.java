@@ -3,5 +3,26 @@ package com.example.connectfour;
 /**
  * Represents a player in the Connect Four game.
  * Each player has a name and a symbol (disc character).
+ * Computer players also carry the strategy that selects their moves; human players have none.
  */
-public record Player(String name, char symbol) {}
\ No newline at end of file
+public record Player(String name, char symbol, MoveStrategy strategy) {
+
+    /**
+     * Creates a human player who enters moves on the console.
+     * 
+     * @param name The player's name
+     * @param symbol The player's disc symbol
+     */
+    public Player(String name, char symbol) {
+        this(name, symbol, null);
+    }
+
+    /**
+     * Checks if the player's moves are chosen by a strategy instead of console input.
+     * 
+     * @return true for computer players
+     */
+    public boolean isComputer() {
+        return strategy != null;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.connectfour;
+
+/**
+ * A batch of standard-board positions that are evaluated together.
+ * <p>
+ * The positions are packed into parallel primitive arrays, one per field (the discs of the side
+ * to move, the mask of all discs and the disc count), instead of one object per position. The
+ * evaluation walks the columns in the outer loop and the positions in the inner loop, so every
+ * inner loop runs the same straight-line bit operations over consecutive array elements, with
+ * conditional selects instead of branches. The winning cells of both players are computed once per
+ * position; for every move, only the winning cells of the side to move are computed again, since
+ * a move can only take winning cells away from the opponent. The arrays of a batch stay in the cache
+ * while the inner loops walk them once per column.
+ * <p>
+ * Every move of the side to move is scored one ply deep with the heuristic of
+ * {@link NegamaxStrategy}: a move that wins scores as a win, a move after which the opponent can
+ * win at once scores as a loss, and any other move scores as the negated estimate of the position
+ * it leads to. Ties are broken towards the center. Instances are not thread-safe.
+ */
+public final class PositionBatch {
+    static final int NO_MOVE_SCORE = -NegamaxStrategy.WIN_SCORE - Solver.SIZE - 1;
+
+    private static final int[] COLUMN_ORDER = NegamaxStrategy.centerFirstOrder();
+
+    private final long[] current;
+    private final long[] occupied;
+    private final int[] moveCounts;
+    private final long[] wins;
+    private final long[] threats;
+    private final int[] scores;
+    private final int[] columns;
+    private int size;
+
+    /**
+     * Creates an empty batch.
+     * 
+     * @param capacity The largest number of positions the batch holds
+     */
+    public PositionBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        current = new long[capacity];
+        occupied = new long[capacity];
+        moveCounts = new int[capacity];
+        wins = new long[capacity];
+        threats = new long[capacity];
+        scores = new int[capacity];
+        columns = new int[capacity];
+    }
+
+    /**
+     * Packs the position on a board into the batch.
+     * 
+     * @param board The standard board
+     * @return The index of the position in the batch
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is over
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(GameBoard board) {
+        long discs = Solver.sideToMove(board);
+        if (board.getMoveCount() == Solver.SIZE) {
+            throw new IllegalArgumentException("The board is full");
+        }
+        return add(discs, board.getOccupied(), board.getMoveCount());
+    }
+
+    /**
+     * Packs a position given as bitboards into the batch, without checking it.
+     * 
+     * @param discs The discs of the side to move
+     * @param mask The mask of all discs
+     * @param moveCount The number of discs on the board, below {@link Solver#SIZE}
+     * @return The index of the position in the batch
+     * @throws IllegalStateException if the batch is full
+     */
+    int add(long discs, long mask, int moveCount) {
+        if (size == current.length) {
+            throw new IllegalStateException("The batch is full with " + size + " positions");
+        }
+        current[size] = discs;
+        occupied[size] = mask;
+        moveCounts[size] = moveCount;
+        return size++;
+    }
+
+    /**
+     * Evaluates every position in the batch.
+     * The results are read with {@link #getColumn(int)} and {@link #getScore(int)}.
+     */
+    public void evaluate() {
+        int count = size;
+        for (int i = 0; i < count; i++) {
+            wins[i] = Bitboards.winningCells(current[i], occupied[i]);
+            threats[i] = Bitboards.winningCells(current[i] ^ occupied[i], occupied[i]);
+            scores[i] = NO_MOVE_SCORE;
+            columns[i] = -1;
+        }
+        for (int column : COLUMN_ORDER) {
+            long bottom = Bitboards.bottomMask(column);
+            long mask = Bitboards.columnMask(column);
+            for (int i = 0; i < count; i++) {
+                // The landing cell of a full column falls on the guard bit and is masked away
+                long landing = (occupied[i] + bottom) & mask;
+                long after = occupied[i] | landing;
+                long mine = current[i] | landing;
+                long opponent = current[i] ^ occupied[i];
+                // A move can only take winning cells away from the opponent
+                long opponentWins = threats[i] & ~landing;
+                long replies = opponentWins & Bitboards.playableCells(after);
+                int moveCount = moveCounts[i];
+                int estimate = -NegamaxStrategy.evaluate(opponent, mine, opponentWins, Bitboards.winningCells(mine, after));
+                int score = (wins[i] & landing) != 0 ? NegamaxStrategy.winScore(moveCount + 1)
+                        : replies != 0 ? -NegamaxStrategy.winScore(moveCount + 2)
+                        : moveCount + 1 == Solver.SIZE ? 0
+                        : estimate;
+                boolean better = landing != 0 & score > scores[i];
+                scores[i] = better ? score : scores[i];
+                columns[i] = better ? column : columns[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the best move of an evaluated position.
+     * 
+     * @param index The index of the position in the batch
+     * @return The column (0-based)
+     */
+    public int getColumn(int index) {
+        checkIndex(index);
+        return columns[index];
+    }
+
+    /**
+     * Gets the score of the best move of an evaluated position.
+     * 
+     * @param index The index of the position in the batch
+     * @return The score from the point of view of the side to move, on the scale of {@link NegamaxStrategy}
+     */
+    public int getScore(int index) {
+        checkIndex(index);
+        return scores[index];
+    }
+
+    /**
+     * Gets the number of positions in the batch.
+     * 
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the largest number of positions the batch holds.
+     * 
+     * @return The capacity
+     */
+    public int capacity() {
+        return current.length;
+    }
+
+    /**
+     * Removes all positions, keeping the arrays for the next batch.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside the batch of " + size);
+        }
+    }
+}
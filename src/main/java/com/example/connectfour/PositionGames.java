@@ -0,0 +1,11 @@
+package com.example.connectfour;
+
+/**
+ * The games that passed through a position, as found by {@link PositionIndex}.
+ * 
+ * @param games The number of matching games
+ * @param gameIds The IDs of the first matching games, in ascending order
+ * @param winners The winners of those games: 0 or 1 for the winning player, or {@link GameResult#DRAW}
+ */
+public record PositionGames(long games, long[] gameIds, int[] winners) {
+}
@@ -0,0 +1,948 @@
+package com.example.connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An embedded, file-backed index from positions to the games that passed through them.
+ * <p>
+ * Games get consecutive IDs in the order they are added, so the IDs are the positions of the
+ * games in an archive that is indexed from its start. Every position of a game, from the empty
+ * board to the final position, is identified by its collision-free position code. New games are
+ * collected in an in-memory table, which is written to a new segment file every few thousand
+ * games and on {@link #flush()}. A background thread merges adjacent segments whenever
+ * {@value #MERGE_FACTOR} of them cover about the same number of games, so a segment is rewritten
+ * only a few times and the number of segments grows with the logarithm of the game count.
+ * <p>
+ * A segment covers a consecutive range of game IDs. It starts with a 32-byte header (magic
+ * number, format version, first game ID, game count, position count), followed by the sorted
+ * position codes, the file offset of every posting list plus the end offset, every
+ * {@value #FENCE_INTERVAL}th position code as a fence, and the posting lists. A posting list holds
+ * the numbers of first-player wins, second-player wins and draws, then one entry per game in
+ * ascending ID order: the distance to the previous game ID (or to the segment's first ID) shifted
+ * left by two, with the outcome in the lowest two bits. All numbers are unsigned LEB128 varints,
+ * so most entries take a single byte. Segments are memory-mapped in windows of up to 1 GiB; only
+ * the fences are loaded into the heap, so a lookup binary-searches the fences in the heap and
+ * then a single block of {@value #FENCE_INTERVAL} position codes in the mapping.
+ * <p>
+ * Only the standard 7x6 board is supported. Instances are thread-safe; lookups do not wait for
+ * merges, only for new games and for writing the in-memory table.
+ */
+public class PositionIndex implements Closeable {
+    static final int MAGIC = 0x43345049;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int FENCE_INTERVAL = 1024;
+    static final int DEFAULT_FLUSH_GAMES = 1 << 14;
+    static final int MERGE_FACTOR = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".pix";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int DRAW_OUTCOME = GameArchiveWriter.OUTCOME_DRAW;
+
+    private final Path directory;
+    private final int flushGames;
+    private final ExecutorService compactor;
+    private final GameBoard board = new GameBoard();
+    private final long[] codes = new long[Solver.SIZE + 1];
+    private volatile List<Segment> segments;
+    private volatile Exception compactionFailure;
+    private MemTable memTable;
+    private long nextGameId;
+    private boolean closed;
+
+    private PositionIndex(Path directory, int flushGames, List<Segment> segments, long nextGameId) {
+        this.directory = directory;
+        this.flushGames = flushGames;
+        this.segments = segments;
+        this.nextGameId = nextGameId;
+        this.memTable = new MemTable(nextGameId, flushGames);
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "position-index-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens an index with the default number of games per new segment, creating the directory if needed.
+     * 
+     * @param directory The directory of the segment files
+     * @return The opened index
+     * @throws IOException if the directory cannot be read or holds an invalid or incomplete index
+     */
+    public static PositionIndex open(Path directory) throws IOException {
+        return open(directory, DEFAULT_FLUSH_GAMES);
+    }
+
+    /**
+     * Opens an index, creating the directory if needed. Segments left behind by an interrupted
+     * merge, which the merged segment covers, are deleted.
+     * 
+     * @param directory The directory of the segment files
+     * @param flushGames The number of games collected in memory before they are written to a segment
+     * @return The opened index
+     * @throws IOException if the directory cannot be read or holds an invalid or incomplete index
+     */
+    public static PositionIndex open(Path directory, int flushGames) throws IOException {
+        if (flushGames < 1) {
+            throw new IllegalArgumentException("Games per segment must be at least 1, was " + flushGames);
+        }
+        Files.createDirectories(directory);
+        List<Segment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.delete(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    found.add(Segment.open(file));
+                }
+            }
+        }
+
+        // Larger segments first, so that segments already merged into them are skipped
+        found.sort(Comparator.comparingLong((Segment segment) -> segment.firstGame)
+                .thenComparing(Comparator.comparingLong((Segment segment) -> segment.gameCount).reversed()));
+        List<Segment> segments = new ArrayList<>();
+        long nextGameId = 0;
+        for (Segment segment : found) {
+            if (segment.firstGame + segment.gameCount <= nextGameId) {
+                Files.delete(segment.path);
+            } else if (segment.firstGame != nextGameId) {
+                throw new IOException("Position index is missing games " + nextGameId + " to " + (segment.firstGame - 1)
+                        + ": " + directory);
+            } else {
+                segments.add(segment);
+                nextGameId += segment.gameCount;
+            }
+        }
+        return new PositionIndex(directory, flushGames, List.copyOf(segments), nextGameId);
+    }
+
+    /**
+     * Adds the positions of a finished game.
+     * 
+     * @param game The game, starting from the empty standard board
+     * @return The ID of the game
+     * @throws IOException if the in-memory table is full and cannot be written; the game is not added then
+     * @throws IllegalArgumentException if a move of the game is not valid
+     */
+    public synchronized long add(GameResult game) throws IOException {
+        requireOpen();
+        // Make room first, so a failed write leaves the table as it was and the game without an ID
+        if (memTable.games == flushGames) {
+            writeMemTable();
+        }
+        int outcome = game.isDraw() ? DRAW_OUTCOME : game.winner();
+        board.reset();
+        codes[0] = board.getPositionCode();
+        for (int i = 0; i < game.moveCount(); i++) {
+            char symbol = (i & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+            if (board.placeDisc(game.moves()[i], symbol) < 0) {
+                throw new IllegalArgumentException("Move " + i + " of the game is not valid");
+            }
+            codes[i + 1] = board.getPositionCode();
+        }
+
+        int localGame = memTable.games++;
+        memTable.outcomes[localGame] = (byte) outcome;
+        for (int i = 0; i <= game.moveCount(); i++) {
+            memTable.add(codes[i], localGame, outcome);
+        }
+        return nextGameId++;
+    }
+
+    /**
+     * Adds the positions of all remaining games of an archive.
+     * 
+     * @param reader The archive of standard-board games
+     * @return The number of games added
+     * @throws IOException if the archive cannot be read or a segment cannot be written
+     * @throws IllegalArgumentException if the archive is not one of standard-board games
+     */
+    public long addAll(GameArchiveReader reader) throws IOException {
+        if (reader.getColumns() != GameBoard.COLUMNS || reader.getRows() != GameBoard.ROWS
+                || reader.getWinLength() != GameBoard.WIN_LENGTH) {
+            throw new IllegalArgumentException("Only archives of the standard board are supported");
+        }
+        long games = 0;
+        while (reader.next()) {
+            add(reader.toResult());
+            games++;
+        }
+        return games;
+    }
+
+    /**
+     * Writes the games collected in memory to a new segment and starts merging segments in the background.
+     * A failure of an earlier background merge is reported after the games are written.
+     * 
+     * @throws IOException if the segment cannot be written or an earlier background merge failed
+     */
+    public synchronized void flush() throws IOException {
+        requireOpen();
+        writeMemTable();
+        checkCompaction();
+    }
+
+    /**
+     * Writes the games collected in memory, if any, to a new segment and starts merging segments
+     * in the background. Failures of background merges are left for {@link #flush()} and {@link #close()}.
+     * 
+     * @throws IOException if the segment cannot be written
+     */
+    private void writeMemTable() throws IOException {
+        if (memTable.games > 0) {
+            Segment segment = memTable.writeTo(segmentPath(memTable.firstGame, memTable.games));
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            segments = List.copyOf(updated);
+            memTable = new MemTable(nextGameId, flushGames);
+            compactor.execute(this::mergeTiers);
+        }
+    }
+
+    /**
+     * Merges all segments into one and waits until it is done.
+     * 
+     * @throws IOException if a segment cannot be read or written
+     */
+    public void compact() throws IOException {
+        flush();
+        try {
+            compactor.submit(() -> {
+                List<Segment> all = segments;
+                if (all.size() > 1) {
+                    replace(all, merge(all));
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compacting", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException("Compaction failed", e.getCause());
+        }
+    }
+
+    /**
+     * Counts the outcomes of the games that passed through a position.
+     * 
+     * @param position A standard board holding the position
+     * @return The tally, with no games if no game passed through the position
+     */
+    public PositionTally tally(GameBoard position) {
+        long code = position.getPositionCode();
+        long[] counts = new long[3];
+        List<Segment> snapshot;
+        synchronized (this) {
+            snapshot = segments;
+            memTable.tally(code, counts);
+        }
+        for (Segment segment : snapshot) {
+            long key = segment.find(code);
+            if (key >= 0) {
+                Postings postings = segment.postings(key);
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += postings.next();
+                }
+            }
+        }
+        return new PositionTally(counts[0] + counts[1] + counts[2], counts[0], counts[1], counts[2]);
+    }
+
+    /**
+     * Finds the games that passed through a position.
+     * 
+     * @param position A standard board holding the position
+     * @param limit The largest number of games to return
+     * @return The number of matching games, and the IDs and winners of the first of them in ascending ID order
+     */
+    public PositionGames findGames(GameBoard position, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative, was " + limit);
+        }
+        long code = position.getPositionCode();
+        List<Segment> snapshot;
+        long[] recentIds;
+        synchronized (this) {
+            snapshot = segments;
+            recentIds = memTable.games(code);
+        }
+
+        long total = recentIds.length;
+        long[] gameIds = new long[Math.min(limit, 64)];
+        int[] winners = new int[gameIds.length];
+        int found = 0;
+        for (Segment segment : snapshot) {
+            long key = segment.find(code);
+            if (key < 0) {
+                continue;
+            }
+            Postings postings = segment.postings(key);
+            long games = postings.next() + postings.next() + postings.next();
+            total += games;
+            long gameId = segment.firstGame;
+            for (long i = 0; i < games && found < limit; i++) {
+                long entry = postings.next();
+                gameId += entry >>> 2;
+                if (found == gameIds.length) {
+                    gameIds = Arrays.copyOf(gameIds, (int) Math.min(limit, 2L * found));
+                    winners = Arrays.copyOf(winners, gameIds.length);
+                }
+                gameIds[found] = gameId;
+                winners[found++] = winnerOf((int) entry & 3);
+            }
+        }
+        for (int i = 0; i < recentIds.length && found < limit; i++) {
+            if (found == gameIds.length) {
+                gameIds = Arrays.copyOf(gameIds, (int) Math.min(limit, 2L * found));
+                winners = Arrays.copyOf(winners, gameIds.length);
+            }
+            gameIds[found] = recentIds[i] >>> 2;
+            winners[found++] = winnerOf((int) recentIds[i] & 3);
+        }
+        return new PositionGames(total, Arrays.copyOf(gameIds, found), Arrays.copyOf(winners, found));
+    }
+
+    /**
+     * Gets the number of games added to the index, including those still in memory.
+     * 
+     * @return The game count, which is also the ID of the next game
+     */
+    public synchronized long getGameCount() {
+        return nextGameId;
+    }
+
+    /**
+     * Gets the number of segment files.
+     * 
+     * @return The segment count
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Gets the number of position entries in the segments. After {@link #compact()}, this is the
+     * number of distinct positions of the written games.
+     * 
+     * @return The sum of the position counts of all segments
+     */
+    public long getPositionCount() {
+        long positions = 0;
+        for (Segment segment : segments) {
+            positions += segment.keyCount;
+        }
+        return positions;
+    }
+
+    /**
+     * Gets the size of the segment files.
+     * 
+     * @return The total size in bytes
+     */
+    public long getIndexBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.size;
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the games collected in memory, waits for the background merges and closes the index.
+     * The merges are waited for even if the games cannot be written, so no file is written after closing.
+     * 
+     * @throws IOException if a segment cannot be written or a background merge failed
+     */
+    @Override
+    public void close() throws IOException {
+        IOException writeFailure = null;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeMemTable();
+            } catch (IOException e) {
+                writeFailure = e;
+            }
+            compactor.shutdown();
+        }
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the background merges", e);
+        }
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+        checkCompaction();
+    }
+
+    /**
+     * Merges adjacent segments as long as {@value #MERGE_FACTOR} of them are in the same tier.
+     * Runs on the compaction thread; a failure is reported once, by the next flush or close, and
+     * the merge is tried again after the next flush.
+     */
+    private void mergeTiers() {
+        try {
+            List<Segment> run;
+            while ((run = tierToMerge(segments)) != null) {
+                replace(run, merge(run));
+            }
+        } catch (IOException | RuntimeException e) {
+            // A damaged segment can fail with a runtime exception, which the executor would swallow
+            compactionFailure = e;
+        }
+    }
+
+    /**
+     * Finds the oldest {@value #MERGE_FACTOR} adjacent segments of the same tier. A segment is in
+     * tier t if it covers MERGE_FACTOR^t to MERGE_FACTOR^(t+1) in-memory tables. The newest segment
+     * is not required to be part of the run, since new tables are usually written while a merge runs.
+     */
+    private List<Segment> tierToMerge(List<Segment> all) {
+        int runLength = 0;
+        for (int i = 0; i < all.size(); i++) {
+            runLength = i > 0 && tierOf(all.get(i)) == tierOf(all.get(i - 1)) ? runLength + 1 : 1;
+            if (runLength == MERGE_FACTOR) {
+                return all.subList(i + 1 - MERGE_FACTOR, i + 1);
+            }
+        }
+        return null;
+    }
+
+    private int tierOf(Segment segment) {
+        int tier = 0;
+        for (long tables = segment.gameCount / flushGames; tables >= MERGE_FACTOR; tables /= MERGE_FACTOR) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * Writes one segment holding the games of consecutive segments.
+     * The position codes are merged twice: once to count them, which fixes the file layout, and
+     * once to write them.
+     * 
+     * @param run The segments, in ascending order of their game IDs
+     * @return The merged segment
+     * @throws IOException if a segment cannot be read or written
+     */
+    private Segment merge(List<Segment> run) throws IOException {
+        long firstGame = run.get(0).firstGame;
+        long gameCount = 0;
+        for (Segment segment : run) {
+            gameCount += segment.gameCount;
+        }
+        long positions = 0;
+        long[] next = new long[run.size()];
+        for (long code; (code = nextCode(run, next)) >= 0; positions++) {
+            for (int s = 0; s < run.size(); s++) {
+                if (next[s] < run.get(s).keyCount && run.get(s).key(next[s]) == code) {
+                    next[s]++;
+                }
+            }
+        }
+
+        Path path = segmentPath(firstGame, gameCount);
+        Arrays.fill(next, 0);
+        try (SegmentWriter writer = new SegmentWriter(tempPath(path), firstGame, gameCount, positions)) {
+            Postings[] postings = new Postings[run.size()];
+            for (long code; (code = nextCode(run, next)) >= 0;) {
+                long firstWins = 0;
+                long secondWins = 0;
+                long draws = 0;
+                for (int s = 0; s < run.size(); s++) {
+                    Segment segment = run.get(s);
+                    postings[s] = null;
+                    if (next[s] < segment.keyCount && segment.key(next[s]) == code) {
+                        postings[s] = segment.postings(next[s]++);
+                        firstWins += postings[s].next();
+                        secondWins += postings[s].next();
+                        draws += postings[s].next();
+                    }
+                }
+                writer.startPosition(code, firstWins, secondWins, draws);
+                for (int s = 0; s < run.size(); s++) {
+                    if (postings[s] != null) {
+                        long gameId = run.get(s).firstGame;
+                        while (postings[s].hasNext()) {
+                            long entry = postings[s].next();
+                            gameId += entry >>> 2;
+                            writer.addGame(gameId, (int) entry & 3);
+                        }
+                    }
+                }
+            }
+            writer.finish();
+        }
+        Files.move(tempPath(path), path, StandardCopyOption.ATOMIC_MOVE);
+        return Segment.open(path);
+    }
+
+    /**
+     * Finds the smallest position code at the cursors of a merge.
+     * 
+     * @return The code, or -1 if all segments are exhausted
+     */
+    private static long nextCode(List<Segment> run, long[] next) {
+        long smallest = -1;
+        for (int s = 0; s < run.size(); s++) {
+            Segment segment = run.get(s);
+            if (next[s] < segment.keyCount) {
+                long code = segment.key(next[s]);
+                if (smallest < 0 || code < smallest) {
+                    smallest = code;
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Puts a merged segment in place of the segments it was merged from and deletes their files.
+     * Lookups that are still reading the old segments keep their mappings.
+     */
+    private void replace(List<Segment> run, Segment merged) throws IOException {
+        synchronized (this) {
+            List<Segment> updated = new ArrayList<>(segments);
+            int start = updated.indexOf(run.get(0));
+            updated.subList(start, start + run.size()).clear();
+            updated.add(start, merged);
+            segments = List.copyOf(updated);
+        }
+        for (Segment segment : run) {
+            Files.delete(segment.path);
+        }
+    }
+
+    private Path segmentPath(long firstGame, long gameCount) {
+        return directory.resolve(SEGMENT_PREFIX + firstGame + "-" + gameCount + SEGMENT_SUFFIX);
+    }
+
+    private static Path tempPath(Path path) {
+        return path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+    }
+
+    private static int winnerOf(int outcome) {
+        return outcome == DRAW_OUTCOME ? GameResult.DRAW : outcome;
+    }
+
+    private void requireOpen() {
+        if (closed) {
+            throw new IllegalStateException("The position index is closed");
+        }
+    }
+
+    private void checkCompaction() throws IOException {
+        Exception failure = compactionFailure;
+        if (failure != null) {
+            compactionFailure = null;
+            throw new IOException("A background merge failed", failure);
+        }
+    }
+
+    /**
+     * An immutable segment file, memory-mapped in windows of up to 1 GiB. Every window starts at
+     * a multiple of its size, and all 8-byte values are aligned, so none of them crosses a window.
+     */
+    private static final class Segment {
+        final Path path;
+        final long size;
+        final long firstGame;
+        final long gameCount;
+        final long keyCount;
+        private final long offsetsStart;
+        private final long[] fences;
+        private final MappedByteBuffer[] windows;
+
+        private Segment(Path path, long size, MappedByteBuffer[] windows) throws IOException {
+            this.path = path;
+            this.size = size;
+            this.windows = windows;
+            if (size < HEADER_BYTES || getInt(0) != MAGIC) {
+                throw new IOException("Not a position index segment: " + path);
+            }
+            if (getInt(4) != VERSION) {
+                throw new IOException("Unsupported position index version " + getInt(4) + ": " + path);
+            }
+            firstGame = getLong(8);
+            gameCount = getLong(16);
+            keyCount = getLong(24);
+            offsetsStart = HEADER_BYTES + keyCount * Long.BYTES;
+            long fencesStart = offsetsStart + (keyCount + 1) * Long.BYTES;
+            int fenceCount = (int) ((keyCount + FENCE_INTERVAL - 1) / FENCE_INTERVAL);
+            if (keyCount < 0 || fencesStart + (long) fenceCount * Long.BYTES > size || offset(keyCount) != size) {
+                throw new IOException("Position index segment is truncated: " + path);
+            }
+            fences = new long[fenceCount];
+            for (int i = 0; i < fenceCount; i++) {
+                fences[i] = getLong(fencesStart + (long) i * Long.BYTES);
+            }
+        }
+
+        static Segment open(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size + WINDOW_MASK) >>> WINDOW_SHIFT)];
+                for (int i = 0; i < windows.length; i++) {
+                    long start = (long) i << WINDOW_SHIFT;
+                    windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_MASK + 1, size - start));
+                }
+                return new Segment(path, size, windows);
+            }
+        }
+
+        /**
+         * Finds a position code: first among the fences in the heap, then in one block of the mapping.
+         * 
+         * @return The index of the code, or -1 if the segment does not hold it
+         */
+        long find(long code) {
+            int fence = Arrays.binarySearch(fences, code);
+            if (fence >= 0) {
+                return (long) fence * FENCE_INTERVAL;
+            }
+            int block = -fence - 2;
+            if (block < 0) {
+                return -1;
+            }
+            long low = (long) block * FENCE_INTERVAL + 1;
+            long high = Math.min(keyCount, low - 1 + FENCE_INTERVAL) - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                long key = key(middle);
+                if (key < code) {
+                    low = middle + 1;
+                } else if (key > code) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        long key(long index) {
+            return getLong(HEADER_BYTES + index * Long.BYTES);
+        }
+
+        Postings postings(long index) {
+            return new Postings(this, offset(index), offset(index + 1));
+        }
+
+        int getByte(long position) {
+            return windows[(int) (position >>> WINDOW_SHIFT)].get((int) (position & WINDOW_MASK)) & 0xFF;
+        }
+
+        private long offset(long index) {
+            return getLong(offsetsStart + index * Long.BYTES);
+        }
+
+        private long getLong(long position) {
+            return windows[(int) (position >>> WINDOW_SHIFT)].getLong((int) (position & WINDOW_MASK));
+        }
+
+        private int getInt(long position) {
+            return windows[(int) (position >>> WINDOW_SHIFT)].getInt((int) (position & WINDOW_MASK));
+        }
+    }
+
+    /**
+     * Reads the varints of a posting list.
+     */
+    private static final class Postings {
+        private final Segment segment;
+        private final long end;
+        private long position;
+
+        Postings(Segment segment, long start, long end) {
+            this.segment = segment;
+            this.position = start;
+            this.end = end;
+        }
+
+        boolean hasNext() {
+            return position < end;
+        }
+
+        long next() {
+            long value = 0;
+            for (int shift = 0;; shift += 7) {
+                int b = segment.getByte(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a segment file. The layout is fixed by the number of positions, so the position codes,
+     * offsets and posting lists are written through separate buffers at their own file positions.
+     */
+    private static final class SegmentWriter implements Closeable {
+        private final FileChannel channel;
+        private final long firstGame;
+        private final long gameCount;
+        private final long keyCount;
+        private final long fencesStart;
+        private final long[] fences;
+        private final Output keys;
+        private final Output offsets;
+        private final Output postings;
+        private long written;
+        private long previousGame;
+
+        SegmentWriter(Path path, long firstGame, long gameCount, long keyCount) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.firstGame = firstGame;
+            this.gameCount = gameCount;
+            this.keyCount = keyCount;
+            long offsetsStart = HEADER_BYTES + keyCount * Long.BYTES;
+            fencesStart = offsetsStart + (keyCount + 1) * Long.BYTES;
+            fences = new long[(int) ((keyCount + FENCE_INTERVAL - 1) / FENCE_INTERVAL)];
+            keys = new Output(channel, HEADER_BYTES);
+            offsets = new Output(channel, offsetsStart);
+            postings = new Output(channel, fencesStart + (long) fences.length * Long.BYTES);
+        }
+
+        void startPosition(long code, long firstWins, long secondWins, long draws) throws IOException {
+            if (written % FENCE_INTERVAL == 0) {
+                fences[(int) (written / FENCE_INTERVAL)] = code;
+            }
+            written++;
+            keys.putLong(code);
+            offsets.putLong(postings.position());
+            postings.putVarint(firstWins);
+            postings.putVarint(secondWins);
+            postings.putVarint(draws);
+            previousGame = firstGame;
+        }
+
+        void addGame(long gameId, int outcome) throws IOException {
+            postings.putVarint((gameId - previousGame) << 2 | outcome);
+            previousGame = gameId;
+        }
+
+        void finish() throws IOException {
+            if (written != keyCount) {
+                throw new IllegalStateException("Wrote " + written + " of " + keyCount + " positions");
+            }
+            offsets.putLong(postings.position());
+            Output tail = new Output(channel, fencesStart);
+            for (long fence : fences) {
+                tail.putLong(fence);
+            }
+            Output header = new Output(channel, 0);
+            header.buffer.putInt(MAGIC).putInt(VERSION).putLong(firstGame).putLong(gameCount).putLong(keyCount);
+            for (Output output : new Output[] {keys, offsets, postings, tail, header}) {
+                output.drain();
+            }
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A buffer that is written to a channel at consecutive file positions.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private long filePosition;
+
+        Output(FileChannel channel, long filePosition) {
+            this.channel = channel;
+            this.filePosition = filePosition;
+        }
+
+        long position() {
+            return filePosition + buffer.position();
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                drain();
+            }
+            buffer.putLong(value);
+        }
+
+        void putVarint(long value) throws IOException {
+            if (buffer.remaining() < 10) {
+                drain();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) (value | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                filePosition += channel.write(buffer, filePosition);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * The games added since the last segment was written: an open-addressing table from position
+     * code to a linked list of entries, newest first, plus the outcome counts of every position.
+     */
+    private static final class MemTable {
+        final long firstGame;
+        final byte[] outcomes;
+        int games;
+        private long[] codes = new long[1 << 12];
+        private int[] heads = new int[codes.length];
+        private int[] tallies = new int[codes.length * 3];
+        private int size;
+        private int[] entryGames = new int[1 << 12];
+        private int[] entryNext = new int[entryGames.length];
+        private int entries;
+
+        MemTable(long firstGame, int capacity) {
+            this.firstGame = firstGame;
+            this.outcomes = new byte[capacity];
+        }
+
+        void add(long code, int localGame, int outcome) {
+            int slot = find(code);
+            if (codes[slot] == 0) {
+                codes[slot] = code;
+                heads[slot] = -1;
+                if (++size * 4 > codes.length * 3) {
+                    grow();
+                    slot = find(code);
+                }
+            }
+            if (entries == entryGames.length) {
+                entryGames = Arrays.copyOf(entryGames, entries * 2);
+                entryNext = Arrays.copyOf(entryNext, entries * 2);
+            }
+            entryGames[entries] = localGame;
+            entryNext[entries] = heads[slot];
+            heads[slot] = entries++;
+            tallies[slot * 3 + outcome]++;
+        }
+
+        void tally(long code, long[] counts) {
+            int slot = find(code);
+            if (codes[slot] != 0) {
+                for (int i = 0; i < 3; i++) {
+                    counts[i] += tallies[slot * 3 + i];
+                }
+            }
+        }
+
+        /**
+         * Gets the games of a position in ascending ID order, each as its ID shifted left by two
+         * with the outcome in the lowest two bits.
+         */
+        long[] games(long code) {
+            int slot = find(code);
+            if (codes[slot] == 0) {
+                return new long[0];
+            }
+            int count = tallies[slot * 3] + tallies[slot * 3 + 1] + tallies[slot * 3 + 2];
+            long[] result = new long[count];
+            for (int entry = heads[slot], i = count - 1; entry >= 0; entry = entryNext[entry], i--) {
+                int localGame = entryGames[entry];
+                result[i] = (firstGame + localGame) << 2 | outcomes[localGame];
+            }
+            return result;
+        }
+
+        Segment writeTo(Path path) throws IOException {
+            long[] sorted = new long[size];
+            int count = 0;
+            for (long code : codes) {
+                if (code != 0) {
+                    sorted[count++] = code;
+                }
+            }
+            Arrays.sort(sorted);
+
+            int[] localGames = new int[games];
+            try (SegmentWriter writer = new SegmentWriter(tempPath(path), firstGame, games, size)) {
+                for (long code : sorted) {
+                    int slot = find(code);
+                    writer.startPosition(code, tallies[slot * 3], tallies[slot * 3 + 1], tallies[slot * 3 + 2]);
+                    int listed = 0;
+                    for (int entry = heads[slot]; entry >= 0; entry = entryNext[entry]) {
+                        localGames[listed++] = entryGames[entry];
+                    }
+                    while (listed > 0) {
+                        int localGame = localGames[--listed];
+                        writer.addGame(firstGame + localGame, outcomes[localGame]);
+                    }
+                }
+                writer.finish();
+            }
+            Files.move(tempPath(path), path, StandardCopyOption.ATOMIC_MOVE);
+            return Segment.open(path);
+        }
+
+        private int find(long code) {
+            int mask = codes.length - 1;
+            long mixed = code * 0x9E3779B97F4A7C15L;
+            int slot = (int) (mixed ^ (mixed >>> 32)) & mask;
+            while (codes[slot] != 0 && codes[slot] != code) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldCodes = codes;
+            int[] oldHeads = heads;
+            int[] oldTallies = tallies;
+            codes = new long[oldCodes.length * 2];
+            heads = new int[codes.length];
+            tallies = new int[codes.length * 3];
+            for (int i = 0; i < oldCodes.length; i++) {
+                if (oldCodes[i] != 0) {
+                    int slot = find(oldCodes[i]);
+                    codes[slot] = oldCodes[i];
+                    heads[slot] = oldHeads[i];
+                    System.arraycopy(oldTallies, i * 3, tallies, slot * 3, 3);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.connectfour;
+
+/**
+ * The outcomes of the games that passed through a position, as counted by {@link OpeningStats}
+ * or {@link PositionIndex}.
+ * 
+ * @param games The number of games
+ * @param firstWins The number of those games won by the first player
+ * @param secondWins The number of those games won by the second player
+ * @param draws The number of those games that ended in a draw
+ */
+public record PositionTally(long games, long firstWins, long secondWins, long draws) {
+
+    /**
+     * Gets the share of points the first player scored from this position, counting draws as half.
+     * 
+     * @return The score between 0 and 1, or 0.5 if no game passed through the position
+     */
+    public double firstPlayerScore() {
+        return games == 0 ? 0.5 : (firstWins + draws / 2.0) / games;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+
+/**
+ * A move strategy that picks uniformly among the columns that are not full.
+ * Instances are not thread-safe; every simulation thread needs its own instance.
+ */
+public class RandomStrategy implements MoveStrategy {
+    private final SplittableRandom random;
+
+    /**
+     * Creates a random strategy with a fixed seed, so games can be reproduced.
+     * 
+     * @param seed The random seed
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int selectColumn(GameBoard board, char symbol) {
+        int validColumns = 0;
+        int columns = board.getColumns();
+        for (int col = 0; col < columns; col++) {
+            if (board.isValidMove(col)) {
+                validColumns++;
+            }
+        }
+
+        int choice = random.nextInt(validColumns);
+        for (int col = 0; col < columns; col++) {
+            if (board.isValidMove(col) && choice-- == 0) {
+                return col;
+            }
+        }
+
+        throw new IllegalStateException("No valid move left on the board");
+    }
+}
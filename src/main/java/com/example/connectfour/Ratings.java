@@ -0,0 +1,178 @@
+package com.example.connectfour;
+
+import java.util.Arrays;
+
+/**
+ * Elo and Glicko ratings of a fixed set of players, updated as game results come in.
+ * <p>
+ * Elo ratings change after every game, so they depend on the order in which results arrive.
+ * Glicko ratings (Glicko-1) are computed per rating period: results are collected until
+ * {@link #endPeriod()}, and then every player's rating and rating deviation are updated against
+ * the opponents' ratings from the start of the period. Games against the same opponent are
+ * aggregated, so a period costs memory per pair of players, not per game. Instances are thread-safe.
+ */
+public class Ratings {
+    static final double INITIAL_RATING = 1500;
+    static final double INITIAL_DEVIATION = 350;
+    static final double DEFAULT_ELO_K = 16;
+    static final double DEFAULT_DEVIATION_GROWTH = 15;
+
+    private static final double Q = Math.log(10) / 400;
+
+    private final double eloK;
+    private final double deviationGrowth;
+    private final double[] elo;
+    private final double[] glicko;
+    private final double[] deviation;
+    private final double[][] periodScores;
+    private final int[][] periodGames;
+
+    /**
+     * Creates ratings with default parameters for a number of players.
+     * 
+     * @param players The number of players
+     */
+    public Ratings(int players) {
+        this(players, DEFAULT_ELO_K, DEFAULT_DEVIATION_GROWTH);
+    }
+
+    /**
+     * Creates ratings for a number of players.
+     * 
+     * @param players The number of players
+     * @param eloK The largest Elo change per game
+     * @param deviationGrowth The Glicko constant c by which uncertainty grows per rating period
+     */
+    Ratings(int players, double eloK, double deviationGrowth) {
+        this.eloK = eloK;
+        this.deviationGrowth = deviationGrowth;
+        elo = new double[players];
+        glicko = new double[players];
+        deviation = new double[players];
+        periodScores = new double[players][players];
+        periodGames = new int[players][players];
+        Arrays.fill(elo, INITIAL_RATING);
+        Arrays.fill(glicko, INITIAL_RATING);
+        Arrays.fill(deviation, INITIAL_DEVIATION);
+    }
+
+    /**
+     * Records the result of a game.
+     * 
+     * @param first The index of one player
+     * @param second The index of the other player
+     * @param firstScore The score of the first player: 1 for a win, 0.5 for a draw, 0 for a loss
+     */
+    public synchronized void record(int first, int second, double firstScore) {
+        double expected = expectedScore(elo[first] - elo[second]);
+        double change = eloK * (firstScore - expected);
+        elo[first] += change;
+        elo[second] -= change;
+
+        periodScores[first][second] += firstScore;
+        periodScores[second][first] += 1 - firstScore;
+        periodGames[first][second]++;
+        periodGames[second][first]++;
+    }
+
+    /**
+     * Ends the current rating period and updates the Glicko ratings from its results.
+     */
+    public synchronized void endPeriod() {
+        int players = glicko.length;
+        double[] newRatings = new double[players];
+        double[] newDeviations = new double[players];
+        for (int player = 0; player < players; player++) {
+            double variance = 0;
+            double improvement = 0;
+            for (int opponent = 0; opponent < players; opponent++) {
+                int games = periodGames[player][opponent];
+                if (games == 0) {
+                    continue;
+                }
+                double g = g(deviation[opponent]);
+                double expected = 1 / (1 + Math.pow(10, -g * (glicko[player] - glicko[opponent]) / 400));
+                variance += games * g * g * expected * (1 - expected);
+                improvement += g * (periodScores[player][opponent] - games * expected);
+            }
+
+            if (variance == 0) {
+                newRatings[player] = glicko[player];
+                newDeviations[player] = deviation[player];
+            } else {
+                double dSquaredInverse = Q * Q * variance;
+                double precision = 1 / (deviation[player] * deviation[player]) + dSquaredInverse;
+                newRatings[player] = glicko[player] + Q / precision * improvement;
+                newDeviations[player] = Math.sqrt(1 / precision);
+            }
+        }
+
+        for (int player = 0; player < players; player++) {
+            glicko[player] = newRatings[player];
+            // Uncertainty grows until the next period
+            deviation[player] = Math.min(INITIAL_DEVIATION,
+                    Math.sqrt(newDeviations[player] * newDeviations[player] + deviationGrowth * deviationGrowth));
+            Arrays.fill(periodScores[player], 0);
+            Arrays.fill(periodGames[player], 0);
+        }
+    }
+
+    /**
+     * Gets the Elo rating of a player.
+     * 
+     * @param player The player index
+     * @return The Elo rating
+     */
+    public synchronized double getElo(int player) {
+        return elo[player];
+    }
+
+    /**
+     * Gets the Glicko rating of a player as of the last ended period.
+     * 
+     * @param player The player index
+     * @return The Glicko rating
+     */
+    public synchronized double getGlicko(int player) {
+        return glicko[player];
+    }
+
+    /**
+     * Gets the Glicko rating deviation of a player, including the growth until the next period.
+     * 
+     * @param player The player index
+     * @return The rating deviation
+     */
+    public synchronized double getDeviation(int player) {
+        return deviation[player];
+    }
+
+    /**
+     * Sets the Glicko rating of a player, e.g. to carry it over from an earlier event.
+     * 
+     * @param player The player index
+     * @param rating The Glicko rating
+     * @param deviation The rating deviation
+     */
+    synchronized void setGlicko(int player, double rating, double deviation) {
+        glicko[player] = rating;
+        this.deviation[player] = deviation;
+    }
+
+    /**
+     * Computes the expected score of a player from a rating difference.
+     * 
+     * @param difference The player's rating minus the opponent's rating
+     * @return The expected score, between 0 and 1
+     */
+    static double expectedScore(double difference) {
+        return 1 / (1 + Math.pow(10, -difference / 400));
+    }
+
+    /**
+     * Weighs down results against opponents whose rating is uncertain.
+     */
+    private static double g(double deviation) {
+        return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.connectfour;
+
+/**
+ * Shows the state of a game run by {@link GameLogic}: the board, messages and statistics.
+ * A renderer may hold output back until {@link #flush()}, which the game calls before it waits for input
+ * and when it ends.
+ */
+public interface Renderer {
+
+    /**
+     * Shows the current board.
+     * 
+     * @param board The board to show
+     */
+    void showBoard(GameBoard board);
+
+    /**
+     * Shows a line of text, such as a prompt or the outcome of a game.
+     * 
+     * @param message The text to show
+     */
+    void showMessage(String message);
+
+    /**
+     * Shows the statistics of the games played so far.
+     * 
+     * @param stats The statistics to show
+     */
+    void showStats(GameStats stats);
+
+    /**
+     * Makes everything shown so far visible.
+     */
+    void flush();
+}
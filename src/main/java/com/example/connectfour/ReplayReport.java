@@ -0,0 +1,38 @@
+package com.example.connectfour;
+
+/**
+ * Summarizes the replay of a game corpus by {@link ReplayRunner}.
+ * 
+ * @param games The number of games replayed
+ * @param moves The number of discs placed
+ * @param mismatches The number of games whose replay disagreed with the recorded outcome
+ * @param firstMismatch The index of the first such game, or -1 if all games agreed
+ * @param elapsedNanos The time of the replay in nanoseconds
+ */
+public record ReplayReport(long games, long moves, long mismatches, long firstMismatch, long elapsedNanos) {
+
+    /**
+     * Gets the replay throughput in games.
+     * 
+     * @return The number of games per second
+     */
+    public long gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Gets the replay throughput in moves.
+     * 
+     * @return The number of moves per second
+     */
+    public long movesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1_000_000_000L / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d games, %,d moves in %,d ms: %,d games/sec, %,d moves/sec, %,d mismatches%s",
+                games, moves, elapsedNanos / 1_000_000, gamesPerSecond(), movesPerSecond(), mismatches,
+                firstMismatch < 0 ? "" : " (first: game " + firstMismatch + ")");
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reproduces games for correctness checks and repeatable performance runs.
+ * <p>
+ * Seeded games are played through {@link GameLogic} by two random computer players whose seeds
+ * are derived from a game seed only, so the same seed always plays the same game. Recorded games
+ * can be played through {@link GameLogic} again from their move list, or a whole corpus can be
+ * replayed directly on a {@link GameBoard} as fast as possible. The corpus replay checks every
+ * game against its recorded outcome: each move must be valid, no move before the last may
+ * complete a line, and the outcome found by {@link GameBoard#completesLine(int, int, char)} must
+ * agree with a full scan of the final board.
+ */
+public class ReplayRunner {
+    private static final int INVALID_GAME = -2;
+
+    static final Renderer SILENT = new Renderer() {
+        @Override
+        public void showBoard(GameBoard board) {
+        }
+
+        @Override
+        public void showMessage(String message) {
+        }
+
+        @Override
+        public void showStats(GameStats stats) {
+        }
+
+        @Override
+        public void flush() {
+        }
+    };
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * Plays a game through the game logic between two random computer players.
+     * 
+     * @param board The board to play on; it is reset first
+     * @param gameSeed The seed that determines every move of the game
+     * @return The finished game
+     */
+    public static GameResult playSeeded(GameBoard board, long gameSeed) {
+        Player first = new Player("Player 1", GameEngine.FIRST_SYMBOL, new RandomStrategy(playerSeed(gameSeed, 0)));
+        Player second = new Player("Player 2", GameEngine.SECOND_SYMBOL, new RandomStrategy(playerSeed(gameSeed, 1)));
+        return play(board, first, second, new ScriptedMoveSource("n"));
+    }
+
+    /**
+     * Plays a recorded game through the game logic again, with its moves entered as console input.
+     * 
+     * @param board The board to play on; it is reset first
+     * @param game The recorded game
+     * @return The game as finished by the game logic, which must equal the recorded one
+     * @throws java.util.NoSuchElementException if the recorded moves do not finish the game
+     */
+    public static GameResult replay(GameBoard board, GameResult game) {
+        List<String> input = new ArrayList<>(game.moveCount() + 1);
+        for (int i = 0; i < game.moveCount(); i++) {
+            input.add(Integer.toString(game.moves()[i] + 1));
+        }
+        input.add("n");
+        return play(board, new Player("Player 1", GameEngine.FIRST_SYMBOL),
+                new Player("Player 2", GameEngine.SECOND_SYMBOL), new ScriptedMoveSource(input));
+    }
+
+    /**
+     * Derives the seed of a game of a seeded run, so that every game can be played on its own.
+     * 
+     * @param seed The seed of the run
+     * @param game The index of the game
+     * @return The seed of the game
+     */
+    public static long gameSeed(long seed, int game) {
+        return ParallelSimulator.chunkSeed(seed, game);
+    }
+
+    /**
+     * Replays all remaining games of an archive on a board and cross-checks their outcomes.
+     * 
+     * @param reader The archive, positioned before the first game to replay
+     * @return The number of games, moves and mismatches and the elapsed time
+     * @throws IOException if the archive cannot be read
+     */
+    public static ReplayReport replayCorpus(GameArchiveReader reader) throws IOException {
+        GameBoard board = new GameBoard(reader.getColumns(), reader.getRows(), reader.getWinLength());
+        long games = 0;
+        long moves = 0;
+        long mismatches = 0;
+        long firstMismatch = -1;
+
+        long start = System.nanoTime();
+        while (reader.next()) {
+            int moveCount = reader.getMoveCount();
+            if (replayedWinner(board, reader, moveCount) != reader.getWinner()) {
+                if (firstMismatch < 0) {
+                    firstMismatch = games;
+                }
+                mismatches++;
+            }
+            games++;
+            moves += moveCount;
+        }
+        return new ReplayReport(games, moves, mismatches, firstMismatch, System.nanoTime() - start);
+    }
+
+    /**
+     * Replays the current game of an archive and determines its outcome.
+     * 
+     * @return The winner as found on the board, {@link GameResult#DRAW}, or {@link #INVALID_GAME}
+     */
+    private static int replayedWinner(GameBoard board, GameArchiveReader reader, int moveCount) {
+        board.reset();
+        for (int i = 0; i < moveCount; i++) {
+            char symbol = (i & 1) == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+            int column = reader.getMove(i);
+            int row = board.placeDisc(column, symbol);
+            if (row < 0) {
+                return INVALID_GAME;
+            }
+            if (board.completesLine(row, column, symbol)) {
+                // Cross-check the incremental test against a scan of the whole board
+                boolean last = i == moveCount - 1;
+                return last && board.hasWinningLine(symbol) ? (i & 1) : INVALID_GAME;
+            }
+        }
+
+        boolean draw = board.isFull() && !board.hasWinningLine(GameEngine.FIRST_SYMBOL)
+                && !board.hasWinningLine(GameEngine.SECOND_SYMBOL);
+        return draw ? GameResult.DRAW : INVALID_GAME;
+    }
+
+    /**
+     * Runs one game session and returns the game it finished.
+     */
+    private static GameResult play(GameBoard board, Player first, Player second, MoveSource input) {
+        board.reset();
+        GameResult[] finished = new GameResult[1];
+        GameLogic logic = new GameLogic(board, first, second, null, input, SILENT);
+        logic.setResultListener(result -> finished[0] = result);
+        logic.startGame();
+        return finished[0];
+    }
+
+    private static long playerSeed(long gameSeed, int player) {
+        return ParallelSimulator.chunkSeed(gameSeed, player);
+    }
+
+    /**
+     * Records a seeded corpus or replays one.
+     * <p>
+     * {@code record <archive> [games] [seed]} plays seeded games through the game logic (default:
+     * 100,000 games, seed 42) and writes them to a new archive. {@code replay <archive> [passes]}
+     * replays the archive on a board the given number of times (default: 5) and reports the
+     * throughput and mismatches of every pass.
+     * 
+     * @param args The mode, the archive file and the mode's options
+     * @throws IOException if the archive cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: ReplayRunner record <archive> [games] [seed] | replay <archive> [passes]");
+            return;
+        }
+        Path path = Path.of(args[1]);
+
+        if (args[0].equals("record")) {
+            int games = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+            Files.deleteIfExists(path);
+
+            long start = System.nanoTime();
+            GameBoard board = new GameBoard();
+            try (GameArchiveWriter writer = GameArchiveWriter.open(path)) {
+                for (int game = 0; game < games; game++) {
+                    writer.write(playSeeded(board, gameSeed(seed, game)));
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Recorded %,d games with seed %d through the game logic in %.1f s (%,.0f games/sec)%n",
+                    games, seed, seconds, games / seconds);
+        } else if (args[0].equals("replay")) {
+            int passes = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+            for (int pass = 1; pass <= passes; pass++) {
+                try (GameArchiveReader reader = GameArchiveReader.open(path)) {
+                    System.out.println("Pass " + pass + ": " + replayCorpus(reader));
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown mode: " + args[0]);
+        }
+    }
+}
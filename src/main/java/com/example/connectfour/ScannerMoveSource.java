@@ -0,0 +1,40 @@
+package com.example.connectfour;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * Reads the players' answers from a text stream, such as the console or a network connection.
+ */
+public class ScannerMoveSource implements MoveSource {
+    private final Scanner scanner;
+
+    /**
+     * Creates a move source reading from a stream.
+     * 
+     * @param in The stream to read lines from
+     */
+    public ScannerMoveSource(InputStream in) {
+        this(new Scanner(in));
+    }
+
+    /**
+     * Creates a move source sharing a scanner with other readers of the same input,
+     * so that no reader buffers lines meant for another.
+     * 
+     * @param scanner The scanner to read lines from
+     */
+    public ScannerMoveSource(Scanner scanner) {
+        this.scanner = scanner;
+    }
+
+    @Override
+    public String nextLine() {
+        return scanner.nextLine();
+    }
+
+    @Override
+    public void close() {
+        scanner.close();
+    }
+}
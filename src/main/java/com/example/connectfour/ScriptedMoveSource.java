@@ -0,0 +1,47 @@
+package com.example.connectfour;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Replays a fixed list of answers, for tests and scripted replays without any input stream.
+ */
+public class ScriptedMoveSource implements MoveSource {
+    private final List<String> lines;
+    private int next;
+
+    /**
+     * Creates a move source that answers with the given lines in order.
+     * 
+     * @param lines The answers, such as column numbers (1-based), "u", "y" or "n"
+     */
+    public ScriptedMoveSource(String... lines) {
+        this(List.of(lines));
+    }
+
+    /**
+     * Creates a move source that answers with the given lines in order.
+     * 
+     * @param lines The answers, such as column numbers (1-based), "u", "y" or "n"
+     */
+    public ScriptedMoveSource(List<String> lines) {
+        this.lines = List.copyOf(lines);
+    }
+
+    @Override
+    public String nextLine() {
+        if (next >= lines.size()) {
+            throw new NoSuchElementException("The script has no more lines after " + lines.size());
+        }
+        return lines.get(next++);
+    }
+
+    /**
+     * Gets the number of lines not read yet.
+     * 
+     * @return The remaining line count
+     */
+    public int remaining() {
+        return lines.size() - next;
+    }
+}
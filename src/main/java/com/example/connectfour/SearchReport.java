@@ -0,0 +1,29 @@
+package com.example.connectfour;
+
+/**
+ * Describes the search behind a computer move.
+ * 
+ * @param column The chosen column (0-based index)
+ * @param depth The deepest fully completed search depth
+ * @param score The score of the chosen move from the mover's point of view
+ * @param nodes The number of positions visited
+ * @param elapsedNanos The time spent searching in nanoseconds
+ * @param ponderHit Whether the search continued from pondering on the position, whose nodes are not counted
+ */
+public record SearchReport(int column, int depth, int score, long nodes, long elapsedNanos, boolean ponderHit) {
+
+    /**
+     * Gets the search speed.
+     * 
+     * @return The number of positions visited per second
+     */
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d, score %d, %,d nodes, %,d nodes/sec%s", depth, score, nodes, nodesPerSecond(),
+                ponderHit ? ", ponder hit" : "");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.connectfour;
+
+/**
+ * The exact value of a position under perfect play by both sides.
+ * 
+ * @param score The solver score from the side to move's point of view: 0 for a draw, positive for a win
+ *              and negative for a loss, larger for quicker wins and smaller for quicker losses
+ * @param plies The number of discs still played until the game ends: the winning disc, or the last cell
+ *              filled in a draw
+ */
+public record Solution(int score, int plies) {
+
+    /**
+     * Checks if the side to move wins.
+     * 
+     * @return true for a forced win
+     */
+    public boolean isWin() {
+        return score > 0;
+    }
+
+    /**
+     * Checks if the side to move loses.
+     * 
+     * @return true for a forced loss
+     */
+    public boolean isLoss() {
+        return score < 0;
+    }
+
+    /**
+     * Checks if perfect play leads to a draw.
+     * 
+     * @return true for a draw
+     */
+    public boolean isDraw() {
+        return score == 0;
+    }
+
+    @Override
+    public String toString() {
+        String outcome = isWin() ? "win" : isLoss() ? "loss" : "draw";
+        return outcome + " in " + plies + (plies == 1 ? " ply" : " plies") + " (score " + score + ")";
+    }
+}
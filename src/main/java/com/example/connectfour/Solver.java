@@ -0,0 +1,339 @@
+package com.example.connectfour;
+
+/**
+ * Computes the exact value of positions on the standard 7x6 board.
+ * <p>
+ * Scores follow the usual convention for solved Connect Four: 0 for a draw, and for a win
+ * (43 - d) / 2, where d is the number of discs on the board before the winning disc, so quicker
+ * wins score higher. A loss scores the negated score of the opponent's win. The search runs
+ * negamax with alpha-beta pruning on null windows that narrow down the exact score. Moves that
+ * let the opponent win at once are never searched, and the remaining moves are tried in order of
+ * the winning cells they create, center first on ties. Bounds are kept in a
+ * {@link TranspositionTable} across solves; positions within the plies of an {@link OpeningBook}
+ * are read from the book instead of being searched. Exact scores of solved positions can also be
+ * kept in an {@link EvaluationCache} that several solvers share. Instances are not thread-safe.
+ */
+public class Solver {
+    static final int DEFAULT_TABLE_BITS = 22;
+    static final int SIZE = GameBoard.COLUMNS * GameBoard.ROWS;
+
+    /** The score {@link #analyze(GameBoard)} reports for full columns. */
+    public static final int INVALID_MOVE = Integer.MIN_VALUE;
+
+    private static final int[] COLUMN_ORDER = NegamaxStrategy.centerFirstOrder();
+
+    private final TranspositionTable table;
+    private final OpeningBook book;
+    private final EvaluationCache cache;
+    private final long[][] orderedMoves = new long[SIZE][GameBoard.COLUMNS];
+    private final int[][] orderScores = new int[SIZE][GameBoard.COLUMNS];
+    private long nodes;
+
+    /**
+     * Creates a solver with a default-sized transposition table and no opening book.
+     */
+    public Solver() {
+        this(DEFAULT_TABLE_BITS, null);
+    }
+
+    /**
+     * Creates a solver.
+     * 
+     * @param tableBits The base-2 logarithm of the transposition table size
+     * @param book The opening book to consult, or null to search every position
+     */
+    public Solver(int tableBits, OpeningBook book) {
+        this(tableBits, book, null);
+    }
+
+    /**
+     * Creates a solver that remembers the positions it solves in a shared cache.
+     * 
+     * @param tableBits The base-2 logarithm of the transposition table size
+     * @param book The opening book to consult, or null to search every position
+     * @param cache The cache to read and store exact scores in, or null
+     */
+    public Solver(int tableBits, OpeningBook book, EvaluationCache cache) {
+        this.table = new TranspositionTable(tableBits);
+        this.book = book;
+        this.cache = cache;
+    }
+
+    /**
+     * Solves the position on a board for the player to move.
+     * The first symbol placed moves on even move counts, the second one on odd move counts.
+     * 
+     * @param board The board, which is not modified
+     * @return The exact value of the position
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    public Solution solve(GameBoard board) {
+        long current = sideToMove(board);
+        int moveCount = board.getMoveCount();
+
+        nodes = 0;
+        int score = score(current, board.getOccupied(), moveCount);
+        return new Solution(score, plies(score, moveCount));
+    }
+
+    /**
+     * Solves every move of the player to move.
+     * 
+     * @param board The board, which is not modified
+     * @return The score of each column after playing it, from the mover's point of view,
+     *         or {@link #INVALID_MOVE} for full columns
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    public int[] analyze(GameBoard board) {
+        long current = sideToMove(board);
+        long occupied = board.getOccupied();
+        int moveCount = board.getMoveCount();
+
+        nodes = 0;
+        int[] scores = new int[GameBoard.COLUMNS];
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (!Bitboards.canPlay(occupied, column)) {
+                scores[column] = INVALID_MOVE;
+                continue;
+            }
+            long move = Bitboards.landingCell(occupied, column);
+            if (Bitboards.hasFourInARow(current | move)) {
+                scores[column] = (SIZE + 1 - moveCount) / 2;
+            } else {
+                scores[column] = -score(current ^ occupied, occupied | move, moveCount + 1);
+            }
+        }
+
+        if (cache != null) {
+            int best = -1;
+            for (int column : COLUMN_ORDER) {
+                if (scores[column] != INVALID_MOVE && (best < 0 || scores[column] > scores[best])) {
+                    best = column;
+                }
+            }
+            if (best >= 0) {
+                long key = current + occupied;
+                long canonical = Bitboards.canonicalKey(key);
+                cache.put(canonical, scores[best], canonical == key ? best : Bitboards.mirrorColumn(best));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Gets the number of positions searched by the last call to {@link #solve(GameBoard)}
+     * or {@link #analyze(GameBoard)}.
+     * 
+     * @return The node count
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Forgets all positions in the transposition table. A shared evaluation cache is kept.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Computes the exact score of a position in which nobody has won yet.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     * @return The score from the side to move's point of view
+     */
+    int score(long current, long occupied, int moveCount) {
+        if (cache == null) {
+            return search(current, occupied, moveCount);
+        }
+        // The discs of the side to move plus the mask of all discs identify a position exactly;
+        // a position and its mirror image share the smaller key and the same score
+        long key = Bitboards.canonicalKey(current + occupied);
+        int entry = cache.get(key);
+        if (entry != EvaluationCache.MISS) {
+            return EvaluationCache.scoreOf(entry);
+        }
+        int score = search(current, occupied, moveCount);
+        cache.put(key, score, EvaluationCache.NO_MOVE);
+        return score;
+    }
+
+    /**
+     * Searches the exact score of a position in which nobody has won yet.
+     */
+    private int search(long current, long occupied, int moveCount) {
+        table.newSearch();
+        if (moveCount == SIZE) {
+            return 0;
+        }
+        if ((Bitboards.winningCells(current, occupied) & Bitboards.playableCells(occupied)) != 0) {
+            return (SIZE + 1 - moveCount) / 2;
+        }
+
+        int min = -(SIZE - moveCount) / 2;
+        int max = (SIZE + 1 - moveCount) / 2;
+        while (min < max) {
+            // Probe close to zero first; those windows are the cheapest to refute
+            int middle = min + (max - min) / 2;
+            if (middle <= 0 && min / 2 < middle) {
+                middle = min / 2;
+            } else if (middle >= 0 && max / 2 > middle) {
+                middle = max / 2;
+            }
+            int score = negamax(current, occupied, moveCount, middle, middle + 1);
+            if (score <= middle) {
+                max = score;
+            } else {
+                min = score;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Scores a position in which the side to move cannot win with its next disc.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     * @param alpha The lower bound of the search window
+     * @param beta The upper bound of the search window
+     * @return The exact score if it lies inside the window, otherwise a bound on the same side of the window
+     */
+    private int negamax(long current, long occupied, int moveCount, int alpha, int beta) {
+        nodes++;
+
+        long next = ThreatAnalysis.nonLosingMoves(current, occupied);
+        if (next == 0) {
+            return -(SIZE - moveCount) / 2;
+        }
+        if (moveCount >= SIZE - 2) {
+            return 0;
+        }
+
+        // The opponent cannot win with their next disc, and neither can the side to move
+        int min = -(SIZE - 2 - moveCount) / 2;
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+        int max = (SIZE - 1 - moveCount) / 2;
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) {
+                return beta;
+            }
+        }
+
+        long key = Bitboards.canonicalKey(current + occupied);
+        boolean mirrored = key != current + occupied;
+        int entry = table.probe(key);
+        if (entry >= 0) {
+            int score = table.getScore(entry);
+            if (table.getFlag(entry) == TranspositionTable.LOWER_BOUND) {
+                if (alpha < score) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        return alpha;
+                    }
+                }
+            } else if (beta > score) {
+                beta = score;
+                if (alpha >= beta) {
+                    return beta;
+                }
+            }
+        }
+        if (book != null && moveCount <= book.getMaxPlies()) {
+            int score = book.probe(current, occupied);
+            if (score != OpeningBook.NOT_FOUND) {
+                return score;
+            }
+        }
+
+        long[] moves = orderedMoves[moveCount];
+        int[] scores = orderScores[moveCount];
+        int count = 0;
+        for (int i = 0; i < GameBoard.COLUMNS; i++) {
+            long move = next & Bitboards.columnMask(COLUMN_ORDER[i]);
+            if (move == 0) {
+                continue;
+            }
+            int score = Long.bitCount(Bitboards.winningCells(current | move, occupied | move));
+            int position = count++;
+            for (; position > 0 && scores[position - 1] < score; position--) {
+                moves[position] = moves[position - 1];
+                scores[position] = scores[position - 1];
+            }
+            moves[position] = move;
+            scores[position] = score;
+        }
+
+        for (int i = 0; i < count; i++) {
+            long move = moves[i];
+            int score = -negamax(current ^ occupied, occupied | move, moveCount + 1, -beta, -alpha);
+            if (score >= beta) {
+                int column = Long.numberOfTrailingZeros(move) / Bitboards.COLUMN_HEIGHT;
+                table.store(key, SIZE - moveCount, score, TranspositionTable.LOWER_BOUND,
+                        mirrored ? Bitboards.mirrorColumn(column) : column);
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+
+        table.store(key, SIZE - moveCount, alpha, TranspositionTable.UPPER_BOUND, -1);
+        return alpha;
+    }
+
+
+    /**
+     * Gets the discs of the player to move and checks that the board holds a position that can be solved.
+     * 
+     * @param board The board
+     * @return The disc mask of the player to move
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    static long sideToMove(GameBoard board) {
+        board.requireStandard();
+        long first = board.getDiscs(0);
+        long second = board.getDiscs(1);
+        if (Long.bitCount(first) - Long.bitCount(second) != (board.getMoveCount() & 1)) {
+            throw new IllegalArgumentException("The players did not alternate, starting with the first symbol placed");
+        }
+        if (Bitboards.hasFourInARow(first) || Bitboards.hasFourInARow(second)) {
+            throw new IllegalArgumentException("The game is already won");
+        }
+        return (board.getMoveCount() & 1) == 0 ? first : second;
+    }
+
+    /**
+     * Converts a score into the number of discs played until the game ends.
+     * 
+     * @param score The score from the side to move's point of view
+     * @param moveCount The number of discs on the board
+     * @return The number of remaining plies under perfect play
+     */
+    static int plies(int score, int moveCount) {
+        if (score == 0) {
+            return SIZE - moveCount;
+        }
+        // The winner's disc count d before the winning disc satisfies score = (SIZE + 1 - d) / 2,
+        // and the parity of d tells whose disc it is
+        int discsBefore = SIZE + 1 - 2 * Math.abs(score);
+        int winnerParity = score > 0 ? moveCount & 1 : (moveCount + 1) & 1;
+        if ((discsBefore & 1) != winnerParity) {
+            discsBefore--;
+        }
+        return discsBefore + 1 - moveCount;
+    }
+}
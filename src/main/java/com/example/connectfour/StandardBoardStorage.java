@@ -0,0 +1,54 @@
+package com.example.connectfour;
+
+/**
+ * Stores the discs of the standard 7x6 connect-four board as one 64-bit mask per slot.
+ * The bit layout and win length are compile-time constants from {@link Bitboards},
+ * which keeps the standard board as fast as a board without configurable dimensions.
+ */
+final class StandardBoardStorage implements BoardStorage {
+    private final long[] discs = new long[2];
+
+    @Override
+    public void set(int slot, int row, int column) {
+        discs[slot] |= 1L << Bitboards.bitIndex(row, column);
+    }
+
+    @Override
+    public void clear(int slot, int row, int column) {
+        discs[slot] &= ~(1L << Bitboards.bitIndex(row, column));
+    }
+
+    @Override
+    public void clearAll() {
+        discs[0] = 0;
+        discs[1] = 0;
+    }
+
+    @Override
+    public int slotAt(int row, int column) {
+        long bit = 1L << Bitboards.bitIndex(row, column);
+        if ((discs[0] & bit) != 0) {
+            return 0;
+        }
+        if ((discs[1] & bit) != 0) {
+            return 1;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean connects(int slot, int row, int column) {
+        long cell = 1L << Bitboards.bitIndex(row, column);
+        return (discs[slot] & cell) != 0 && Bitboards.connectsFour(discs[slot], cell);
+    }
+
+    @Override
+    public boolean hasLine(int slot) {
+        return Bitboards.hasFourInARow(discs[slot]);
+    }
+
+    @Override
+    public long discs(int slot) {
+        return discs[slot];
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.connectfour;
+
+/**
+ * The result of one player in a {@link Tournament}.
+ * 
+ * @param name The name of the player
+ * @param games The number of games played
+ * @param wins The number of games won
+ * @param draws The number of games drawn
+ * @param losses The number of games lost
+ * @param points The tournament points: one per win, half per draw and half per game of a bye
+ * @param elo The Elo rating
+ * @param glicko The Glicko rating
+ * @param deviation The Glicko rating deviation
+ */
+public record Standing(String name, int games, int wins, int draws, int losses, double points, double elo,
+        double glicko, double deviation) {
+}
@@ -0,0 +1,203 @@
+package com.example.connectfour;
+
+/**
+ * The immediate and long-term threats of both players in a position on the standard board.
+ * <p>
+ * A threat is an empty cell that would complete a line of four for a player. All threats of a
+ * player are found at once with the shift-and-mask line test of {@link Bitboards}, so an analysis
+ * takes a few dozen bit operations instead of trying every column on the board. Moves are reported
+ * as column masks, with bit c set for column c; threats are reported as bitboards.
+ * <p>
+ * Rows are counted from 1 at the bottom for the parity of a threat. Since the board has an even
+ * number of rows, the first player tends to get the odd cells and the second player the even cells
+ * once the board fills up, which decides who controls zugzwang. Instances are immutable.
+ */
+public final class ThreatAnalysis {
+    static final long ODD_ROWS = Bitboards.BOTTOM_MASK * 0b010101;
+    static final long EVEN_ROWS = Bitboards.BOTTOM_MASK * 0b101010;
+
+    private static final long COLUMN_GATHER = gatherMultiplier();
+    private static final int GATHER_SHIFT = (GameBoard.COLUMNS - 1) * Bitboards.COLUMN_HEIGHT;
+
+    private final int sideToMove;
+    private final long playable;
+    private final long[] threats = new long[2];
+    private final long safeMoves;
+
+    /**
+     * Analyzes a position given as bitboards.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @param moveCount The number of discs on the board
+     */
+    ThreatAnalysis(long current, long occupied, int moveCount) {
+        sideToMove = moveCount & 1;
+        playable = Bitboards.playableCells(occupied);
+        threats[sideToMove] = Bitboards.winningCells(current, occupied);
+        threats[1 - sideToMove] = Bitboards.winningCells(current ^ occupied, occupied);
+        // A winning move is always safe, whatever the opponent threatens
+        safeMoves = nonLosingMoves(current, occupied) | (threats[sideToMove] & playable);
+    }
+
+    /**
+     * Analyzes the position on a board.
+     * 
+     * @param board The standard board
+     * @return The analysis for the player to move
+     * @throws IllegalArgumentException if the board is not a standard board, the players did not
+     *         alternate, or the game is already won
+     */
+    public static ThreatAnalysis of(GameBoard board) {
+        return new ThreatAnalysis(Solver.sideToMove(board), board.getOccupied(), board.getMoveCount());
+    }
+
+    /**
+     * Gets the player whose move it is.
+     * 
+     * @return 0 for the first player, 1 for the second player
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Gets the columns in which a player completes a line with their next disc.
+     * For the opponent of the side to move, these are the columns that must be blocked.
+     * 
+     * @param player 0 for the first player, 1 for the second player
+     * @return The column mask of immediate wins
+     */
+    public int getWinningColumns(int player) {
+        return columnsOf(threats[player] & playable);
+    }
+
+    /**
+     * Gets the columns the side to move must play to stop the opponent from winning next move,
+     * unless the side to move can win at once.
+     * 
+     * @return The column mask of forced blocks; more than one column means the block cannot succeed
+     */
+    public int getForcedColumns() {
+        return getWinningColumns(1 - sideToMove);
+    }
+
+    /**
+     * Gets the moves of the side to move that let the opponent win with the very next disc:
+     * moves that neither win nor block an immediate threat, and moves right below an opponent threat.
+     * 
+     * @return The column mask of losing moves
+     */
+    public int getLosingColumns() {
+        return columnsOf(playable & ~safeMoves);
+    }
+
+    /**
+     * Gets the moves of the side to move after which the opponent cannot win at once.
+     * 
+     * @return The column mask of safe moves, including winning moves
+     */
+    public int getSafeColumns() {
+        return columnsOf(safeMoves);
+    }
+
+    /**
+     * Gets all threats of a player, including those that cannot be played yet.
+     * 
+     * @param player 0 for the first player, 1 for the second player
+     * @return The bitboard of empty cells that would complete a line for the player
+     */
+    public long getThreats(int player) {
+        return threats[player];
+    }
+
+    /**
+     * Gets the threats of a player on odd rows (1, 3 and 5, counted from the bottom).
+     * 
+     * @param player 0 for the first player, 1 for the second player
+     * @return The bitboard of odd threats
+     */
+    public long getOddThreats(int player) {
+        return threats[player] & ODD_ROWS;
+    }
+
+    /**
+     * Gets the threats of a player on even rows (2, 4 and 6, counted from the bottom).
+     * 
+     * @param player 0 for the first player, 1 for the second player
+     * @return The bitboard of even threats
+     */
+    public long getEvenThreats(int player) {
+        return threats[player] & EVEN_ROWS;
+    }
+
+    /**
+     * Estimates who controls zugzwang with the basic rules of threat parity: only the lowest
+     * threat of a column counts, since the column is decided there. The first player controls
+     * zugzwang with an odd threat that no threat of either player lies below; otherwise the second
+     * player does, because the second player gets the even cells when the columns fill up. Threats
+     * that can be played at once are tactics, not zugzwang, and are ignored.
+     * 
+     * @return 0 if the first player controls zugzwang, 1 if the second player does
+     */
+    public int getZugzwangController() {
+        long pending = (threats[0] | threats[1]) & ~playable;
+        long above = pending << 1;
+        for (int i = 1; i < GameBoard.ROWS - 1; i++) {
+            above |= (above & Bitboards.BOARD_MASK) << 1;
+        }
+        long lowest = pending & ~above;
+        return (threats[0] & lowest & ODD_ROWS) != 0 ? 0 : 1;
+    }
+
+    /**
+     * Gets the moves after which the opponent cannot win at once, assuming the side to move has no
+     * winning move. With two immediate threats of the opponent, no move is safe.
+     * 
+     * @param current The discs of the side to move
+     * @param occupied The mask of all discs
+     * @return The playable cells that do not lose immediately
+     */
+    static long nonLosingMoves(long current, long occupied) {
+        long possible = Bitboards.playableCells(occupied);
+        long opponentWins = Bitboards.winningCells(current ^ occupied, occupied);
+        long forced = possible & opponentWins;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                // Two threats at once cannot both be blocked
+                return 0;
+            }
+            possible = forced;
+        }
+        // Never play directly below a cell the opponent wins on
+        return possible & ~(opponentWins >>> 1);
+    }
+
+    /**
+     * Turns a bitboard into the mask of the columns that hold at least one of its cells.
+     * Every column is folded onto its bottom cell, and one multiplication gathers the seven
+     * bottom cells into seven adjacent bits.
+     * 
+     * @param cells The bitboard
+     * @return The column mask, with bit c set for column c
+     */
+    static int columnsOf(long cells) {
+        cells |= cells >>> 1;
+        cells |= cells >>> 2;
+        cells |= cells >>> 3;
+        return (int) (((cells & Bitboards.BOTTOM_MASK) * COLUMN_GATHER) >>> GATHER_SHIFT) & ((1 << GameBoard.COLUMNS) - 1);
+    }
+
+    /**
+     * Computes the multiplier that moves the bottom cell of column c to bit GATHER_SHIFT + c.
+     * The bottom cells are COLUMN_HEIGHT bits apart and the partial products COLUMN_HEIGHT - 1
+     * bits apart, so no two partial products meet and nothing carries into the gathered bits.
+     */
+    private static long gatherMultiplier() {
+        long multiplier = 0;
+        for (int col = 0; col < GameBoard.COLUMNS; col++) {
+            multiplier |= 1L << (GATHER_SHIFT - col * (Bitboards.COLUMN_HEIGHT - 1));
+        }
+        return multiplier;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.connectfour;
+
+/**
+ * The wall-clock limits of a search for one move.
+ * <p>
+ * No new iteration of a deepening search starts after the soft deadline, and none that is not
+ * expected to finish before the hard deadline. The hard deadline aborts the running iteration,
+ * whose partial result is thrown away, so the move is always taken from a completed iteration.
+ * 
+ * @param softMillis The time after which no new iteration starts, in milliseconds
+ * @param hardMillis The time after which the search is aborted, in milliseconds
+ */
+public record TimeControl(long softMillis, long hardMillis) {
+
+    /**
+     * Validates the deadlines.
+     * 
+     * @throws IllegalArgumentException if a deadline is not positive or the soft deadline is after the hard one
+     */
+    public TimeControl {
+        if (softMillis < 1 || hardMillis < softMillis) {
+            throw new IllegalArgumentException("Deadlines must satisfy 1 <= soft <= hard, were " + softMillis
+                    + " and " + hardMillis);
+        }
+    }
+
+    /**
+     * Creates limits with a single budget, which is both the soft and the hard deadline.
+     * 
+     * @param budgetMillis The time allowed per move in milliseconds
+     * @return The time control
+     */
+    public static TimeControl of(long budgetMillis) {
+        return new TimeControl(budgetMillis, budgetMillis);
+    }
+
+    /**
+     * Gets the soft deadline.
+     * 
+     * @return The soft deadline in nanoseconds
+     */
+    public long softNanos() {
+        return softMillis * 1_000_000L;
+    }
+
+    /**
+     * Gets the hard deadline.
+     * 
+     * @return The hard deadline in nanoseconds
+     */
+    public long hardNanos() {
+        return hardMillis * 1_000_000L;
+    }
+}
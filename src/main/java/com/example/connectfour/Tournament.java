@@ -0,0 +1,399 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays round-robin and Swiss tournaments between many move strategies.
+ * <p>
+ * Every pairing plays its games in pairs: both games of a pair start from the same random
+ * opening, with colors swapped, so neither player profits from the opening or from moving first.
+ * The games of a round are split into chunks that a fork-join pool plays on all workers. Every
+ * chunk creates its own strategy instances, seeded from the tournament seed, the round, the
+ * pairing and the chunk index only, so the wins, draws and losses of a tournament are the same
+ * at every parallelism level. When a chunk finishes, its games are fed into the {@link Ratings}
+ * and written to the game log. Elo ratings therefore depend on the order in which chunks finish;
+ * Glicko ratings are updated once per round and do not. Instances are not thread-safe.
+ */
+public class Tournament {
+    static final int CHUNK_SIZE = 50;
+    static final int OPENING_PLIES = 4;
+    static final String LOG_HEADER = "game,round,first,second,result,moves";
+
+    private final List<TournamentEntrant> entrants;
+    private final int parallelism;
+    private final long seed;
+    private Ratings ratings;
+    private int[] wins;
+    private int[] draws;
+    private int[] losses;
+    private double[] byePoints;
+    private int[] firstMoves;
+    private boolean[][] met;
+    private long gamesScheduled;
+    private Writer log;
+
+    /**
+     * Creates a tournament.
+     * 
+     * @param entrants The players, at least two
+     * @param parallelism The number of worker threads
+     * @param seed The seed of the openings and the strategies
+     */
+    public Tournament(List<TournamentEntrant> entrants, int parallelism, long seed) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least 2 entrants, was " + entrants.size());
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.entrants = List.copyOf(entrants);
+        this.parallelism = parallelism;
+        this.seed = seed;
+        clear();
+    }
+
+    /**
+     * Plays a round-robin tournament in which every player meets every other player once per cycle.
+     * Rounds are scheduled with the circle method, so every player plays at most one pairing per round;
+     * with an odd number of players, one player sits out every round.
+     * 
+     * @param gamesPerPairing The number of games between two players
+     * @param log Receives one CSV line per game, or null
+     * @return The final standings, best first
+     * @throws IOException if the log cannot be written
+     */
+    public List<Standing> roundRobin(int gamesPerPairing, Writer log) throws IOException {
+        requirePositive(gamesPerPairing);
+        start(log);
+
+        int count = entrants.size();
+        // A dummy player with index count stands for the bye of an odd field
+        int slots = count + (count & 1);
+        int[] circle = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            circle[i] = i;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int round = 0; round < slots - 1; round++) {
+                List<int[]> pairings = new ArrayList<>(slots / 2);
+                for (int i = 0; i < slots / 2; i++) {
+                    int first = circle[i];
+                    int second = circle[slots - 1 - i];
+                    if (first < count && second < count) {
+                        pairings.add(new int[] {first, second});
+                    }
+                }
+                playRound(pool, round, pairings, gamesPerPairing);
+
+                // Keep the first slot fixed and rotate all others by one
+                int last = circle[slots - 1];
+                System.arraycopy(circle, 1, circle, 2, slots - 2);
+                circle[1] = last;
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return getStandings();
+    }
+
+    /**
+     * Plays a Swiss tournament. Before every round, the players are ranked by points and paired
+     * from the top, each with the highest-ranked player below that they have not met yet. With an
+     * odd number of players, the lowest-ranked player without a bye sits out the round and scores
+     * half the points of a pairing; once every player has had a bye, the lowest-ranked player sits out.
+     * 
+     * @param rounds The number of rounds
+     * @param gamesPerPairing The number of games between two players in a round
+     * @param log Receives one CSV line per game, or null
+     * @return The final standings, best first
+     * @throws IOException if the log cannot be written
+     */
+    public List<Standing> swiss(int rounds, int gamesPerPairing, Writer log) throws IOException {
+        requirePositive(rounds);
+        requirePositive(gamesPerPairing);
+        start(log);
+
+        int count = entrants.size();
+        boolean[] hadBye = new boolean[count];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                List<Integer> ranking = ranking();
+                if ((count & 1) == 1) {
+                    int bye = ranking.size() - 1;
+                    while (bye >= 0 && hadBye[ranking.get(bye)]) {
+                        bye--;
+                    }
+                    if (bye < 0) {
+                        // Everybody has sat out already, so the lowest-ranked player sits out again
+                        bye = ranking.size() - 1;
+                    }
+                    int player = ranking.remove(bye);
+                    hadBye[player] = true;
+                    byePoints[player] += gamesPerPairing / 2.0;
+                }
+
+                List<int[]> pairings = new ArrayList<>(count / 2);
+                while (!ranking.isEmpty()) {
+                    int first = ranking.remove(0);
+                    int opponent = 0;
+                    while (opponent < ranking.size() - 1 && met[first][ranking.get(opponent)]) {
+                        opponent++;
+                    }
+                    // A rematch is only played when everybody left has been met already
+                    pairings.add(new int[] {first, ranking.remove(opponent)});
+                }
+                playRound(pool, round, pairings, gamesPerPairing);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return getStandings();
+    }
+
+    /**
+     * Gets the standings of the current or last tournament.
+     * 
+     * @return The standings, sorted by points, then Glicko rating
+     */
+    public synchronized List<Standing> getStandings() {
+        List<Standing> standings = new ArrayList<>(entrants.size());
+        for (int player : ranking()) {
+            int games = wins[player] + draws[player] + losses[player];
+            standings.add(new Standing(entrants.get(player).name(), games, wins[player], draws[player],
+                    losses[player], points(player), ratings.getElo(player), ratings.getGlicko(player),
+                    ratings.getDeviation(player)));
+        }
+        return standings;
+    }
+
+    /**
+     * Formats standings as a table with one line per player.
+     * 
+     * @param standings The standings, best first
+     * @return The table, ending with a line separator
+     */
+    public static String formatStandings(List<Standing> standings) {
+        int nameWidth = "Player".length();
+        for (Standing standing : standings) {
+            nameWidth = Math.max(nameWidth, standing.name().length());
+        }
+
+        StringBuilder table = new StringBuilder();
+        String format = "%4s  %-" + nameWidth + "s %7s %7s %7s %7s %9s %7s %7s %5s%n";
+        table.append(String.format(format, "Rank", "Player", "Games", "Wins", "Draws", "Losses", "Points",
+                "Elo", "Glicko", "RD"));
+        int rank = 1;
+        for (Standing standing : standings) {
+            table.append(String.format("%4d  %-" + nameWidth + "s %,7d %,7d %,7d %,7d %,9.1f %7.0f %7.0f %5.0f%n",
+                    rank++, standing.name(), standing.games(), standing.wins(), standing.draws(), standing.losses(),
+                    standing.points(), standing.elo(), standing.glicko(), standing.deviation()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Plays all pairings of a round in parallel and ends the rating period.
+     */
+    private void playRound(ForkJoinPool pool, int round, List<int[]> pairings, int gamesPerPairing)
+            throws IOException {
+        List<ChunkTask> tasks = new ArrayList<>();
+        for (int[] pairing : pairings) {
+            // The player who moved first less often so far moves first in the odd game
+            int home = firstMoves[pairing[0]] <= firstMoves[pairing[1]] ? pairing[0] : pairing[1];
+            int away = home == pairing[0] ? pairing[1] : pairing[0];
+            firstMoves[home] += (gamesPerPairing + 1) / 2;
+            firstMoves[away] += gamesPerPairing / 2;
+            met[home][away] = true;
+            met[away][home] = true;
+
+            long pairingSeed = seed ^ ((long) round << 40 | (long) Math.min(home, away) << 20 | Math.max(home, away));
+            for (int from = 0; from < gamesPerPairing; from += CHUNK_SIZE) {
+                int games = Math.min(CHUNK_SIZE, gamesPerPairing - from);
+                long chunkSeed = ParallelSimulator.chunkSeed(pairingSeed, from / CHUNK_SIZE);
+                tasks.add(new ChunkTask(round, home, away, games, gamesScheduled, chunkSeed));
+                gamesScheduled += games;
+            }
+        }
+
+        try {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ratings.endPeriod();
+        if (log != null) {
+            log.flush();
+        }
+    }
+
+    /**
+     * Feeds the games of a finished chunk into the ratings, the tallies and the log.
+     */
+    private synchronized void record(ChunkTask chunk, GameResult[] results, boolean[] homeFirst) {
+        StringBuilder lines = log == null ? null : new StringBuilder(results.length * 64);
+        for (int game = 0; game < results.length; game++) {
+            GameResult result = results[game];
+            int first = homeFirst[game] ? chunk.home : chunk.away;
+            int second = homeFirst[game] ? chunk.away : chunk.home;
+            if (result.isDraw()) {
+                draws[first]++;
+                draws[second]++;
+                ratings.record(first, second, 0.5);
+            } else {
+                int winner = result.winner() == 0 ? first : second;
+                int loser = winner == first ? second : first;
+                wins[winner]++;
+                losses[loser]++;
+                ratings.record(winner, loser, 1);
+            }
+
+            if (lines != null) {
+                lines.append(chunk.firstGame + game + 1).append(',').append(chunk.round + 1).append(',')
+                        .append(entrants.get(first).name()).append(',').append(entrants.get(second).name())
+                        .append(',').append(result.isDraw() ? "1/2-1/2" : result.winner() == 0 ? "1-0" : "0-1")
+                        .append(',');
+                for (int move = 0; move < result.moveCount(); move++) {
+                    lines.append((char) ('1' + result.moves()[move]));
+                }
+                lines.append('\n');
+            }
+        }
+
+        if (lines != null) {
+            try {
+                log.append(lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Clears the results and ratings of a previous tournament and starts the log.
+     */
+    private void start(Writer log) throws IOException {
+        clear();
+        this.log = log;
+        if (log != null) {
+            log.append(LOG_HEADER).append('\n');
+        }
+    }
+
+    /**
+     * Clears all results and ratings.
+     */
+    private void clear() {
+        int count = entrants.size();
+        ratings = new Ratings(count);
+        wins = new int[count];
+        draws = new int[count];
+        losses = new int[count];
+        byePoints = new double[count];
+        firstMoves = new int[count];
+        met = new boolean[count][count];
+        gamesScheduled = 0;
+        log = null;
+    }
+
+    /**
+     * Ranks the players by points, then Glicko rating, then entry order.
+     */
+    private List<Integer> ranking() {
+        List<Integer> ranking = new ArrayList<>(entrants.size());
+        for (int player = 0; player < entrants.size(); player++) {
+            ranking.add(player);
+        }
+        ranking.sort(Comparator.<Integer>comparingDouble(this::points).reversed()
+                .thenComparing(Comparator.<Integer>comparingDouble(ratings::getGlicko).reversed())
+                .thenComparingInt(player -> player));
+        return ranking;
+    }
+
+    private double points(int player) {
+        return wins[player] + draws[player] / 2.0 + byePoints[player];
+    }
+
+    private static void requirePositive(int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Value must be at least 1, was " + value);
+        }
+    }
+
+    /**
+     * Plays a chunk of the games of a pairing, in pairs that share an opening and swap colors.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private final int round;
+        private final int home;
+        private final int away;
+        private final int games;
+        private final long firstGame;
+        private final long chunkSeed;
+
+        ChunkTask(int round, int home, int away, int games, long firstGame, long chunkSeed) {
+            this.round = round;
+            this.home = home;
+            this.away = away;
+            this.games = games;
+            this.firstGame = firstGame;
+            this.chunkSeed = chunkSeed;
+        }
+
+        @Override
+        protected void compute() {
+            SplittableRandom random = new SplittableRandom(chunkSeed);
+            byte[] opening = new byte[OPENING_PLIES];
+            OpeningStrategy homeStrategy = new OpeningStrategy(opening,
+                    entrants.get(home).strategy().apply(random.nextLong()));
+            OpeningStrategy awayStrategy = new OpeningStrategy(opening,
+                    entrants.get(away).strategy().apply(random.nextLong()));
+            GameEngine homeFirstEngine = new GameEngine(homeStrategy, awayStrategy);
+            GameEngine awayFirstEngine = new GameEngine(awayStrategy, homeStrategy);
+
+            GameResult[] results = new GameResult[games];
+            boolean[] homeFirst = new boolean[games];
+            for (int game = 0; game < games; game++) {
+                if ((game & 1) == 0) {
+                    // Four discs can never overflow a column or complete a line
+                    for (int ply = 0; ply < OPENING_PLIES; ply++) {
+                        opening[ply] = (byte) random.nextInt(GameBoard.COLUMNS);
+                    }
+                }
+                homeFirst[game] = (game & 1) == 0;
+                results[game] = (homeFirst[game] ? homeFirstEngine : awayFirstEngine).play();
+            }
+            record(this, results, homeFirst);
+        }
+    }
+
+    /**
+     * Plays the moves of a fixed opening, then lets another strategy take over.
+     */
+    private static class OpeningStrategy implements MoveStrategy {
+        private final byte[] opening;
+        private final MoveStrategy strategy;
+
+        OpeningStrategy(byte[] opening, MoveStrategy strategy) {
+            this.opening = opening;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public int selectColumn(GameBoard board, char symbol) {
+            int moveCount = board.getMoveCount();
+            return moveCount < opening.length ? opening[moveCount] : strategy.selectColumn(board, symbol);
+        }
+    }
+}
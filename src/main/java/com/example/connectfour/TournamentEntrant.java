@@ -0,0 +1,13 @@
+package com.example.connectfour;
+
+import java.util.function.LongFunction;
+
+/**
+ * A player taking part in a {@link Tournament}.
+ * 
+ * @param name The name shown in the standings and the game log
+ * @param strategy Creates a fresh instance of the player's strategy from a seed; every worker
+ *                 gets its own instances, so strategies need not be thread-safe
+ */
+public record TournamentEntrant(String name, LongFunction<MoveStrategy> strategy) {
+}
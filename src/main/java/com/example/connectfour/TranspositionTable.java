@@ -0,0 +1,136 @@
+package com.example.connectfour;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of search results keyed by a 64-bit position key.
+ * <p>
+ * Entries are stored in parallel primitive arrays indexed by the low bits of the key.
+ * When two positions map to the same index, the new entry replaces the old one if the old
+ * entry belongs to an earlier search or was searched to a depth that is not larger.
+ * Instances are not thread-safe.
+ */
+public class TranspositionTable {
+    public static final byte EXACT = 1;
+    public static final byte LOWER_BOUND = 2;
+    public static final byte UPPER_BOUND = 3;
+
+    private final long[] keys;
+    private final short[] scores;
+    private final byte[] depths;
+    private final byte[] flags;
+    private final byte[] moves;
+    private final byte[] generations;
+    private final int indexMask;
+    private byte generation;
+
+    /**
+     * Creates a new empty table.
+     * 
+     * @param sizeBits The base-2 logarithm of the number of entries (1-30)
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 30) {
+            throw new IllegalArgumentException("Table size bits must be between 1 and 30, was " + sizeBits);
+        }
+        int size = 1 << sizeBits;
+        keys = new long[size];
+        scores = new short[size];
+        depths = new byte[size];
+        flags = new byte[size];
+        moves = new byte[size];
+        generations = new byte[size];
+        indexMask = size - 1;
+    }
+
+    /**
+     * Starts a new search. Entries of earlier searches stay readable but are replaced first.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * Finds the entry of a position.
+     * 
+     * @param key The position key
+     * @return The entry index, or -1 if the position is not stored
+     */
+    public int probe(long key) {
+        int index = index(key);
+        return keys[index] == key && flags[index] != 0 ? index : -1;
+    }
+
+    /**
+     * Stores the result of a search, subject to the replacement policy.
+     * 
+     * @param key The position key
+     * @param depth The remaining search depth of the result
+     * @param score The score of the position
+     * @param flag {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param move The best move found (0-based column)
+     */
+    public void store(long key, int depth, int score, byte flag, int move) {
+        int index = index(key);
+        if (flags[index] != 0 && keys[index] != key && generations[index] == generation && depths[index] > depth) {
+            return;
+        }
+        keys[index] = key;
+        scores[index] = (short) score;
+        depths[index] = (byte) depth;
+        flags[index] = flag;
+        moves[index] = (byte) move;
+        generations[index] = generation;
+    }
+
+    /**
+     * Gets the score of an entry.
+     * 
+     * @param index The entry index returned by {@link #probe(long)}
+     * @return The stored score
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Gets the search depth of an entry.
+     * 
+     * @param index The entry index returned by {@link #probe(long)}
+     * @return The stored depth
+     */
+    public int getDepth(int index) {
+        return depths[index];
+    }
+
+    /**
+     * Gets the bound type of an entry.
+     * 
+     * @param index The entry index returned by {@link #probe(long)}
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public byte getFlag(int index) {
+        return flags[index];
+    }
+
+    /**
+     * Gets the best move of an entry.
+     * 
+     * @param index The entry index returned by {@link #probe(long)}
+     * @return The stored move (0-based column)
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(flags, (byte) 0);
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 29)) & indexMask;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private static char symbolOf(int player) {
+        return player == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+    }
+
+    /**
+     * Creates random positions that are neither won nor full.
+     */
+    private static GameBoard[] randomPositions(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GameBoard[] boards = new GameBoard[count];
+        for (int i = 0; i < count; i++) {
+            boards[i] = SolverTest.randomPosition(random, random.nextInt(Solver.SIZE - 2));
+        }
+        return boards;
+    }
+
+    /**
+     * Scores every move by placing it on the board and trying every reply, keeping the first best
+     * move in center-first order.
+     */
+    private static Evaluation naiveEvaluation(GameBoard board) {
+        int player = board.getMoveCount() & 1;
+        Evaluation best = null;
+        for (int column : NegamaxStrategy.centerFirstOrder()) {
+            if (!board.isValidMove(column)) {
+                continue;
+            }
+            int row = board.placeDisc(column, symbolOf(player));
+            int score;
+            if (board.completesLine(row, column, symbolOf(player))) {
+                score = NegamaxStrategy.winScore(board.getMoveCount());
+            } else if (opponentWinsAtOnce(board, 1 - player)) {
+                score = -NegamaxStrategy.winScore(board.getMoveCount() + 1);
+            } else if (board.isFull()) {
+                score = 0;
+            } else {
+                score = -NegamaxStrategy.evaluate(board.getDiscs(1 - player), board.getOccupied());
+            }
+            board.undoMove();
+            if (best == null || score > best.score()) {
+                best = new Evaluation(column, score);
+            }
+        }
+        return best;
+    }
+
+    private static boolean opponentWinsAtOnce(GameBoard board, int opponent) {
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (board.isValidMove(column)) {
+                int row = board.placeDisc(column, symbolOf(opponent));
+                boolean wins = board.completesLine(row, column, symbolOf(opponent));
+                board.undoMove();
+                if (wins) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void testBatchMatchesNaiveEvaluation() {
+        GameBoard[] boards = randomPositions(3000, 7);
+        for (int capacity : new int[] {1, 7, 1024}) {
+            PositionBatch batch = new PositionBatch(capacity);
+            for (int offset = 0; offset < boards.length; offset += capacity) {
+                batch.clear();
+                int count = Math.min(capacity, boards.length - offset);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(i, batch.add(boards[offset + i]), "Positions should be numbered in order");
+                }
+                batch.evaluate();
+                for (int i = 0; i < count; i++) {
+                    Evaluation expected = naiveEvaluation(boards[offset + i]);
+                    assertEquals(expected, new Evaluation(batch.getColumn(i), batch.getScore(i)),
+                            "Batch of " + capacity + " should match the naive evaluation of position " + (offset + i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWinsAndBlocks() {
+        PositionBatch batch = new PositionBatch(2);
+        int win = batch.add(TestBoards.board(0, 0, 1, 1, 2, 5));
+        int block = batch.add(TestBoards.board(0, 0, 1, 1, 2));
+        batch.evaluate();
+
+        assertEquals(3, batch.getColumn(win), "The first player should complete the bottom row");
+        assertEquals(NegamaxStrategy.winScore(7), batch.getScore(win), "A win with the seventh disc should score as such");
+        assertEquals(3, batch.getColumn(block), "The second player should block the bottom row");
+        assertTrue(Math.abs(batch.getScore(block)) < NegamaxStrategy.WIN_SCORE, "The block should hold for a ply");
+    }
+
+    @Test
+    void testInvalidPositionsAreRejected() {
+        PositionBatch batch = new PositionBatch(1);
+        assertThrows(IllegalArgumentException.class, () -> batch.add(TestBoards.board(0, 1, 0, 1, 0, 1, 0)), "A won game has no move");
+        batch.add(new GameBoard());
+        assertThrows(IllegalStateException.class, () -> batch.add(new GameBoard()), "The batch is full");
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getColumn(1));
+        assertThrows(IllegalArgumentException.class, () -> new PositionBatch(0));
+        assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator(0, 100));
+    }
+
+    @Test
+    void testPendingPositionsAreCoalesced() {
+        GameBoard[] boards = randomPositions(64, 11);
+        try (BatchEvaluator evaluator = new BatchEvaluator(64, 10_000_000)) {
+            List<CompletableFuture<Evaluation>> results = new ArrayList<>();
+            for (GameBoard board : boards) {
+                results.add(evaluator.submit(board));
+            }
+            for (int i = 0; i < boards.length; i++) {
+                assertEquals(naiveEvaluation(boards[i]), results.get(i).join(), "Result of position " + i);
+            }
+            assertEquals(1, evaluator.getBatchCount(), "A full batch should be evaluated without waiting for the window");
+            assertEquals(64, evaluator.getEvaluatedCount(), "Every position should be evaluated once");
+        }
+    }
+
+    @Test
+    void testWindowBoundsTheWait() {
+        try (BatchEvaluator evaluator = new BatchEvaluator(1024, 2000)) {
+            long start = System.nanoTime();
+            Evaluation evaluation = evaluator.submit(new GameBoard()).join();
+            assertEquals(3, evaluation.column(), "The center column should be preferred on the empty board");
+            assertTrue(System.nanoTime() - start < 1_000_000_000L, "A lone position should wait only for the window");
+            assertEquals(1, evaluator.getBatchCount(), "The lone position should form its own batch");
+        }
+    }
+
+    @Test
+    void testClosingEvaluatesPendingPositions() {
+        BatchEvaluator evaluator = new BatchEvaluator(1024, 60_000_000);
+        GameBoard board = TestBoards.board(3, 3, 2);
+        CompletableFuture<Evaluation> first = evaluator.submit(board);
+        CompletableFuture<Evaluation> second = evaluator.submit(new GameBoard());
+        evaluator.close();
+
+        assertTrue(first.isDone() && second.isDone(), "Closing should not wait for the window");
+        assertEquals(naiveEvaluation(board), first.join(), "Pending positions should be evaluated on close");
+        assertThrows(IllegalStateException.class, () -> evaluator.submit(new GameBoard()), "A closed evaluator rejects positions");
+    }
+
+    @Test
+    void testStrategySharedByManyGames() throws InterruptedException {
+        AtomicInteger evaluatorWins = new AtomicInteger();
+        try (BatchEvaluator evaluator = new BatchEvaluator(16, 500)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                Thread thread = new Thread(() -> {
+                    GameEngine engine = new GameEngine(evaluator.strategy(), new RandomStrategy(seed));
+                    for (int game = 0; game < 10; game++) {
+                        if (engine.play().winner() == 0) {
+                            evaluatorWins.incrementAndGet();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(evaluator.getEvaluatedCount() >= 80 * 4, "Every game should ask the evaluator for its moves");
+            assertTrue(evaluator.getBatchCount() < evaluator.getEvaluatedCount(), "Moves of several games should share batches");
+        }
+        assertTrue(evaluatorWins.get() >= 70, "The evaluator should beat random moves, won " + evaluatorWins.get() + " of 80");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.connectfour;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGameStatsTest {
+
+    private static final int THREADS = 8;
+    private static final int GAMES_PER_THREAD = 100_000;
+
+    @Test
+    void testConcurrentRecordingLosesNoGames() throws Exception {
+        ConcurrentGameStats stats = new ConcurrentGameStats();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < GAMES_PER_THREAD; i++) {
+                        switch (i % 3) {
+                            case 0 -> stats.recordWin("Player 1");
+                            case 1 -> stats.recordWin("Player 2");
+                            default -> stats.recordDraw();
+                        }
+                    }
+                });
+            }
+
+            // Snapshots taken while recording must add up
+            for (int i = 0; i < 100; i++) {
+                GameStats snapshot = stats.snapshot();
+                assertEquals(snapshot.getGamesPlayed(),
+                        snapshot.getWins("Player 1") + snapshot.getWins("Player 2") + snapshot.getDraws(),
+                        "Snapshot total should match its wins and draws");
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(THREADS * GAMES_PER_THREAD, stats.getGamesPlayed(), "Every game should be counted");
+        assertEquals(THREADS * ((GAMES_PER_THREAD + 2) / 3), stats.getWins("Player 1"), "Every win should be counted");
+        assertEquals(THREADS * (GAMES_PER_THREAD / 3), stats.getDraws(), "Every draw should be counted");
+    }
+
+    @Test
+    void testMergeAddsWorkerStatistics() {
+        ConcurrentGameStats stats = new ConcurrentGameStats();
+        stats.recordWin("Player 1");
+
+        GameStats worker = new GameStats();
+        worker.recordWin("Player 1");
+        worker.recordWin("Player 2");
+        worker.recordDraw();
+        stats.merge(worker);
+
+        assertEquals(2, stats.getWins("Player 1"), "Wins of the same player should be summed");
+        assertEquals(1, stats.getWins("Player 2"), "Wins of new players should be copied");
+        assertEquals(1, stats.getDraws(), "Draws should be copied");
+        assertEquals(4, stats.getGamesPlayed(), "Games should be derived from wins and draws");
+    }
+
+    @Test
+    void testPrintStats() {
+        ConcurrentGameStats stats = new ConcurrentGameStats();
+        stats.recordWin("Player 1");
+        stats.recordDraw();
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStream));
+        try {
+            stats.printStats();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("Total games played: 2"), "Total should be printed");
+        assertTrue(output.contains("Player 1: 1"), "Wins should be printed");
+    }
+}
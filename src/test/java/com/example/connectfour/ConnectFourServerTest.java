@@ -0,0 +1,106 @@
+package com.example.connectfour;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectFourServerTest {
+
+    private ConnectFourServer server;
+    private Thread acceptThread;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ConnectFourServer(0, 5000);
+        acceptThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        acceptThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        server.close();
+        acceptThread.join();
+    }
+
+    @Test
+    void testPlaysScriptedGame() throws IOException {
+        String output = play("1\n2\n1\n2\n1\n2\n1\nn\n");
+
+        assertTrue(output.contains("choose a column (1-7)"), "The session should prompt for moves");
+        assertTrue(output.contains("Player 1 wins!"), "Player 1 should win with a vertical line");
+        assertTrue(output.contains("Thanks for playing!"), "The session should end when the players stop");
+    }
+
+    @Test
+    void testSessionsAreIndependent() throws IOException {
+        try (Socket first = new Socket("localhost", server.getPort());
+                Socket second = new Socket("localhost", server.getPort())) {
+            send(first, "1\n2\n1\n2\n1\n2\n");
+            send(second, "1\n4\n1\n");
+            send(first, "1\nn\n");
+            send(second, "4\n2\n4\n2\n4\nn\n");
+
+            String firstOutput = readAll(first.getInputStream());
+            String secondOutput = readAll(second.getInputStream());
+            assertTrue(firstOutput.contains("Player 1 wins!"), "The first session should end with its own win");
+            assertTrue(secondOutput.contains("Player 2 wins!"), "The second session should end with its own win");
+            assertFalse(secondOutput.contains("Player 1 wins!"), "Moves should not leak between sessions");
+        }
+    }
+
+    @Test
+    void testDisconnectEndsSession() throws IOException, InterruptedException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            send(socket, "4\n");
+        }
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while ((server.getSessionsStarted() == 0 || server.getActiveSessions() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getActiveSessions(), "The session should end when the client leaves");
+        assertEquals(1, server.getSessionsStarted(), "One session should have been started");
+    }
+
+    @Test
+    void testLoadGeneratorMeasuresMoves() throws IOException {
+        LoadReport report = new LoadGenerator("localhost", server.getPort()).run(4, 3, 2, 42);
+
+        assertEquals(12, report.games(), "Every connection should finish its games");
+        assertTrue(report.moves() >= 12 * 7, "A game takes at least 7 moves");
+        assertTrue(report.p99Nanos() >= report.p50Nanos(), "The p99 latency should not be below the median");
+        assertTrue(report.maxNanos() >= report.p99Nanos(), "The maximum should not be below the p99 latency");
+    }
+
+    private String play(String input) throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            send(socket, input);
+            return readAll(socket.getInputStream());
+        }
+    }
+
+    private static void send(Socket socket, String input) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(input.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationCacheTest {
+
+    @Test
+    void testStoresScoreAndMove() {
+        EvaluationCache cache = new EvaluationCache(16);
+        cache.put(42, -17, 3);
+        cache.put(43, 1000, EvaluationCache.NO_MOVE);
+
+        int entry = cache.get(42);
+        assertEquals(-17, EvaluationCache.scoreOf(entry), "Negative scores should survive packing");
+        assertEquals(3, EvaluationCache.moveOf(entry), "The move should be stored");
+        assertEquals(EvaluationCache.NO_MOVE, EvaluationCache.moveOf(cache.get(43)), "A missing move should be kept");
+        assertEquals(EvaluationCache.MISS, cache.get(44), "Unknown keys should miss");
+
+        assertEquals(2, cache.getHits(), "Two lookups found their key");
+        assertEquals(1, cache.getMisses(), "One lookup missed");
+    }
+
+    @Test
+    void testClockEvictsUnreferencedEntries() {
+        EvaluationCache cache = new EvaluationCache(4, 1);
+        for (long key = 0; key < 4; key++) {
+            cache.put(key, (int) key, 0);
+        }
+        cache.get(0);
+        cache.get(1);
+
+        cache.put(4, 4, 0);
+        assertEquals(EvaluationCache.MISS, cache.get(2), "The first unreferenced entry should be evicted");
+        assertNotEquals(EvaluationCache.MISS, cache.get(0), "Referenced entries should get a second chance");
+        assertNotEquals(EvaluationCache.MISS, cache.get(1), "Referenced entries should get a second chance");
+
+        cache.put(5, 5, 0);
+        assertEquals(EvaluationCache.MISS, cache.get(3), "The hand should move on to the next unreferenced entry");
+        assertEquals(4, cache.size(), "The cache should stay at its capacity");
+        assertEquals(2, cache.getEvictions(), "Both evictions should be counted");
+    }
+
+    @Test
+    void testStaysConsistentUnderChurn() {
+        EvaluationCache cache = new EvaluationCache(1000, 4);
+        Map<Long, Integer> latest = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong(5000);
+            if (random.nextBoolean()) {
+                int score = random.nextInt(-100, 100);
+                cache.put(key, score, random.nextInt(7));
+                latest.put(key, score);
+            } else {
+                cache.get(key);
+            }
+        }
+
+        int found = 0;
+        for (Map.Entry<Long, Integer> entry : latest.entrySet()) {
+            int cached = cache.get(entry.getKey());
+            if (cached != EvaluationCache.MISS) {
+                found++;
+                assertEquals((int) entry.getValue(), EvaluationCache.scoreOf(cached),
+                        "Key " + entry.getKey() + " should hold its latest score");
+            }
+        }
+        assertEquals(cache.size(), found, "Every stored entry should be reachable through the index");
+        assertEquals(cache.capacity(), cache.size(), "The cache should be full");
+    }
+
+    @Test
+    void testConcurrentAccess() throws InterruptedException, ExecutionException {
+        EvaluationCache cache = new EvaluationCache(4096);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        long key = random.nextLong(10_000);
+                        int entry = cache.get(key);
+                        if (entry == EvaluationCache.MISS) {
+                            cache.put(key, (int) (key % 1000), (int) (key % 7));
+                        } else {
+                            assertEquals(key % 1000, EvaluationCache.scoreOf(entry), "Entries should not be mixed up");
+                        }
+                    }
+                }));
+            }
+            // A failed assertion in a worker surfaces here as an ExecutionException
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400_000, cache.getHits() + cache.getMisses(), "Every lookup should be counted");
+        assertTrue(cache.size() <= cache.capacity(), "The cache should stay bounded");
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Path file = Files.createTempFile("evaluation-cache", ".bin");
+        try {
+            EvaluationCache cache = new EvaluationCache(10_000);
+            for (long key = 0; key < 5000; key++) {
+                cache.put(key * 31, (int) key - 2500, (int) (key % 7));
+            }
+            cache.save(file);
+
+            EvaluationCache loaded = new EvaluationCache(10_000);
+            assertEquals(5000, loaded.load(file), "All entries should be read");
+            for (long key = 0; key < 5000; key++) {
+                int entry = loaded.get(key * 31);
+                assertEquals(key - 2500, EvaluationCache.scoreOf(entry), "Scores should survive a restart");
+                assertEquals(key % 7, EvaluationCache.moveOf(entry), "Moves should survive a restart");
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) - 1);
+            }
+            assertThrows(IOException.class, () -> loaded.load(file), "Truncated files should be rejected");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testSolversShareCachedScores() {
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        GameBoard board = SolverTest.randomPosition(new SplittableRandom(5), 24);
+
+        Solution first = new Solver(16, null, cache).solve(board);
+        Solver second = new Solver(16, null, cache);
+        assertEquals(first, second.solve(board), "The cached score should match the search");
+        assertEquals(0, second.getNodeCount(), "A cached position should not be searched again");
+
+        int[] scores = second.analyze(board);
+        long key = Solver.sideToMove(board) + board.getOccupied();
+        long canonical = Bitboards.canonicalKey(key);
+        int entry = cache.get(canonical);
+        int move = canonical == key ? EvaluationCache.moveOf(entry) : Bitboards.mirrorColumn(EvaluationCache.moveOf(entry));
+        assertEquals(scores[move], EvaluationCache.scoreOf(entry), "Analyzing should store the best move with its score");
+    }
+
+    @Test
+    void testMirroredPositionsShareEntries() {
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        GameBoard board = SolverTest.randomPosition(new SplittableRandom(8), 22);
+        GameBoard mirrored = new GameBoard();
+        for (byte column : board.getMoves()) {
+            mirrored.placeDisc(Bitboards.mirrorColumn(column), mirrored.getMoveCount() % 2 == 0 ? 'X' : 'O');
+        }
+
+        Solution solution = new Solver(16, null, cache).solve(board);
+        Solver second = new Solver(16, null, cache);
+        assertEquals(solution, second.solve(mirrored), "A mirror image should have the same solution");
+        assertEquals(0, second.getNodeCount(), "The mirror image should be answered from the cache");
+        assertEquals(1, cache.size(), "A position and its mirror image should share one entry");
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("games", ".c4a");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testRoundTripReplaysToSamePositions() throws IOException {
+        roundTrip(new GameBoard(), 2000, GameArchiveReader.DEFAULT_WINDOW_BYTES);
+    }
+
+    @Test
+    void testRoundTripOnVariantBoard() throws IOException {
+        roundTrip(new GameBoard(9, 7, 5), 500, GameArchiveReader.DEFAULT_WINDOW_BYTES);
+    }
+
+    @Test
+    void testRoundTripAcrossSmallWindows() throws IOException {
+        // 64-byte windows force a remap every few games, including games at window boundaries
+        roundTrip(new GameBoard(), 500, 64);
+    }
+
+    @Test
+    void testStandardGameTakesOneNibblePerMove() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {3, 3, 4, 4, 5, 5, 6}, 7, 0);
+        }
+        assertEquals(GameArchiveWriter.HEADER_BYTES + 2 + 4, Files.size(file), "7 moves should take 4 bytes");
+
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            assertTrue(reader.next(), "The game should be read back");
+            assertEquals(0, reader.getWinner(), "The first player won");
+            assertEquals(7, reader.getMoveCount(), "All moves should be read back");
+            assertEquals(6, reader.getMove(6), "The odd last move should be in a high nibble");
+            assertFalse(reader.next(), "There is only one game");
+        }
+    }
+
+    @Test
+    void testAppendsAfterReopening() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {0, 1}, 2, GameResult.DRAW);
+        }
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {2}, 1, 1);
+            assertEquals(1, writer.getGamesWritten(), "Only games of this session should be counted");
+            assertEquals(2, writer.getGameCount(), "Games of earlier sessions should be counted in the archive");
+        }
+
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            assertTrue(reader.next(), "The first session's game should be kept");
+            assertEquals(GameResult.DRAW, reader.getWinner(), "Draws should be read back");
+            assertTrue(reader.next(), "The second session's game should be appended");
+            assertEquals(1, reader.getWinner(), "Second player wins should be read back");
+            assertEquals(2, reader.getMove(0), "The move should be read back");
+            assertFalse(reader.next(), "There are only two games");
+        }
+    }
+
+    @Test
+    void testAppendCutsOffIncompleteLastGame() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {0, 1, 2}, 3, 0);
+            writer.write(new byte[] {3, 3, 3, 3}, 4, GameResult.DRAW);
+        }
+        // The first pass tears the moves of the last game, the second leaves one byte of the game appended by the first
+        for (int cut : new int[] {1, 2}) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) - cut);
+            }
+            try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+                writer.write(new byte[] {4, 5}, 2, 1);
+            }
+
+            try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+                assertTrue(reader.next(), "The complete game should be kept");
+                assertEquals(3, reader.getMoveCount(), "The complete game should be read back");
+                assertTrue(reader.next(), "The appended game should follow the complete game");
+                assertEquals(2, reader.getMoveCount(), "The appended game should be aligned");
+                assertEquals(5, reader.getMove(1), "The appended moves should be read back");
+                assertEquals(1, reader.getWinner(), "The appended outcome should be read back");
+                assertFalse(reader.next(), "The incomplete game should be gone");
+            }
+        }
+    }
+
+    @Test
+    void testRejectsOtherBoardOnAppend() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {0}, 1, 0);
+        }
+        assertThrows(IOException.class, () -> GameArchiveWriter.open(file, 8, 7, 4),
+                "An archive should only hold games of one board");
+    }
+
+    @Test
+    void testRejectsInvalidGames() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new byte[] {7}, 1, 0),
+                    "Columns outside the board should be rejected");
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new byte[43], 43, 0),
+                    "More moves than cells should be rejected");
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new byte[] {0}, 1, 2),
+                    "Unknown winners should be rejected");
+        }
+        assertThrows(IllegalArgumentException.class, () -> GameArchiveWriter.open(file, 17, 6, 4),
+                "Columns must fit into a nibble");
+    }
+
+    @Test
+    void testRejectsTruncatedAndForeignFiles() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {0, 1, 2, 3}, 4, GameResult.DRAW);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            assertThrows(IOException.class, reader::next, "A truncated game should be reported");
+        }
+
+        Files.write(file, ByteBuffer.allocate(16).putInt(0x12345678).array());
+        assertThrows(IOException.class, () -> GameArchiveReader.open(file), "Other files should be rejected");
+    }
+
+    @Test
+    void testRequiresCurrentGame() throws IOException {
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(new byte[] {0}, 1, 0);
+        }
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            assertThrows(IllegalStateException.class, reader::getMoveCount, "next() has not been called yet");
+            assertTrue(reader.next(), "The game should be read back");
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getMove(1), "The game has one move");
+        }
+    }
+
+    private void roundTrip(GameBoard board, int games, long windowBytes) throws IOException {
+        GameEngine engine = new GameEngine(board, new RandomStrategy(1), new RandomStrategy(2));
+        List<GameResult> results = new ArrayList<>();
+        long[] finalKeys = new long[games];
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file, board.getColumns(), board.getRows(),
+                board.getWinLength())) {
+            for (int i = 0; i < games; i++) {
+                GameResult result = engine.play();
+                writer.write(result);
+                results.add(result);
+                finalKeys[i] = board.getPositionKey();
+            }
+            assertEquals(games, writer.getGamesWritten(), "All games should be counted");
+        }
+
+        GameBoard replayBoard = new GameBoard(board.getColumns(), board.getRows(), board.getWinLength());
+        try (GameArchiveReader reader = GameArchiveReader.open(file, windowBytes)) {
+            assertEquals(board.getColumns(), reader.getColumns(), "The columns should be stored in the header");
+            assertEquals(board.getWinLength(), reader.getWinLength(), "The win length should be stored in the header");
+            for (int i = 0; i < games; i++) {
+                GameResult expected = results.get(i);
+                assertTrue(reader.next(), "Game " + i + " should be read back");
+                GameResult actual = reader.toResult();
+                assertEquals(expected.winner(), actual.winner(), "Winner of game " + i);
+                assertArrayEquals(expected.moves(), actual.moves(), "Moves of game " + i);
+
+                reader.replay(replayBoard);
+                assertEquals(finalKeys[i], replayBoard.getPositionKey(), "Final position of game " + i);
+                if (!expected.isDraw()) {
+                    char winner = expected.winner() == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+                    assertTrue(replayBoard.hasWinningLine(winner), "The replayed winner of game " + i + " should have a line");
+                }
+            }
+            assertFalse(reader.next(), "There should be no more games");
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.connectfour;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,4 +81,326 @@ class GameBoardTest {
 
         assertTrue(gameBoard.isFull(), "Board should be full after filling all cells");
     }
+
+    @Test
+    void testMoveCountAndReset() {
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(0, 'O');
+        gameBoard.placeDisc(6, 'X');
+
+        assertEquals(3, gameBoard.getMoveCount(), "Three discs should have been placed");
+        assertEquals(2, gameBoard.getHeight(0), "Column 0 should hold two discs");
+
+        gameBoard.reset();
+
+        assertEquals(0, gameBoard.getMoveCount(), "Reset board should hold no discs");
+        assertEquals('.', gameBoard.getSymbolAt(0, 0), "Reset board should be empty");
+        assertTrue(gameBoard.isValidMove(0), "Column 0 should be playable after reset");
+    }
+
+    @Test
+    void testHasWinningLine() {
+        for (int col = 0; col < 3; col++) {
+            gameBoard.placeDisc(col, 'X');
+        }
+        assertFalse(gameBoard.hasWinningLine('X'), "Three in a row is not a win");
+
+        gameBoard.placeDisc(3, 'X');
+        assertTrue(gameBoard.hasWinningLine('X'), "Four in a row should be detected");
+        assertFalse(gameBoard.hasWinningLine('O'), "Other symbol should not have a win");
+    }
+
+    @Test
+    void testFourInARowDoesNotWrapAcrossColumns() {
+        // Two discs on top of column 0 and two at the bottom of column 1 are adjacent in the bit layout only
+        for (int row = 0; row < GameBoard.ROWS - 2; row++) {
+            gameBoard.placeDisc(0, 'O');
+        }
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(1, 'X');
+        gameBoard.placeDisc(1, 'X');
+
+        assertFalse(gameBoard.hasWinningLine('X'), "Discs in different columns must not form a vertical line");
+    }
+
+    @Test
+    void testThirdSymbolIsRejected() {
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(1, 'O');
+
+        assertThrows(IllegalArgumentException.class, () -> gameBoard.placeDisc(2, 'Z'),
+                "A third symbol should be rejected");
+    }
+
+    @Test
+    void testUndoMove() {
+        gameBoard.placeDisc(3, 'X');
+        gameBoard.placeDisc(5, 'O');
+        gameBoard.placeDisc(3, 'O');
+
+        assertEquals(3, gameBoard.getLastMove(), "Last move should be column 3");
+        assertEquals(3, gameBoard.undoMove(), "Undo should return the column of the last move");
+        assertEquals('.', gameBoard.getSymbolAt(1, 3), "Undone cell should be empty");
+        assertEquals('X', gameBoard.getSymbolAt(0, 3), "Lower disc should stay");
+        assertEquals(2, gameBoard.getMoveCount(), "Move count should decrease");
+
+        assertEquals(5, gameBoard.undoMove());
+        assertEquals(3, gameBoard.undoMove());
+        assertEquals(-1, gameBoard.undoMove(), "Undo on an empty board should return -1");
+        assertEquals(-1, gameBoard.getLastMove(), "Empty board should have no last move");
+    }
+
+    @Test
+    void testRedoMove() {
+        gameBoard.placeDisc(2, 'X');
+        gameBoard.placeDisc(2, 'O');
+        gameBoard.undoMove();
+        gameBoard.undoMove();
+
+        assertEquals(2, gameBoard.redoMove(), "Redo should replay the first undone move");
+        assertEquals(2, gameBoard.redoMove(), "Redo should replay the second undone move");
+        assertEquals('X', gameBoard.getSymbolAt(0, 2), "Redone disc should keep its symbol");
+        assertEquals('O', gameBoard.getSymbolAt(1, 2), "Redone disc should keep its symbol");
+        assertEquals(-1, gameBoard.redoMove(), "Nothing should be left to redo");
+
+        gameBoard.undoMove();
+        gameBoard.placeDisc(4, 'O');
+        assertEquals(-1, gameBoard.redoMove(), "Placing a disc should discard the redo history");
+    }
+
+    @Test
+    void testUndoFullBoard() {
+        for (int col = 0; col < GameBoard.COLUMNS; col++) {
+            for (int row = 0; row < GameBoard.ROWS; row++) {
+                gameBoard.placeDisc(col, (col + row) % 2 == 0 ? 'X' : 'O');
+            }
+        }
+
+        for (int i = 0; i < GameBoard.ROWS * GameBoard.COLUMNS; i++) {
+            assertTrue(gameBoard.undoMove() >= 0, "Every move should be undoable");
+        }
+        assertEquals(0, gameBoard.getMoveCount(), "Board should be empty after undoing all moves");
+        assertEquals(0, gameBoard.getPositionKey(), "Undoing all moves should restore the empty key");
+    }
+
+    @Test
+    void testPositionKeyIsIncremental() {
+        assertEquals(0, gameBoard.getPositionKey(), "Empty board should have key 0");
+
+        gameBoard.placeDisc(2, 'X');
+        gameBoard.placeDisc(4, 'O');
+        long key = gameBoard.getPositionKey();
+        assertNotEquals(0, key, "Non-empty board should have a non-zero key");
+
+        gameBoard.placeDisc(4, 'X');
+        assertNotEquals(key, gameBoard.getPositionKey(), "Placing a disc should change the key");
+
+        gameBoard.undoMove();
+        assertEquals(key, gameBoard.getPositionKey(), "Undoing a move should restore the key");
+    }
+
+    @Test
+    void testKeyIndependentOfMoveOrder() {
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(1, 'O');
+        gameBoard.placeDisc(2, 'X');
+        gameBoard.placeDisc(3, 'O');
+
+        GameBoard other = new GameBoard();
+        other.placeDisc(2, 'X');
+        other.placeDisc(3, 'O');
+        other.placeDisc(0, 'X');
+        other.placeDisc(1, 'O');
+
+        assertEquals(gameBoard.getPositionKey(), other.getPositionKey(), "Transpositions should share a key");
+    }
+
+    @Test
+    void testCanonicalKeyMatchesMirroredPosition() {
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.placeDisc(1, 'O');
+        gameBoard.placeDisc(1, 'X');
+
+        GameBoard mirrored = new GameBoard();
+        mirrored.placeDisc(6, 'X');
+        mirrored.placeDisc(5, 'O');
+        mirrored.placeDisc(5, 'X');
+
+        assertNotEquals(gameBoard.getPositionKey(), mirrored.getPositionKey(), "Mirror images are different positions");
+        assertEquals(gameBoard.getPositionKey(), mirrored.getMirroredKey(), "Mirrored key should match the mirror image");
+        assertEquals(gameBoard.getCanonicalKey(), mirrored.getCanonicalKey(), "Mirror images should share a canonical key");
+    }
+
+    @Test
+    void testCompletesLineOnlyForOwnDisc() {
+        for (int col = 0; col < 4; col++) {
+            gameBoard.placeDisc(col, 'X');
+        }
+        gameBoard.placeDisc(0, 'O');
+
+        assertTrue(gameBoard.completesLine(0, 3, 'X'), "Disc completing the row should connect four");
+        assertTrue(gameBoard.completesLine(0, 0, 'X'), "Every disc of the row should connect four");
+        assertFalse(gameBoard.completesLine(1, 0, 'O'), "Single disc should not connect four");
+        assertFalse(gameBoard.completesLine(0, 3, 'O'), "Disc of another symbol should not connect four");
+        assertFalse(gameBoard.completesLine(0, 4, 'X'), "Empty cell should not connect four");
+        assertFalse(gameBoard.completesLine(-1, 0, 'X'), "Out of bounds cell should not connect four");
+    }
+
+    @Test
+    void testCompletesLineAgreesWithFullBoardCheck() {
+        java.util.Random random = new java.util.Random(99);
+
+        for (int game = 0; game < 500; game++) {
+            gameBoard.reset();
+            boolean won = false;
+
+            while (!won && !gameBoard.isFull()) {
+                int column = random.nextInt(GameBoard.COLUMNS);
+                char symbol = gameBoard.getMoveCount() % 2 == 0 ? 'X' : 'O';
+                int row = gameBoard.placeDisc(column, symbol);
+                if (row < 0) {
+                    continue;
+                }
+
+                won = gameBoard.completesLine(row, column, symbol);
+                assertEquals(gameBoard.hasWinningLine(symbol), won,
+                        "Incremental and full board win checks should agree");
+            }
+        }
+    }
+
+    @Test
+    void testCustomDimensions() {
+        GameBoard board = new GameBoard(9, 7, 5);
+
+        assertEquals(9, board.getColumns());
+        assertEquals(7, board.getRows());
+        assertEquals(5, board.getWinLength());
+        assertFalse(board.isStandard(), "9x7 connect-5 is not the standard board");
+        assertTrue(gameBoard.isStandard(), "Default board should be the standard board");
+
+        assertTrue(board.isValidMove(8), "Column 8 should exist on a 9 column board");
+        assertFalse(board.isValidMove(9), "Column 9 should be out of bounds");
+        for (int row = 0; row < 7; row++) {
+            assertEquals(row, board.placeDisc(8, 'X'), "Column should hold 7 discs");
+        }
+        assertEquals(-1, board.placeDisc(8, 'X'), "Full column should reject discs");
+    }
+
+    @Test
+    void testInvalidDimensionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(0, 6, 4));
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(7, GameBoard.MAX_DIMENSION + 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(7, 6, 1));
+    }
+
+    @Test
+    void testConnectFiveOnBitboardAndGrid() {
+        // 8x7 fits into a 64-bit bitboard, 9x7 does not
+        for (GameBoard board : new GameBoard[] {new GameBoard(8, 7, 5), new GameBoard(9, 7, 5)}) {
+            int row = -1;
+            for (int col = 2; col < 6; col++) {
+                row = board.placeDisc(col, 'X');
+            }
+            assertFalse(board.completesLine(row, 5, 'X'), "Four in a row should not win connect-5");
+            assertFalse(board.hasWinningLine('X'), "Four in a row should not win connect-5");
+
+            row = board.placeDisc(6, 'X');
+            assertTrue(board.completesLine(row, 6, 'X'), "Five in a row should win connect-5");
+            assertTrue(board.hasWinningLine('X'), "Five in a row should win connect-5");
+        }
+    }
+
+    @Test
+    void testGridBoardAgreesWithBitboard() {
+        java.util.Random random = new java.util.Random(7);
+        GameBoard bitboard = new GameBoard(8, 7, 4);
+        GameBoard grid = new GameBoard(9, 7, 4);
+
+        for (int game = 0; game < 300; game++) {
+            bitboard.reset();
+            grid.reset();
+            boolean won = false;
+
+            while (!won && !bitboard.isFull()) {
+                int column = random.nextInt(8);
+                char symbol = bitboard.getMoveCount() % 2 == 0 ? 'X' : 'O';
+                int row = bitboard.placeDisc(column, symbol);
+                if (row < 0) {
+                    continue;
+                }
+                assertEquals(row, grid.placeDisc(column, symbol));
+
+                won = bitboard.completesLine(row, column, symbol);
+                assertEquals(won, grid.completesLine(row, column, symbol), "Grid and bitboard should agree on wins");
+                assertEquals(bitboard.hasWinningLine(symbol), grid.hasWinningLine(symbol));
+                assertEquals(won, bitboard.hasWinningLine(symbol));
+            }
+
+            while (bitboard.getMoveCount() > 0) {
+                assertEquals(bitboard.undoMove(), grid.undoMove(), "Grid and bitboard should undo the same move");
+            }
+            assertEquals(0, grid.getPositionKey(), "Undoing all moves should restore the empty key");
+        }
+    }
+
+    @Test
+    void testCanonicalPositionCodeIsSharedWithMirrorImage() {
+        GameBoard mirrored = new GameBoard();
+        int[] columns = {0, 1, 1, 2, 6, 3};
+        for (int column : columns) {
+            gameBoard.placeDisc(column, gameBoard.getMoveCount() % 2 == 0 ? 'X' : 'O');
+            mirrored.placeDisc(GameBoard.COLUMNS - 1 - column, mirrored.getMoveCount() % 2 == 0 ? 'X' : 'O');
+        }
+
+        assertNotEquals(gameBoard.getPositionCode(), mirrored.getPositionCode(), "The boards should differ");
+        assertEquals(gameBoard.getCanonicalPositionCode(), mirrored.getCanonicalPositionCode(),
+                "Mirror images should share the canonical code");
+        assertEquals(mirrored.getPositionCode(), Bitboards.mirror(gameBoard.getPositionCode()),
+                "Mirroring the code should mirror the position");
+    }
+
+    @Test
+    void testMirrorMovesEveryColumn() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            long bits = random.nextLong(1L << (GameBoard.COLUMNS * Bitboards.COLUMN_HEIGHT));
+            long expected = 0;
+            for (int column = 0; column < GameBoard.COLUMNS; column++) {
+                long columnBits = (bits >>> (column * Bitboards.COLUMN_HEIGHT)) & ((1L << Bitboards.COLUMN_HEIGHT) - 1);
+                expected |= columnBits << ((GameBoard.COLUMNS - 1 - column) * Bitboards.COLUMN_HEIGHT);
+            }
+            assertEquals(expected, Bitboards.mirror(bits), "Column c should move to column 6 - c");
+            assertEquals(Math.min(bits, expected), Bitboards.canonicalKey(bits), "The canonical key should be the smaller");
+        }
+    }
+
+    @Test
+    void testGetMovesSkipsUndoneMoves() {
+        gameBoard.placeDisc(3, 'X');
+        gameBoard.placeDisc(5, 'O');
+        gameBoard.placeDisc(0, 'X');
+        gameBoard.undoMove();
+
+        assertArrayEquals(new byte[] {3, 5}, gameBoard.getMoves(), "Only the moves on the board should be listed");
+    }
+
+    @Test
+    void testPrintBoardMatchesAppendedFrame() {
+        gameBoard.placeDisc(3, 'X');
+        gameBoard.placeDisc(3, 'O');
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        gameBoard.printBoard(new PrintStream(printed));
+
+        StringBuilder frame = new StringBuilder();
+        gameBoard.appendTo(frame);
+        String n = System.lineSeparator();
+        String expected = "Current board:" + n
+                + ". . . . . . . " + n + ". . . . . . . " + n + ". . . . . . . " + n + ". . . . . . . " + n
+                + ". . . O . . . " + n + ". . . X . . . " + n
+                + "1 2 3 4 5 6 7" + n + n;
+        assertEquals(expected, frame.toString(), "The frame should show the discs from the top row down");
+        assertEquals(expected, printed.toString(), "printBoard should print the same frame");
+    }
 }
@@ -0,0 +1,90 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    private static MoveStrategy scripted(int... columns) {
+        int[] next = {0};
+        return (board, symbol) -> columns[next[0]++];
+    }
+
+    @Test
+    void testFirstPlayerWinsHorizontally() {
+        GameEngine engine = new GameEngine(scripted(0, 1, 2, 3), scripted(0, 1, 2));
+
+        GameResult result = engine.play();
+
+        assertEquals(0, result.winner(), "First player should win");
+        assertEquals(7, result.moveCount(), "Game should end after 7 moves");
+        assertArrayEquals(new byte[] {0, 0, 1, 1, 2, 2, 3}, result.moves(), "Move sequence should be recorded");
+    }
+
+    @Test
+    void testSecondPlayerWinsVertically() {
+        GameEngine engine = new GameEngine(scripted(0, 1, 0, 1, 6), scripted(3, 3, 3, 3));
+
+        GameResult result = engine.play();
+
+        assertEquals(1, result.winner(), "Second player should win");
+        assertEquals(8, result.moveCount(), "Game should end after 8 moves");
+    }
+
+    @Test
+    void testInvalidMoveIsRejected() {
+        GameEngine engine = new GameEngine(scripted(7), scripted(0));
+
+        assertThrows(IllegalStateException.class, engine::play, "Out of range column should be rejected");
+    }
+
+    @Test
+    void testRandomGamesAreReproducible() {
+        GameEngine engine1 = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+        GameEngine engine2 = new GameEngine(new RandomStrategy(1), new RandomStrategy(2));
+
+        for (int i = 0; i < 100; i++) {
+            GameResult result1 = engine1.play();
+            GameResult result2 = engine2.play();
+
+            assertArrayEquals(result1.moves(), result2.moves(), "Same seeds should replay the same game");
+            assertEquals(result1.winner(), result2.winner());
+            assertTrue(result1.moveCount() >= 7 && result1.moveCount() <= GameBoard.ROWS * GameBoard.COLUMNS,
+                    "Move count should be within the possible range");
+        }
+    }
+
+    @Test
+    void testBatchRunnerAggregatesOutcomes() {
+        BatchRunner runner = new BatchRunner("Alice", new RandomStrategy(3), "Bob", new RandomStrategy(4));
+
+        GameStats stats = runner.run(500);
+
+        assertEquals(500, stats.getGamesPlayed(), "All games should be recorded");
+        assertEquals(500, stats.getWins("Alice") + stats.getWins("Bob") + stats.getDraws(),
+                "Every game should end in a win or a draw");
+        assertTrue(stats.getWins("Alice") > stats.getWins("Bob"), "Random first player should win more often");
+    }
+
+    @Test
+    void testVariantBoard() {
+        GameEngine engine = new GameEngine(new GameBoard(9, 7, 5), scripted(0, 1, 2, 3, 4), scripted(8, 8, 8, 8));
+
+        GameResult result = engine.play();
+
+        assertEquals(0, result.winner(), "First player should win with five in a row");
+        assertEquals(9, result.moveCount(), "Game should end after 9 moves");
+    }
+
+    @Test
+    void testRandomGamesOnLargeBoardFinish() {
+        GameEngine engine = new GameEngine(new GameBoard(9, 7, 4), new RandomStrategy(8), new RandomStrategy(9));
+
+        for (int i = 0; i < 100; i++) {
+            GameResult result = engine.play();
+            for (byte move : result.moves()) {
+                assertTrue(move >= 0 && move < 9, "Moves should stay on the 9 column board");
+            }
+        }
+    }
+}
@@ -9,6 +9,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.NoSuchElementException;
 
 class GameLogicTest {
 
@@ -273,4 +276,131 @@ class GameLogicTest {
             fail("Exception occurred while testing switch player: " + e.getMessage());
         }
     }
+
+    @Test
+    void testTakeBack() {
+        // Player 1 takes back the first move, then wins on columns 2-5 while player 2 stacks column 1
+        String simulatedInput = "1\nu\n2\n1\n3\n1\n4\n1\n5\nn\n";
+        System.setIn(new ByteArrayInputStream(simulatedInput.getBytes()));
+
+        gameLogic = new GameLogic(gameBoard, player1, player2);
+
+        gameLogic.startGame();
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("Move taken back."), "Take back should be confirmed");
+        assertTrue(output.contains("Player 1 wins"), "Game should end with Player 1 winning");
+
+        System.setIn(originalIn);
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testTakeBackOnEmptyBoard() {
+        String simulatedInput = "u\n4\n";
+        System.setIn(new ByteArrayInputStream(simulatedInput.getBytes()));
+
+        gameLogic = new GameLogic(gameBoard, player1, player2);
+
+        try {
+            java.lang.reflect.Method getPlayerMoveMethod = GameLogic.class.getDeclaredMethod("getPlayerMove");
+            getPlayerMoveMethod.setAccessible(true);
+            int column = (int) getPlayerMoveMethod.invoke(gameLogic);
+
+            assertEquals(3, column, "getPlayerMove should return the column entered after the failed take back");
+            assertTrue(outputStream.toString().contains("There is no move to take back."),
+                    "Take back on an empty board should be refused");
+        } catch (Exception e) {
+            fail("Exception occurred while testing take back: " + e.getMessage());
+        } finally {
+            System.setIn(originalIn);
+        }
+    }
+
+    @Test
+    void testScriptedGameWithoutGlobalStreams() {
+        ScriptedMoveSource moves = new ScriptedMoveSource("1", "1", "2", "2", "3", "3", "4", "n");
+        StringWriter output = new StringWriter();
+
+        gameLogic = new GameLogic(gameBoard, player1, player2, null, moves, new BufferedRenderer(output));
+        gameLogic.startGame();
+
+        assertEquals(0, moves.remaining(), "All scripted lines should be consumed");
+        assertTrue(output.toString().contains("Player 1 wins"), "Game should end with Player 1 winning");
+        assertTrue(output.toString().contains("Thanks for playing!"), "Output after the last input should be flushed");
+        assertEquals(0, outputStream.size(), "Nothing should be printed to System.out");
+    }
+
+    @Test
+    void testRendererWritesOncePerInput() {
+        int[] writes = new int[1];
+        Writer counting = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                if (length > 0) {
+                    writes[0]++;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ScriptedMoveSource moves = new ScriptedMoveSource("1", "1", "2", "2", "3", "3", "4", "n");
+
+        new GameLogic(gameBoard, player1, player2, null, moves, new BufferedRenderer(counting)).startGame();
+
+        // One write before each of the 8 inputs and one for the final message
+        assertEquals(9, writes[0], "Every turn should be written in a single call");
+    }
+
+    @Test
+    void testScriptEndingEarlyEndsGame() {
+        ScriptedMoveSource moves = new ScriptedMoveSource("4");
+        gameLogic = new GameLogic(gameBoard, player1, player2, null, moves, new BufferedRenderer(new StringWriter()));
+
+        assertThrows(NoSuchElementException.class, gameLogic::startGame, "A finished script should end the input");
+        assertEquals(1, gameBoard.getMoveCount(), "The scripted move should have been played");
+    }
+
+    @Test
+    void testComputerPondersWhileHumanChooses() {
+        boolean[] pondering = new boolean[1];
+        int[] ponderedInputs = new int[1];
+        MoveStrategy computer = new MoveStrategy() {
+            @Override
+            public int selectColumn(GameBoard board, char symbol) {
+                assertFalse(pondering[0], "Pondering should stop before the computer moves");
+                return 6;
+            }
+
+            @Override
+            public void startPondering(GameBoard board, char symbol) {
+                assertEquals('O', symbol, "The computer should ponder for its own symbol");
+                pondering[0] = true;
+            }
+
+            @Override
+            public void stopPondering() {
+                pondering[0] = false;
+            }
+        };
+        ScriptedMoveSource script = new ScriptedMoveSource("1", "2", "3", "4", "n");
+        MoveSource moves = () -> {
+            if (pondering[0]) {
+                ponderedInputs[0]++;
+            }
+            return script.nextLine();
+        };
+
+        new GameLogic(gameBoard, player1, new Player("Computer", 'O', computer), null, moves,
+                new BufferedRenderer(new StringWriter())).startGame();
+
+        assertEquals(4, ponderedInputs[0], "The computer should ponder while every move is entered");
+        assertFalse(pondering[0], "Pondering should stop when the game ends");
+    }
 }
@@ -0,0 +1,164 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStatsStoreTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("game-stats", ".log");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testCountsSurviveReopening() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 0, 7);
+            store.recordGame("Bob", "Alice", 0, 12);
+            store.recordGame("Alice", "Carol", GameResult.DRAW, 42);
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(3, store.getGamesPlayed(), "All games should be read back");
+            assertEquals(1, store.getDraws(), "Draws should be read back");
+            assertEquals(1, store.getWins("Alice"), "Alice won once");
+            assertEquals(1, store.getLosses("Alice"), "Alice lost once");
+            assertEquals(1, store.getDraws("Alice"), "Alice drew once");
+            assertEquals(1, store.getWins("Bob"), "Bob won once");
+            assertEquals(0, store.getWins("Dave"), "Unknown players have no wins");
+            assertEquals(7 + 12 + 42, store.getMovesPlayed(), "Move counts should be read back");
+        }
+    }
+
+    @Test
+    void testKeepsMoveCountsOfLargeBoards() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 0, 200);
+            store.recordGame("Alice", "Bob", GameResult.DRAW, GameStatsStore.MAX_MOVES);
+            assertThrows(IllegalArgumentException.class, () -> store.recordGame("Alice", "Bob", 0, GameStatsStore.MAX_MOVES + 1));
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(2, store.getGamesPlayed(), "The rejected game should not be recorded");
+            assertEquals(200 + 64 * 64, store.getMovesPlayed(), "Move counts above a byte should survive");
+        }
+    }
+
+    @Test
+    void testAppendsAfterReopening() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 0, 7);
+        }
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 1, 8);
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(2, store.getGamesPlayed(), "Games of both sessions should be kept");
+            assertEquals(1, store.getWins("Bob"), "Known players should keep their ID");
+        }
+    }
+
+    @Test
+    void testTopPlayers() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 1, 7);
+            store.recordGame("Carol", "Bob", 1, 7);
+            store.recordGame("Carol", "Alice", 0, 7);
+            store.recordGame("Dave", "Alice", GameResult.DRAW, 42);
+
+            assertEquals(List.of("Bob", "Carol"), store.getTopPlayers(2), "Most wins should come first");
+            assertEquals(4, store.getTopPlayers(10).size(), "All players should be ranked");
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(List.of("Bob", "Carol", "Alice", "Dave"), store.getTopPlayers(4),
+                    "Ties should be ordered by first appearance after reopening");
+        }
+    }
+
+    @Test
+    void testIncompleteRecordIsCutOff() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 0, 7);
+            store.recordGame("Alice", "Bob", 0, 9);
+        }
+        long size = Files.size(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(1, store.getGamesPlayed(), "Only the complete game should be read");
+            store.recordGame("Bob", "Alice", 0, 11);
+        }
+
+        assertEquals(size, Files.size(file), "The new game should replace the incomplete record");
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(2, store.getGamesPlayed(), "The log should stay readable");
+            assertEquals(1, store.getWins("Bob"), "The game after the cut should be counted");
+        }
+    }
+
+    @Test
+    void testRecordsWithoutExplicitFlushAreWrittenOnClose() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file, 1000)) {
+            for (int i = 0; i < 5000; i++) {
+                store.recordGame("Player " + (i % 7), "Player " + (i % 5), i % 3 == 2 ? GameResult.DRAW : i % 2, 20);
+            }
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(5000, store.getGamesPlayed(), "Buffered games should be written on close");
+        }
+    }
+
+    @Test
+    void testLongestNameFitsTheBuffer() throws IOException {
+        String longest = "a".repeat(GameStatsStore.MAX_NAME_BYTES);
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", longest, 1, 7);
+            assertThrows(IllegalArgumentException.class, () -> store.recordGame("Alice", longest + "a", 1, 7));
+        }
+
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            assertEquals(1, store.getWins(longest), "The longest name should be read back");
+        }
+    }
+
+    @Test
+    void testToGameStats() throws IOException {
+        try (GameStatsStore store = GameStatsStore.open(file)) {
+            store.recordGame("Alice", "Bob", 0, 7);
+            store.recordGame("Alice", "Bob", GameResult.DRAW, 42);
+
+            GameStats stats = store.toGameStats();
+
+            assertEquals(2, stats.getGamesPlayed(), "Games should be copied");
+            assertEquals(1, stats.getDraws(), "Draws should be copied");
+            assertEquals(1, stats.getWins("Alice"), "Wins should be copied");
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Files.writeString(file, "not a game log");
+
+        assertThrows(IOException.class, () -> GameStatsStore.open(file));
+    }
+}
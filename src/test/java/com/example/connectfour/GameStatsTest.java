@@ -114,4 +114,21 @@ class GameStatsTest {
         assertTrue(output.contains("Player wins:"));
         assertTrue(output.contains("==========================="));
     }
+
+    @Test
+    void testMerge() {
+        gameStats.recordWin("Player 1");
+        gameStats.recordDraw();
+
+        GameStats other = new GameStats();
+        other.recordWin("Player 1");
+        other.recordWin("Player 2");
+
+        gameStats.merge(other);
+
+        assertEquals(4, gameStats.getGamesPlayed(), "Merged games should be added");
+        assertEquals(1, gameStats.getDraws(), "Merged draws should be added");
+        assertEquals(2, gameStats.getWins("Player 1"), "Wins of the same player should be summed");
+        assertEquals(1, gameStats.getWins("Player 2"), "Wins of new players should be copied");
+    }
 }
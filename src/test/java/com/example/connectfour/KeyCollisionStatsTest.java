@@ -0,0 +1,35 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyCollisionStatsTest {
+
+    @Test
+    void testDistinctPositionsAreCounted() {
+        KeyCollisionStats stats = new KeyCollisionStats();
+
+        stats.recordGame(new byte[] {0, 6});
+        stats.recordGame(new byte[] {6, 0});
+
+        // Empty board, X in 0, X in 0 + O in 6, X in 6, X in 6 + O in 0
+        assertEquals(5, stats.getDistinctPositions(), "Repeated positions should be counted once");
+        // Mirrored: empty board, X on an edge, X and O on opposite edges in two colorings
+        assertEquals(3, stats.getDistinctCanonicalPositions(), "Mirror images should be merged");
+    }
+
+    @Test
+    void testNoCollisionsOnRandomGames() {
+        KeyCollisionStats stats = new KeyCollisionStats();
+        GameEngine engine = new GameEngine(new RandomStrategy(21), new RandomStrategy(22));
+
+        for (int i = 0; i < 2000; i++) {
+            stats.recordGame(engine.play().moves());
+        }
+
+        assertTrue(stats.getDistinctPositions() > 10_000, "Random games should reach many positions");
+        assertEquals(0, stats.getKeyCollisions(), "64-bit keys should not collide on a small corpus");
+        assertEquals(0, stats.getCanonicalKeyCollisions(), "Canonical keys should not collide on a small corpus");
+        assertEquals(0.0, stats.getCollisionRate(), 0.0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsStrategyTest {
+
+    private GameBoard gameBoard;
+
+    @BeforeEach
+    void setUp() {
+        gameBoard = new GameBoard();
+    }
+
+    private void play(int... columns) {
+        for (int i = 0; i < columns.length; i++) {
+            gameBoard.placeDisc(columns[i], i % 2 == 0 ? 'X' : 'O');
+        }
+    }
+
+    @Test
+    void testTakesImmediateWin() {
+        play(0, 6, 1, 6, 2, 5);
+        MctsStrategy strategy = new MctsStrategy(100, 1, 1);
+
+        int column = strategy.selectColumn(gameBoard, 'X');
+
+        assertEquals(3, column, "Computer should complete four in a row");
+        assertTrue(strategy.getLastReport().winRate() > 0.9, "Winning move should have a high win rate");
+    }
+
+    @Test
+    void testBlocksOpponentWin() {
+        play(0, 6, 1, 6, 2);
+        MctsStrategy strategy = new MctsStrategy(200, 1, 2);
+
+        int column = strategy.selectColumn(gameBoard, 'O');
+
+        assertEquals(3, column, "Computer should block the open three");
+    }
+
+    @Test
+    void testParallelSearchAddsUpPlayouts() {
+        play(3, 3);
+        MctsStrategy strategy = new MctsStrategy(50, 4, 3);
+
+        int column = strategy.selectColumn(gameBoard, 'X');
+
+        MctsReport report = strategy.getLastReport();
+        assertTrue(gameBoard.isValidMove(column), "Chosen column should be valid");
+        assertEquals(4, report.threads(), "All threads should be reported");
+        assertTrue(report.playouts() > 0, "Playouts should be counted");
+        assertNotNull(strategy.describeLastMove(), "Search should be described");
+        assertEquals(2, gameBoard.getMoveCount(), "Search should not modify the board");
+    }
+
+    @Test
+    void testFullTreeKeepsPlaying() {
+        MctsStrategy strategy = new MctsStrategy(20, 1, 4, 16);
+
+        int column = strategy.selectColumn(gameBoard, 'X');
+
+        assertTrue(gameBoard.isValidMove(column), "A tree without room should still choose a move");
+        assertTrue(strategy.getLastReport().playouts() > 16, "Playouts should continue after the tree is full");
+    }
+
+    @Test
+    void testRejectsTreeWithoutRoomForRootMoves() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(10, 1, 7, GameBoard.COLUMNS));
+    }
+
+    @Test
+    void testBeatsRandomPlayer() {
+        GameEngine engine = new GameEngine(new MctsStrategy(10, 2, 5), new RandomStrategy(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, engine.play().winner(), "Monte Carlo player should beat a random player");
+        }
+    }
+
+    @Test
+    void testRejectsNonStandardBoard() {
+        GameBoard board = new GameBoard(8, 7, 4);
+        MctsStrategy strategy = new MctsStrategy(10, 1, 6);
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.selectColumn(board, 'X'));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void testBucketsBoundRelativeError() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestValueOf(bucket);
+            assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKETS, "Bucket of " + value + " should exist");
+            assertTrue(highest >= value, "Bucket " + bucket + " should cover " + value);
+            assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS, "Error for " + value + " should be bounded");
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE), "The largest value fits");
+    }
+
+    @Test
+    void testPercentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram("uniform");
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10_000, histogram.getCount(), "Every value should be counted");
+        assertEquals(10_000, histogram.getMax(), "The maximum should be exact");
+        assertEquals(5000.5, histogram.getMean(), 1e-9, "The mean should be exact");
+        assertEquals(5000, histogram.getValueAtPercentile(50), 5000 / 64.0, "The median should be within the precision");
+        assertEquals(9900, histogram.getValueAtPercentile(99), 9900 / 64.0, "The p99 should be within the precision");
+        assertEquals(10_000, histogram.getValueAtPercentile(100), "The p100 should be the maximum");
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount(), "Reset should clear the count");
+        assertEquals(0, histogram.getValueAtPercentile(99), "An empty histogram reports 0");
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("concurrent");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000, histogram.getCount(), "No recording should be lost");
+        assertEquals(99_999 + 3, histogram.getMax(), "The maximum should be the largest value of all threads");
+    }
+
+    @Test
+    void testSnapshots() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("games").add(3);
+        registry.histogram("move \"quoted\"").record(100);
+
+        String text = registry.toText();
+        assertTrue(text.contains("games"), "Counters should be listed");
+        assertTrue(text.contains("count=1"), "Histograms should be listed with their count");
+
+        assertEquals("{\"counters\":{\"games\":3},\"histograms\":{\"move \\\"quoted\\\"\":"
+                + "{\"count\":1,\"mean\":100,\"p50\":100,\"p90\":100,\"p99\":100,\"p999\":100,\"max\":100}}}",
+                registry.toJson(), "The JSON snapshot should be complete and escaped");
+
+        registry.reset();
+        assertTrue(registry.toJson().contains("\"games\":0"), "Reset should keep the metrics at zero");
+    }
+
+    @Test
+    void testSnapshotEventsReachFlightRecording() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("test.latency").record(1234);
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MetricsSnapshotEvent.class);
+            recording.start();
+            MetricsSnapshotEvent.emit(registry);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent event = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("connectfour.MetricsSnapshot"))
+                    .findFirst().orElse(null);
+            assertNotNull(event, "The snapshot event should be recorded");
+            assertEquals("test.latency", event.getString("metric"), "The event should name its histogram");
+            assertEquals(1, event.getLong("count"), "The event should carry the count");
+            assertEquals(1234, event.getLong("max"), "The event should carry the maximum");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveTimeRunnerTest {
+
+    @Test
+    void testMeasuresEveryComputerMove() throws InterruptedException {
+        MoveTimeReport report = MoveTimeRunner.run(4, 2, new TimeControl(5, 10), true, 2, 1);
+
+        assertEquals(4, report.games(), "Every game should be finished");
+        assertTrue(report.moves() >= 4 * 3, "Every game should have computer moves, had " + report.moves());
+        assertTrue(report.p50Nanos() <= report.p90Nanos() && report.p90Nanos() <= report.p99Nanos()
+                && report.p99Nanos() <= report.maxNanos(), "Percentiles should be ordered: " + report);
+        assertTrue(report.averageDepth() >= 1, "Every move should complete a depth");
+        assertTrue(report.ponderHits() <= report.moves(), "Ponder hits should be a subset of the moves");
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> MoveTimeRunner.run(0, 1, TimeControl.of(5), false, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> MoveTimeRunner.run(1, 0, TimeControl.of(5), false, 0, 1));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegamaxStrategyTest {
+
+    private GameBoard gameBoard;
+    private NegamaxStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        gameBoard = new GameBoard();
+        strategy = new NegamaxStrategy(200, 16);
+    }
+
+    private void play(int... columns) {
+        for (int i = 0; i < columns.length; i++) {
+            gameBoard.placeDisc(columns[i], i % 2 == 0 ? 'X' : 'O');
+        }
+    }
+
+    @Test
+    void testTakesImmediateWin() {
+        play(0, 6, 1, 6, 2, 5);
+
+        int column = strategy.selectColumn(gameBoard, 'X');
+
+        assertEquals(3, column, "Computer should complete four in a row");
+        assertTrue(strategy.getLastReport().score() >= NegamaxStrategy.WIN_SCORE, "Win should be scored as a win");
+    }
+
+    @Test
+    void testBlocksOpponentWin() {
+        play(0, 6, 1, 6, 2);
+
+        int column = strategy.selectColumn(gameBoard, 'O');
+
+        assertEquals(3, column, "Computer should block the open three");
+    }
+
+    @Test
+    void testFindsDoubleThreat() {
+        // X can play column 2 or 5 to get an open three on the bottom row that cannot be blocked
+        play(3, 3, 4, 4);
+
+        int column = strategy.selectColumn(gameBoard, 'X');
+
+        assertTrue(column == 2 || column == 5, "Computer should create a double threat, played " + column);
+        assertTrue(strategy.getLastReport().score() >= NegamaxStrategy.WIN_SCORE, "Double threat should be a forced win");
+    }
+
+    @Test
+    void testReportsSearchStatistics() {
+        strategy.selectColumn(gameBoard, 'X');
+
+        SearchReport report = strategy.getLastReport();
+        assertTrue(report.depth() >= 1, "At least one depth should be completed");
+        assertTrue(report.nodes() > 0, "Visited nodes should be counted");
+        assertNotNull(strategy.describeLastMove(), "Search should be described");
+        assertEquals(0, gameBoard.getMoveCount(), "Search should not modify the board");
+    }
+
+    @Test
+    void testBeatsRandomPlayer() {
+        GameEngine engine = new GameEngine(new NegamaxStrategy(5, 16), new RandomStrategy(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, engine.play().winner(), "Negamax should beat a random player");
+        }
+    }
+
+    @Test
+    void testRejectsNonStandardBoard() {
+        GameBoard board = new GameBoard(8, 7, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.selectColumn(board, 'X'));
+    }
+
+    @Test
+    void testHardDeadlineAbortsWithoutChangingBoard() {
+        play(3, 3);
+        long key = gameBoard.getPositionKey();
+        NegamaxStrategy timed = new NegamaxStrategy(new TimeControl(30, 30), 16, Solver.SIZE);
+
+        long start = System.nanoTime();
+        int column = timed.selectColumn(gameBoard, 'X');
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // The bound is loose so a slow machine does not fail the test; the depth shows the search was cut short
+        assertTrue(elapsedMillis < 10 * 30, "The search should stop at the hard deadline, took " + elapsedMillis + " ms");
+        assertTrue(timed.getLastReport().depth() < Solver.SIZE - 2, "The search should not reach the end of the game");
+        assertTrue(gameBoard.isValidMove(column), "The move of the last completed depth should be played");
+        assertEquals(2, gameBoard.getMoveCount(), "An aborted search should not leave discs on the board");
+        assertEquals(key, gameBoard.getPositionKey(), "An aborted search should not change the position");
+    }
+
+    @Test
+    void testSoftDeadlineStopsDeepening() {
+        NegamaxStrategy timed = new NegamaxStrategy(new TimeControl(5, 10_000), 16, Solver.SIZE);
+
+        timed.selectColumn(gameBoard, 'X');
+
+        long elapsedMillis = timed.getLastReport().elapsedNanos() / 1_000_000;
+        assertTrue(elapsedMillis < 1000, "No iteration should start after the soft deadline, took " + elapsedMillis + " ms");
+        assertTrue(timed.getLastReport().depth() < Solver.SIZE, "The empty board should not be solved in time");
+    }
+
+    @Test
+    void testPonderHitContinuesSearch() throws InterruptedException {
+        NegamaxStrategy ponderer = new NegamaxStrategy(new TimeControl(20, 40), 18, Solver.SIZE);
+        ponderer.setPondering(true);
+        gameBoard.placeDisc(ponderer.selectColumn(gameBoard, 'X'), 'X');
+
+        ponderer.startPondering(gameBoard, 'X');
+        int predicted = ponderer.getPonderMove();
+        assertTrue(gameBoard.isValidMove(predicted), "A reply should be predicted");
+        Thread.sleep(50);
+        gameBoard.placeDisc(predicted, 'O');
+        ponderer.selectColumn(gameBoard, 'X');
+
+        assertTrue(ponderer.getLastReport().ponderHit(), "The search should continue from the pondering");
+        assertTrue(ponderer.getLastReport().toString().contains("ponder hit"), "The ponder hit should be reported");
+    }
+
+    @Test
+    void testPonderMissSearchesAfresh() {
+        NegamaxStrategy ponderer = new NegamaxStrategy(new TimeControl(20, 40), 18, Solver.SIZE);
+        ponderer.setPondering(true);
+        gameBoard.placeDisc(ponderer.selectColumn(gameBoard, 'X'), 'X');
+
+        ponderer.startPondering(gameBoard, 'X');
+        int other = ponderer.getPonderMove() == 0 ? 1 : 0;
+        gameBoard.placeDisc(other, 'O');
+        ponderer.stopPondering();
+        ponderer.selectColumn(gameBoard, 'X');
+
+        assertFalse(ponderer.getLastReport().ponderHit(), "A different reply should not reuse the pondering");
+    }
+
+    @Test
+    void testNoPonderingUnlessEnabled() {
+        strategy.startPondering(gameBoard, 'O');
+
+        assertEquals(-1, strategy.getPonderMove(), "Pondering should be off by default");
+        strategy.stopPondering();
+    }
+
+    @Test
+    void testTimeControlRejectsInvalidDeadlines() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeControl(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TimeControl(20, 10));
+        assertEquals(new TimeControl(50, 50), TimeControl.of(50), "A single budget should be both deadlines");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("opening-book", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static long keyOf(GameBoard board) {
+        return OpeningBook.canonicalKey(Solver.sideToMove(board), board.getOccupied());
+    }
+
+    @Test
+    void testLookupFindsPositionAndMirror() throws IOException {
+        long[] entries = {
+                OpeningBook.entry(keyOf(TestBoards.board(0, 1)), 3),
+                OpeningBook.entry(keyOf(TestBoards.board(3)), -2),
+                OpeningBook.entry(keyOf(TestBoards.board(2, 2, 4)), 0)
+        };
+        Arrays.sort(entries);
+        OpeningBook.write(file, 3, entries);
+
+        OpeningBook book = OpeningBook.open(file);
+
+        assertEquals(3, book.size(), "All entries should be readable");
+        assertEquals(3, book.getMaxPlies(), "Plies should be stored in the header");
+        assertEquals(3, book.lookup(TestBoards.board(0, 1)), "Stored position should be found");
+        assertEquals(3, book.lookup(TestBoards.board(6, 5)), "Mirrored position should share the entry");
+        assertEquals(-2, book.lookup(TestBoards.board(3)), "Negative scores should survive");
+        assertEquals(0, book.lookup(TestBoards.board(2, 2, 4)), "Zero scores should be found");
+        assertEquals(OpeningBook.NOT_FOUND, book.lookup(TestBoards.board(1, 0)), "Unknown position should not be found");
+        assertEquals(OpeningBook.NOT_FOUND, book.lookup(TestBoards.board(0, 1, 2, 3)), "Deeper positions should not be found");
+    }
+
+    @Test
+    void testRejectsInvalidFile() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+
+    @Test
+    void testRejectsTruncatedFile() throws IOException {
+        OpeningBook.write(file, 1, new long[] {OpeningBook.entry(keyOf(TestBoards.board(0)), 1)});
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+
+    @Test
+    void testExpandCountsDistinctPositions() {
+        long[] first = OpeningBookBuilder.expand(new long[] {0});
+        long[] second = OpeningBookBuilder.expand(first);
+
+        // 7 first moves fold into 4 up to mirroring, 49 two-move positions into 25
+        assertEquals(4, first.length, "Positions after one disc");
+        assertEquals(25, second.length, "Positions after two discs");
+    }
+
+    @Test
+    void testKeysDecodeToPosition() {
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (int i = 0; i < 20; i++) {
+            GameBoard board = SolverTest.randomPosition(random, random.nextInt(Solver.SIZE));
+            long current = Solver.sideToMove(board);
+            long occupied = board.getOccupied();
+            long key = current + occupied;
+
+            assertEquals(occupied, OpeningBookBuilder.occupiedOf(key), "Occupied cells should be decoded");
+            assertEquals(current, OpeningBookBuilder.currentOf(key, occupied), "Side to move should be decoded");
+        }
+    }
+
+    @Test
+    void testParallelSolveMatchesSolver() {
+        SplittableRandom random = new SplittableRandom(9);
+        long[] keys = new long[200];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyOf(SolverTest.randomPosition(random, 30));
+        }
+        keys = Arrays.stream(keys).sorted().distinct().toArray();
+
+        long[] entries = new OpeningBookBuilder(30, 4, 16).solve(keys, 30, null);
+
+        Solver solver = new Solver(16, null);
+        for (int i = 0; i < keys.length; i++) {
+            long occupied = OpeningBookBuilder.occupiedOf(keys[i]);
+            int expected = solver.score(OpeningBookBuilder.currentOf(keys[i], occupied), occupied, 30);
+            assertEquals(OpeningBook.entry(keys[i], expected), entries[i], "Entry " + i + " should match the solver");
+        }
+    }
+
+    @Test
+    void testSolverUsesBook() throws IOException {
+        GameBoard board = TestBoards.board(3, 3, 3, 3, 2, 4);
+        // Above any real score: the earliest win, with the next disc, scores (SIZE + 1 - 6) / 2
+        int planted = (Solver.SIZE + 1 - 6) / 2 + 1;
+        OpeningBook.write(file, 6, new long[] {OpeningBook.entry(keyOf(board), planted)});
+
+        Solver solver = new Solver(16, OpeningBook.open(file));
+
+        assertEquals(planted, solver.solve(board).score(), "Solver should take the score from the book");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningStatsTest {
+
+    private static GameResult mirror(GameResult game) {
+        byte[] moves = new byte[game.moveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) Bitboards.mirrorColumn(game.moves()[i]);
+        }
+        return new GameResult(game.winner(), game.moveCount(), moves);
+    }
+
+    @Test
+    void testMirroredGamesAreFolded() {
+        GameResult game = new GameEngine(new RandomStrategy(1), new RandomStrategy(2)).play();
+        OpeningStats exact = new OpeningStats(6, false);
+        OpeningStats folded = new OpeningStats(6, true);
+        for (GameResult result : new GameResult[] {game, mirror(game)}) {
+            exact.add(result);
+            folded.add(result);
+        }
+
+        assertEquals(14, exact.getPositionsAdded(), "Every game should count the empty board and six plies");
+        assertEquals(14, folded.getPositionsAdded(), "Folding should not skip any position");
+        assertTrue(folded.size() < exact.size(), "Mirror images should share entries");
+        PositionTally tally = folded.lookup(TestBoards.board(mirror(game).moves(), 6));
+        assertEquals(2, tally.games(), "Both games should pass through the canonical position");
+        assertEquals(1, exact.lookup(TestBoards.board(mirror(game).moves(), 6)).games(), "Exact positions should stay apart");
+    }
+
+    @Test
+    void testTalliesOutcomes() {
+        OpeningStats stats = new OpeningStats(4, true);
+        GameEngine engine = new GameEngine(new RandomStrategy(3), new RandomStrategy(4));
+        long firstWins = 0;
+        long draws = 0;
+        for (int i = 0; i < 2000; i++) {
+            GameResult game = engine.play();
+            firstWins += game.winner() == 0 ? 1 : 0;
+            draws += game.isDraw() ? 1 : 0;
+            stats.add(game);
+        }
+
+        PositionTally root = stats.lookup(new GameBoard());
+        assertEquals(2000, root.games(), "Every game should pass through the empty board");
+        assertEquals(firstWins, root.firstWins(), "First-player wins should be counted");
+        assertEquals(draws, root.draws(), "Draws should be counted");
+        assertEquals(0, stats.lookup(TestBoards.board(new byte[] {3, 3, 3, 3, 3, 3}, 6)).games(), "Unseen positions have no games");
+    }
+
+    @Test
+    void testFoldingRoughlyHalvesTheTable() {
+        // Enough games to reach nearly every position of the first four plies
+        OpeningStats exact = new OpeningStats(4, false);
+        OpeningStats folded = new OpeningStats(4, true);
+        GameEngine engine = new GameEngine(new RandomStrategy(5), new RandomStrategy(6));
+        for (int i = 0; i < 20_000; i++) {
+            GameResult game = engine.play();
+            exact.add(game);
+            folded.add(game);
+        }
+
+        double ratio = (double) exact.size() / folded.size();
+        assertTrue(ratio > 1.8 && ratio < 2.0, "Folding should nearly halve the positions, ratio was " + ratio);
+    }
+
+    @Test
+    void testInvalidPliesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OpeningStats(-1, true));
+        assertThrows(IllegalArgumentException.class, () -> new OpeningStats(Solver.SIZE + 1, true));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSimulatorTest {
+
+    private static ParallelSimulator simulator(int parallelism) {
+        return new ParallelSimulator(parallelism, "Player 1", RandomStrategy::new, "Player 2", RandomStrategy::new);
+    }
+
+    @Test
+    void testAllGamesAreRecorded() {
+        GameStats stats = simulator(2).run(5000, 7);
+
+        assertEquals(5000, stats.getGamesPlayed(), "Every game should be recorded exactly once");
+        assertEquals(5000, stats.getWins("Player 1") + stats.getWins("Player 2") + stats.getDraws(),
+                "Wins and draws should add up to the games played");
+    }
+
+    @Test
+    void testResultsDoNotDependOnParallelism() {
+        GameStats single = simulator(1).run(5000, 11);
+        GameStats multi = simulator(4).run(5000, 11);
+
+        assertEquals(single.getWins("Player 1"), multi.getWins("Player 1"), "Same seed should give the same wins");
+        assertEquals(single.getWins("Player 2"), multi.getWins("Player 2"), "Same seed should give the same wins");
+        assertEquals(single.getDraws(), multi.getDraws(), "Same seed should give the same draws");
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentGames() {
+        GameStats first = simulator(2).run(5000, 1);
+        GameStats second = simulator(2).run(5000, 2);
+
+        assertNotEquals(first.getWins("Player 1"), second.getWins("Player 1"),
+                "Different seeds should play different games");
+    }
+
+    @Test
+    void testInvalidParallelismIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> simulator(0));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionIndexTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("position-index");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Path file : files()) {
+            Files.delete(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private List<Path> files() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static List<GameResult> play(int count, long seed) {
+        GameEngine engine = new GameEngine(new RandomStrategy(seed), new RandomStrategy(seed + 1));
+        List<GameResult> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            games.add(engine.play());
+        }
+        return games;
+    }
+
+    /**
+     * Checks every position of every game against a scan of the games.
+     */
+    private static void assertMatchesScan(PositionIndex index, List<GameResult> games) {
+        Map<Long, List<Integer>> expected = new HashMap<>();
+        for (int id = 0; id < games.size(); id++) {
+            GameResult game = games.get(id);
+            for (int plies = 0; plies <= game.moveCount(); plies++) {
+                List<Integer> ids = expected.computeIfAbsent(TestBoards.board(game.moves(), plies).getPositionCode(), code -> new ArrayList<>());
+                if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        for (int id = 0; id < games.size(); id += 7) {
+            GameResult game = games.get(id);
+            for (int plies = 0; plies <= game.moveCount(); plies++) {
+                GameBoard position = TestBoards.board(game.moves(), plies);
+                List<Integer> ids = expected.get(position.getPositionCode());
+                PositionGames found = index.findGames(position, Integer.MAX_VALUE);
+                assertEquals(ids.size(), found.games(), "Game count of game " + id + " after " + plies + " plies");
+                assertEquals(ids.size(), found.gameIds().length, "All games should be returned without a limit");
+                long firstWins = 0;
+                for (int i = 0; i < ids.size(); i++) {
+                    assertEquals(ids.get(i).longValue(), found.gameIds()[i], "Game IDs should be ascending");
+                    assertEquals(games.get(ids.get(i)).winner(), found.winners()[i], "Winner of game " + ids.get(i));
+                    firstWins += games.get(ids.get(i)).winner() == 0 ? 1 : 0;
+                }
+                PositionTally tally = index.tally(position);
+                assertEquals(ids.size(), tally.games(), "Tally should count the same games");
+                assertEquals(firstWins, tally.firstWins(), "Tally should count first-player wins");
+            }
+        }
+    }
+
+    @Test
+    void testMatchesScanAcrossSegmentsAndMerges() throws IOException {
+        List<GameResult> games = play(3000, 1);
+        try (PositionIndex index = PositionIndex.open(directory, 50)) {
+            for (int i = 0; i < games.size(); i++) {
+                assertEquals(i, index.add(games.get(i)), "Game IDs should be consecutive");
+            }
+            assertMatchesScan(index, games);
+
+            index.compact();
+            assertEquals(1, index.getSegmentCount(), "Compaction should leave a single segment");
+            assertEquals(3000, index.getGameCount(), "All games should be counted");
+            assertMatchesScan(index, games);
+        }
+
+        try (PositionIndex index = PositionIndex.open(directory)) {
+            assertEquals(3000, index.getGameCount(), "Reopening should find all games");
+            assertMatchesScan(index, games);
+        }
+    }
+
+    @Test
+    void testGamesInMemoryAndLimit() throws IOException {
+        List<GameResult> games = play(100, 3);
+        try (PositionIndex index = PositionIndex.open(directory)) {
+            for (GameResult game : games) {
+                index.add(game);
+            }
+            assertEquals(0, index.getSegmentCount(), "Games should stay in memory until flushed");
+            assertMatchesScan(index, games);
+
+            PositionGames first = index.findGames(new GameBoard(), 10);
+            assertEquals(100, first.games(), "Every game passes through the empty board");
+            assertArrayEquals(new long[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, first.gameIds(), "The first games should be returned");
+            assertEquals(0, index.findGames(TestBoards.board(new byte[] {3, 3, 3, 3, 3, 3}, 6), 10).games(),
+                    "Unseen positions have no games");
+        }
+    }
+
+    @Test
+    void testAddingContinuesAfterReopening() throws IOException {
+        List<GameResult> games = play(120, 5);
+        try (PositionIndex index = PositionIndex.open(directory, 32)) {
+            for (GameResult game : games.subList(0, 70)) {
+                index.add(game);
+            }
+        }
+        try (PositionIndex index = PositionIndex.open(directory, 32)) {
+            for (GameResult game : games.subList(70, 120)) {
+                index.add(game);
+            }
+            assertEquals(120, index.getGameCount(), "New games should follow the stored games");
+            assertMatchesScan(index, games);
+        }
+    }
+
+    @Test
+    void testSegmentsOfInterruptedMergeAreDropped() throws IOException {
+        List<GameResult> games = play(40, 7);
+        Map<Path, byte[]> originals = new HashMap<>();
+        try (PositionIndex index = PositionIndex.open(directory, 10)) {
+            for (GameResult game : games) {
+                index.add(game);
+            }
+            index.flush();
+            assertEquals(4, index.getSegmentCount(), "Four segments are too few to merge");
+            for (Path file : files()) {
+                originals.put(file, Files.readAllBytes(file));
+            }
+            index.compact();
+        }
+
+        // A crash after moving the merged segment into place leaves the merged segments behind
+        for (Map.Entry<Path, byte[]> original : originals.entrySet()) {
+            Files.write(original.getKey(), original.getValue());
+        }
+        Files.write(directory.resolve("segment-40-10.pix.tmp"), new byte[] {1, 2, 3});
+        try (PositionIndex index = PositionIndex.open(directory)) {
+            assertEquals(1, index.getSegmentCount(), "Covered segments should be dropped");
+            assertEquals(40, index.getGameCount(), "No game should be counted twice");
+            assertMatchesScan(index, games);
+        }
+        assertEquals(1, files().size(), "Covered segments and temporary files should be deleted");
+    }
+
+    @Test
+    void testGamesArePersistedAfterFailedMerge() throws IOException {
+        List<GameResult> games = play(40, 13);
+        // A directory where the first merge writes its temporary file makes that merge fail
+        Path blocker = directory.resolve("segment-0-16.pix.tmp");
+        PositionIndex index = PositionIndex.open(directory, 2);
+        Files.createDirectory(blocker);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, index.add(games.get(i)), "Games should get consecutive IDs");
+        }
+        assertThrows(IOException.class, index::compact, "The merge into the blocked file should fail");
+
+        // Every new segment starts the blocked merge again, but only flush and close report its failure
+        for (int i = 16; i < games.size(); i++) {
+            assertEquals(i, index.add(games.get(i)), "A failed merge should not keep games from being added");
+        }
+        assertThrows(IOException.class, index::close, "The merge after the last segment should fail as well");
+
+        Files.delete(blocker);
+        try (PositionIndex reopened = PositionIndex.open(directory)) {
+            assertEquals(40, reopened.getGameCount(), "Every game with an ID should be on disk");
+            assertMatchesScan(reopened, games);
+        }
+    }
+
+    @Test
+    void testMergeOfDamagedSegmentIsReported() throws IOException {
+        List<GameResult> games = play(8, 17);
+        PositionIndex index = PositionIndex.open(directory, 1);
+        index.add(games.get(0));
+        index.flush();
+        // Point every posting list of the first segment far beyond the end of the file
+        try (FileChannel channel = FileChannel.open(directory.resolve("segment-0-1.pix"), StandardOpenOption.WRITE)) {
+            int positions = games.get(0).moveCount() + 1;
+            ByteBuffer offsets = ByteBuffer.allocate((positions + 1) * Long.BYTES);
+            while (offsets.hasRemaining()) {
+                offsets.putLong(Long.MAX_VALUE);
+            }
+            offsets.flip();
+            channel.write(offsets, PositionIndex.HEADER_BYTES + (long) positions * Long.BYTES);
+        }
+
+        for (GameResult game : games.subList(1, games.size())) {
+            index.add(game);
+        }
+        assertThrows(IOException.class, index::close, "The failed merge of the damaged segment should be reported");
+    }
+
+    @Test
+    void testMissingSegmentIsDetected() throws IOException {
+        try (PositionIndex index = PositionIndex.open(directory, 10)) {
+            for (GameResult game : play(30, 9)) {
+                index.add(game);
+            }
+        }
+        Files.delete(directory.resolve("segment-10-10.pix"));
+        assertThrows(IOException.class, () -> PositionIndex.open(directory), "A gap in the game IDs should be detected");
+    }
+
+    @Test
+    void testInvalidGamesAreRejected() throws IOException {
+        PositionIndex index = PositionIndex.open(directory);
+        GameResult overfull = new GameResult(GameResult.DRAW, 7, new byte[] {0, 0, 0, 0, 0, 0, 0});
+        assertThrows(IllegalArgumentException.class, () -> index.add(overfull), "A move into a full column is invalid");
+        assertEquals(0, index.getGameCount(), "A rejected game should not get an ID");
+        assertEquals(0, index.tally(new GameBoard()).games(), "A rejected game should not be indexed");
+        index.close();
+        assertThrows(IllegalStateException.class, () -> index.add(play(1, 11).get(0)), "A closed index cannot add games");
+        assertThrows(IllegalArgumentException.class, () -> PositionIndex.open(directory, 0));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.connectfour;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayRunnerTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("corpus", ".c4a");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testSameSeedPlaysSameGame() {
+        GameBoard board = new GameBoard();
+        for (int game = 0; game < 50; game++) {
+            long seed = ReplayRunner.gameSeed(7, game);
+            GameResult first = ReplayRunner.playSeeded(board, seed);
+            GameResult second = ReplayRunner.playSeeded(board, seed);
+
+            assertEquals(first.winner(), second.winner(), "Same seed should give the same winner");
+            assertArrayEquals(first.moves(), second.moves(), "Same seed should give the same moves");
+        }
+        assertFalse(Arrays.equals(ReplayRunner.playSeeded(board, 1).moves(),
+                ReplayRunner.playSeeded(board, 2).moves()), "Different seeds should play different games");
+    }
+
+    @Test
+    void testReplayThroughGameLogicReproducesGame() {
+        GameBoard board = new GameBoard();
+        for (int game = 0; game < 50; game++) {
+            GameResult recorded = ReplayRunner.playSeeded(board, ReplayRunner.gameSeed(3, game));
+            GameResult replayed = ReplayRunner.replay(new GameBoard(), recorded);
+
+            assertEquals(recorded.winner(), replayed.winner(), "The replay should have the same winner");
+            assertEquals(recorded.moveCount(), replayed.moveCount(), "The replay should have the same length");
+            assertArrayEquals(recorded.moves(), replayed.moves(), "The replay should have the same moves");
+        }
+    }
+
+    @Test
+    void testCorpusReplayFindsNoMismatches() throws IOException {
+        GameBoard board = new GameBoard();
+        long moves = 0;
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            for (int game = 0; game < 500; game++) {
+                GameResult result = ReplayRunner.playSeeded(board, ReplayRunner.gameSeed(5, game));
+                moves += result.moveCount();
+                writer.write(result);
+            }
+        }
+
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            ReplayReport report = ReplayRunner.replayCorpus(reader);
+            assertEquals(500, report.games(), "Every game should be replayed");
+            assertEquals(moves, report.moves(), "Every move should be replayed");
+            assertEquals(0, report.mismatches(), "Recorded outcomes should match the replay");
+            assertEquals(-1, report.firstMismatch(), "There should be no first mismatch");
+        }
+    }
+
+    @Test
+    void testCorpusReplayReportsWrongOutcomes() throws IOException {
+        GameResult game = ReplayRunner.playSeeded(new GameBoard(), 11);
+        int wrongWinner = game.isDraw() ? 0 : GameResult.DRAW;
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            writer.write(game);
+            writer.write(game.moves(), game.moveCount(), wrongWinner);
+            // A game that goes on after a win is not valid either
+            writer.write(new byte[] {0, 1, 0, 1, 0, 1, 0, 1}, 8, 0);
+        }
+
+        try (GameArchiveReader reader = GameArchiveReader.open(file)) {
+            ReplayReport report = ReplayRunner.replayCorpus(reader);
+            assertEquals(3, report.games(), "Every game should be replayed");
+            assertEquals(2, report.mismatches(), "Both broken games should be reported");
+            assertEquals(1, report.firstMismatch(), "The first broken game should be identified");
+        }
+    }
+
+    @Test
+    void testResultListenerSeesFinalMoves() {
+        // Player 2 takes back their move in column 2 and plays column 7 instead
+        MoveSource input = new ScriptedMoveSource("1", "2", "u", "7", "1", "7", "1", "7", "1", "n");
+        GameBoard board = new GameBoard();
+        GameResult[] finished = new GameResult[1];
+        GameLogic logic = new GameLogic(board, new Player("A", 'X'), new Player("B", 'O'), null, input,
+                new BufferedRenderer(Writer.nullWriter()));
+        logic.setResultListener(result -> finished[0] = result);
+        logic.startGame();
+
+        assertNotNull(finished[0], "The finished game should be reported");
+        assertEquals(0, finished[0].winner(), "Player 1 should have won");
+        assertArrayEquals(new byte[] {0, 6, 0, 6, 0, 6, 0}, finished[0].moves(), "Taken-back moves should be dropped");
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+
+    private GameBoard gameBoard;
+    private Solver solver;
+
+    @BeforeEach
+    void setUp() {
+        gameBoard = new GameBoard();
+        solver = new Solver(16, null);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            gameBoard.placeDisc(column, gameBoard.getMoveCount() % 2 == 0 ? 'X' : 'O');
+        }
+    }
+
+    /**
+     * Plays random alternating moves until the board holds the given number of discs and nobody has won.
+     */
+    static GameBoard randomPosition(SplittableRandom random, int discs) {
+        GameBoard board = new GameBoard();
+        while (board.getMoveCount() < discs) {
+            int column = random.nextInt(GameBoard.COLUMNS);
+            if (!board.isValidMove(column)) {
+                continue;
+            }
+            char symbol = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+            int row = board.placeDisc(column, symbol);
+            if (board.completesLine(row, column, symbol)) {
+                board.reset();
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Scores a position by trying every move sequence, using the solver's score convention.
+     */
+    private static int bruteForce(GameBoard board) {
+        int moveCount = board.getMoveCount();
+        if (moveCount == Solver.SIZE) {
+            return 0;
+        }
+        char symbol = moveCount % 2 == 0 ? 'X' : 'O';
+        int best = Integer.MIN_VALUE;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (!board.isValidMove(column)) {
+                continue;
+            }
+            int row = board.placeDisc(column, symbol);
+            int score = board.completesLine(row, column, symbol) ? (Solver.SIZE + 1 - moveCount) / 2 : -bruteForce(board);
+            board.undoMove();
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    @Test
+    void testImmediateWin() {
+        play(0, 6, 1, 6, 2, 5);
+
+        Solution solution = solver.solve(gameBoard);
+
+        assertTrue(solution.isWin(), "X can complete four in a row");
+        assertEquals(1, solution.plies(), "The win should take a single disc");
+        assertEquals(18, solution.score(), "A win with the seventh disc should score 18");
+    }
+
+    @Test
+    void testOpenThreeIsLoss() {
+        // X threatens to win on both ends of the bottom row
+        play(3, 3, 4, 4, 2);
+
+        Solution solution = solver.solve(gameBoard);
+
+        assertTrue(solution.isLoss(), "O cannot block both ends");
+        assertEquals(2, solution.plies(), "X should win with the next disc after O's block");
+    }
+
+    @Test
+    void testDrawIsScoredZero() {
+        // Columns alternate colors bottom-up, starting with X in columns 0, 1, 4, 5 and with O in 2, 3, 6,
+        // which leaves no line of four anywhere
+        for (int[] pair : new int[][] {{0, 2}, {1, 3}, {4, 6}}) {
+            int a = pair[0];
+            int b = pair[1];
+            play(a, b, b, a, a, b, b, a, a, b, b, a);
+        }
+        play(5, 5, 5, 5, 5, 5);
+        assertFalse(gameBoard.hasWinningLine('X') || gameBoard.hasWinningLine('O'), "The full board should have no line");
+        gameBoard.undoMove();
+
+        Solution solution = solver.solve(gameBoard);
+
+        assertTrue(solution.isDraw(), "The last disc cannot win");
+        assertEquals(1, solution.plies(), "One cell should remain");
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 10; i++) {
+            GameBoard board = randomPosition(random, 32);
+            int expected = bruteForce(board);
+
+            Solution solution = solver.solve(board);
+
+            assertEquals(expected, solution.score(), "Solver should agree with exhaustive search");
+        }
+    }
+
+    @Test
+    void testAnalyzeAgreesWithSolve() {
+        GameBoard board = randomPosition(new SplittableRandom(3), 28);
+
+        int[] scores = solver.analyze(board);
+        int best = Integer.MIN_VALUE;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            assertEquals(board.isValidMove(column), scores[column] != Solver.INVALID_MOVE,
+                    "Only full columns should be invalid");
+            best = Math.max(best, scores[column]);
+        }
+
+        assertEquals(solver.solve(board).score(), best, "The best move should carry the position's score");
+    }
+
+    @Test
+    void testDoesNotModifyBoard() {
+        GameBoard board = randomPosition(new SplittableRandom(11), 30);
+        long key = board.getPositionKey();
+
+        solver.solve(board);
+
+        assertEquals(30, board.getMoveCount(), "Solving should not add moves");
+        assertEquals(key, board.getPositionKey(), "Solving should not change the position");
+    }
+
+    @Test
+    void testRejectsWonGame() {
+        play(0, 6, 0, 6, 0, 6, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(gameBoard));
+    }
+
+    @Test
+    void testRejectsNonStandardBoard() {
+        GameBoard board = new GameBoard(8, 7, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(board));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.connectfour;
+
+/**
+ * Builds boards for tests by replaying moves from the empty standard board, the first player
+ * placing 'X' and the second 'O'.
+ */
+final class TestBoards {
+
+    private TestBoards() {
+    }
+
+    /**
+     * Plays the given columns in order.
+     */
+    static GameBoard board(int... columns) {
+        GameBoard board = new GameBoard();
+        for (int column : columns) {
+            board.placeDisc(column, board.getMoveCount() % 2 == 0 ? 'X' : 'O');
+        }
+        return board;
+    }
+
+    /**
+     * Plays the first moves of a game.
+     */
+    static GameBoard board(byte[] moves, int plies) {
+        GameBoard board = new GameBoard();
+        for (int i = 0; i < plies; i++) {
+            board.placeDisc(moves[i], i % 2 == 0 ? 'X' : 'O');
+        }
+        return board;
+    }
+}
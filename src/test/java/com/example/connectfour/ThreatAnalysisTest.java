@@ -0,0 +1,160 @@
+package com.example.connectfour;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatAnalysisTest {
+
+    private GameBoard gameBoard;
+
+    @BeforeEach
+    void setUp() {
+        gameBoard = new GameBoard();
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            gameBoard.placeDisc(column, symbolOf(gameBoard.getMoveCount() & 1));
+        }
+    }
+
+    private static char symbolOf(int player) {
+        return player == 0 ? GameEngine.FIRST_SYMBOL : GameEngine.SECOND_SYMBOL;
+    }
+
+    /**
+     * Finds the columns in which a player completes a line by trying every column on the board.
+     */
+    private static int naiveWinningColumns(GameBoard board, int player) {
+        int columns = 0;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (!board.isValidMove(column)) {
+                continue;
+            }
+            int row = board.placeDisc(column, symbolOf(player));
+            if (board.completesLine(row, column, symbolOf(player))) {
+                columns |= 1 << column;
+            }
+            board.undoMove();
+        }
+        return columns;
+    }
+
+    /**
+     * Finds the moves of the side to move that neither win nor stop the opponent from winning next move.
+     */
+    private static int naiveLosingColumns(GameBoard board) {
+        int player = board.getMoveCount() & 1;
+        int wins = naiveWinningColumns(board, player);
+        int columns = 0;
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            if (!board.isValidMove(column) || (wins & (1 << column)) != 0) {
+                continue;
+            }
+            board.placeDisc(column, symbolOf(player));
+            if (naiveWinningColumns(board, 1 - player) != 0) {
+                columns |= 1 << column;
+            }
+            board.undoMove();
+        }
+        return columns;
+    }
+
+    @Test
+    void testEmptyBoardHasNoThreats() {
+        ThreatAnalysis analysis = gameBoard.analyzeThreats();
+
+        assertEquals(0, analysis.getSideToMove(), "The first player should move on the empty board");
+        assertEquals(0, analysis.getThreats(0) | analysis.getThreats(1), "Nobody should have a threat");
+        assertEquals(0, analysis.getForcedColumns(), "No move should be forced");
+        assertEquals(0, analysis.getLosingColumns(), "No move should lose");
+        assertEquals(0b1111111, analysis.getSafeColumns(), "Every column should be safe");
+        assertEquals(1, analysis.getZugzwangController(), "Without threats the second player controls zugzwang");
+    }
+
+    @Test
+    void testForcedBlockAndLosingMoves() {
+        play(0, 6, 1, 6, 2);
+        ThreatAnalysis analysis = ThreatAnalysis.of(gameBoard);
+
+        assertEquals(1, analysis.getSideToMove(), "The second player should be to move");
+        assertEquals(1 << 3, analysis.getWinningColumns(0), "The first player should win in column 3");
+        assertEquals(1 << 3, analysis.getForcedColumns(), "The second player should have to block column 3");
+        assertEquals(1 << 3, analysis.getSafeColumns(), "Only the block should be safe");
+        assertEquals(0b1110111, analysis.getLosingColumns(), "Every other column should lose");
+    }
+
+    @Test
+    void testWinningMoveIsSafeDespiteDoubleThreat() {
+        // The first player threatens columns 0 and 4 while the second player can win in column 6
+        play(1, 6, 2, 6, 3, 6);
+        ThreatAnalysis analysis = ThreatAnalysis.of(gameBoard);
+        assertEquals((1 << 0) | (1 << 4), analysis.getWinningColumns(0), "The first player should have two wins");
+
+        play(5);
+        analysis = ThreatAnalysis.of(gameBoard);
+        assertEquals(1 << 6, analysis.getWinningColumns(1), "The second player should win in column 6");
+        assertEquals(1 << 6, analysis.getSafeColumns(), "The winning move should be the only safe move");
+    }
+
+    @Test
+    void testMatchesNaiveSearch() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 2000; i++) {
+            GameBoard board = SolverTest.randomPosition(random, random.nextInt(Solver.SIZE));
+            ThreatAnalysis analysis = board.analyzeThreats();
+
+            for (int player = 0; player < 2; player++) {
+                assertEquals(naiveWinningColumns(board, player), analysis.getWinningColumns(player),
+                        "Winning columns of player " + player + " should match trying every column");
+            }
+            int losing = naiveLosingColumns(board);
+            assertEquals(losing, analysis.getLosingColumns(), "Losing columns should match trying every column");
+
+            int playable = 0;
+            for (int column = 0; column < GameBoard.COLUMNS; column++) {
+                playable |= board.isValidMove(column) ? 1 << column : 0;
+            }
+            assertEquals(playable & ~losing, analysis.getSafeColumns(), "Safe and losing columns should split the moves");
+        }
+    }
+
+    @Test
+    void testOddThreatGivesFirstPlayerZugzwang() {
+        // The first player gets three in a row on the third row, with the fourth cell in an empty column
+        play(0, 1, 2, 0, 1, 2, 0, 5, 1, 5, 2, 6);
+        ThreatAnalysis analysis = ThreatAnalysis.of(gameBoard);
+
+        assertEquals(0, analysis.getWinningColumns(0), "The threat should not be playable yet");
+        assertNotEquals(0, analysis.getOddThreats(0), "The first player should have an odd threat");
+        assertEquals(0, analysis.getZugzwangController(), "An unobstructed odd threat should control zugzwang");
+        assertEquals(0, ThreatAnalysis.of(mirrorOf(gameBoard)).getZugzwangController(),
+                "The mirror image should have the same controller");
+    }
+
+    @Test
+    void testColumnsOf() {
+        assertEquals(0, ThreatAnalysis.columnsOf(0), "An empty bitboard should have no columns");
+        assertEquals(0b1111111, ThreatAnalysis.columnsOf(Bitboards.BOARD_MASK), "The full board should have every column");
+        for (int column = 0; column < GameBoard.COLUMNS; column++) {
+            for (int row = 0; row < GameBoard.ROWS; row++) {
+                long cell = 1L << (column * Bitboards.COLUMN_HEIGHT + row);
+                assertEquals(1 << column, ThreatAnalysis.columnsOf(cell), "Cell in column " + column + ", row " + row);
+            }
+        }
+        assertEquals(ThreatAnalysis.ODD_ROWS, Bitboards.BOARD_MASK & ~ThreatAnalysis.EVEN_ROWS,
+                "Odd and even rows should split the board");
+    }
+
+    private static GameBoard mirrorOf(GameBoard board) {
+        GameBoard mirrored = new GameBoard();
+        byte[] moves = board.getMoves();
+        for (int i = 0; i < moves.length; i++) {
+            mirrored.placeDisc(GameBoard.COLUMNS - 1 - moves[i], symbolOf(i & 1));
+        }
+        return mirrored;
+    }
+}
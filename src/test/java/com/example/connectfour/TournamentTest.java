@@ -0,0 +1,162 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TournamentTest {
+
+    private static List<TournamentEntrant> randomEntrants(int count) {
+        List<TournamentEntrant> entrants = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entrants.add(new TournamentEntrant("Random " + i, RandomStrategy::new));
+        }
+        return entrants;
+    }
+
+    @Test
+    void testRoundRobinPlaysEveryPairing() throws IOException {
+        List<Standing> standings = new Tournament(randomEntrants(5), 2, 1).roundRobin(10, null);
+
+        assertEquals(5, standings.size(), "Every entrant should have a standing");
+        double points = 0;
+        for (Standing standing : standings) {
+            assertEquals(40, standing.games(), "Every entrant should play 10 games against each of 4 opponents");
+            assertEquals(standing.games(), standing.wins() + standing.draws() + standing.losses(),
+                    "Wins, draws and losses should add up to the games played");
+            points += standing.points();
+        }
+        assertEquals(100, points, 1e-9, "Every game should hand out exactly one point");
+    }
+
+    @Test
+    void testStrongerPlayerRanksFirst() throws IOException {
+        List<TournamentEntrant> entrants = new ArrayList<>(randomEntrants(3));
+        entrants.add(new TournamentEntrant("Negamax", seed -> new NegamaxStrategy(60_000, 12, 4)));
+
+        List<Standing> standings = new Tournament(entrants, 2, 3).roundRobin(20, null);
+
+        assertEquals("Negamax", standings.get(0).name(), "The searching player should win the tournament");
+        assertTrue(standings.get(0).elo() > Ratings.INITIAL_RATING, "The winner should gain Elo");
+        assertTrue(standings.get(0).glicko() > standings.get(1).glicko(), "The winner should have the best Glicko rating");
+    }
+
+    @Test
+    void testResultsDoNotDependOnParallelism() throws IOException {
+        List<Standing> single = new Tournament(randomEntrants(4), 1, 9).roundRobin(120, null);
+        List<Standing> multi = new Tournament(randomEntrants(4), 4, 9).roundRobin(120, null);
+
+        for (int i = 0; i < single.size(); i++) {
+            assertEquals(single.get(i).name(), multi.get(i).name(), "Same seed should give the same ranking");
+            assertEquals(single.get(i).wins(), multi.get(i).wins(), "Same seed should give the same wins");
+            assertEquals(single.get(i).draws(), multi.get(i).draws(), "Same seed should give the same draws");
+            assertEquals(single.get(i).glicko(), multi.get(i).glicko(), 1e-9, "Glicko should not depend on timing");
+        }
+    }
+
+    @Test
+    void testSwissAvoidsRematchesAndGivesByes() throws IOException {
+        StringWriter log = new StringWriter();
+        List<Standing> standings = new Tournament(randomEntrants(7), 2, 5).swiss(4, 2, log);
+
+        Set<String> pairings = new HashSet<>();
+        String[] lines = log.toString().split("\n");
+        assertEquals(Tournament.LOG_HEADER, lines[0], "The log should start with its header");
+        for (int i = 1; i < lines.length; i += 2) {
+            String[] fields = lines[i].split(",");
+            String players = String.join(" vs ", new TreeSet<>(List.of(fields[2], fields[3])));
+            assertTrue(pairings.add(players), "Players should not meet twice: " + players);
+        }
+
+        double points = 0;
+        int games = 0;
+        for (Standing standing : standings) {
+            points += standing.points();
+            games += standing.games();
+            assertTrue(standing.games() >= 6, "Every entrant should sit out at most one round");
+        }
+        assertEquals(2 * 4 * 3 * 2, games, "Every round should pair six of the seven entrants");
+        assertEquals(3 * 4 * 2 + 4 * 1, points, 1e-9, "Byes should score half the games of a pairing");
+    }
+
+    @Test
+    void testSwissGivesRepeatByeToLowestRanked() throws IOException {
+        List<TournamentEntrant> entrants = new ArrayList<>(randomEntrants(2));
+        entrants.add(new TournamentEntrant("Negamax", seed -> new NegamaxStrategy(60_000, 16, 8)));
+
+        // Every player sits out one of the first three rounds, so somebody sits out the fourth again
+        List<Standing> standings = new Tournament(entrants, 1, 3).swiss(4, 2, null);
+
+        for (Standing standing : standings) {
+            if (standing.name().equals("Negamax")) {
+                assertEquals(6, standing.games(), "The leader should not get a second bye");
+            }
+        }
+        assertEquals(1, standings.stream().filter(standing -> standing.games() == 4).count(),
+                "One player should sit out twice");
+    }
+
+    @Test
+    void testLogHasOneLinePerGame() throws IOException {
+        StringWriter log = new StringWriter();
+        new Tournament(randomEntrants(4), 2, 7).roundRobin(5, log);
+
+        String[] lines = log.toString().split("\n");
+        assertEquals(1 + 6 * 5, lines.length, "The log should have a header and one line per game");
+        Set<String> games = new HashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            assertEquals(6, fields.length, "Every line should have all columns: " + lines[i]);
+            assertTrue(games.add(fields[0]), "Game numbers should be unique");
+            GameBoard board = new GameBoard();
+            for (char move : fields[5].toCharArray()) {
+                assertTrue(board.placeDisc(move - '1', board.getMoveCount() % 2 == 0 ? 'X' : 'O') >= 0,
+                        "Logged moves should replay on a board: " + lines[i]);
+            }
+            assertTrue(Set.of("1-0", "0-1", "1/2-1/2").contains(fields[4]), "Unknown result " + fields[4]);
+        }
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(randomEntrants(1), 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(randomEntrants(2), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(randomEntrants(2), 1, 0).roundRobin(0, null));
+    }
+
+    @Test
+    void testGlickoMatchesPublishedExample() {
+        // Glickman's example: a 1500 player with RD 200 beats a 1400/30 player and loses to 1550/100 and 1700/300
+        Ratings ratings = new Ratings(4, Ratings.DEFAULT_ELO_K, 0);
+        ratings.setGlicko(0, 1500, 200);
+        ratings.setGlicko(1, 1400, 30);
+        ratings.setGlicko(2, 1550, 100);
+        ratings.setGlicko(3, 1700, 300);
+        ratings.record(0, 1, 1);
+        ratings.record(0, 2, 0);
+        ratings.record(0, 3, 0);
+        ratings.endPeriod();
+
+        assertEquals(1464.1, ratings.getGlicko(0), 0.1, "Rating should match the published example");
+        assertEquals(151.4, ratings.getDeviation(0), 0.1, "Deviation should match the published example");
+    }
+
+    @Test
+    void testEloIsZeroSum() {
+        Ratings ratings = new Ratings(3);
+        ratings.record(0, 1, 1);
+        ratings.record(1, 2, 0.5);
+        ratings.record(2, 0, 0);
+
+        assertEquals(3 * Ratings.INITIAL_RATING, ratings.getElo(0) + ratings.getElo(1) + ratings.getElo(2), 1e-9,
+                "Elo should only move points between players");
+        assertTrue(ratings.getElo(0) > ratings.getElo(1), "The player with two wins should be rated highest");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.connectfour;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    private TranspositionTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TranspositionTable(4);
+        table.newSearch();
+    }
+
+    @Test
+    void testStoreAndProbe() {
+        assertEquals(-1, table.probe(42), "Empty table should not contain entries");
+
+        table.store(42, 5, -7, TranspositionTable.LOWER_BOUND, 3);
+        int index = table.probe(42);
+
+        assertTrue(index >= 0, "Stored entry should be found");
+        assertEquals(5, table.getDepth(index));
+        assertEquals(-7, table.getScore(index));
+        assertEquals(TranspositionTable.LOWER_BOUND, table.getFlag(index));
+        assertEquals(3, table.getMove(index));
+    }
+
+    @Test
+    void testDeeperEntryIsKeptWithinSearch() {
+        // Keys 1 and 17 share an index in a table of 16 entries
+        table.store(1, 8, 10, TranspositionTable.EXACT, 0);
+        table.store(17, 2, 20, TranspositionTable.EXACT, 1);
+
+        assertTrue(table.probe(1) >= 0, "Deeper entry should not be replaced by a shallower one");
+        assertEquals(-1, table.probe(17));
+
+        table.store(17, 9, 20, TranspositionTable.EXACT, 1);
+        assertTrue(table.probe(17) >= 0, "Deeper entry should replace a shallower one");
+    }
+
+    @Test
+    void testOldEntriesAreReplaced() {
+        table.store(1, 8, 10, TranspositionTable.EXACT, 0);
+        table.newSearch();
+        table.store(17, 2, 20, TranspositionTable.EXACT, 1);
+
+        assertTrue(table.probe(17) >= 0, "Entries of earlier searches should be replaced");
+    }
+
+    @Test
+    void testClear() {
+        table.store(1, 8, 10, TranspositionTable.EXACT, 0);
+        table.clear();
+
+        assertEquals(-1, table.probe(1), "Cleared table should not contain entries");
+    }
+}